@@ -0,0 +1,14 @@
+package com.deliverytech.delivery.cache;
+
+import java.io.Serializable;
+import java.util.function.Consumer;
+
+// Canal por onde os nós avisam uns aos outros que algo mudou: entradas do cache próximo
+// que ficaram velhas (MensagemInvalidacao) e eventos de domínio que atualizam o estado
+// mantido em memória por cada nó. Cada assinante recebe só as mensagens do tipo pedido.
+public interface BarramentoInvalidacao {
+
+    void publicar(Serializable mensagem);
+
+    <T> void assinar(Class<T> tipo, Consumer<? super T> consumidor);
+}
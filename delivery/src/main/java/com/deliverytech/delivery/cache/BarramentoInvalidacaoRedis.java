@@ -0,0 +1,40 @@
+package com.deliverytech.delivery.cache;
+
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.io.Serializable;
+import java.util.function.Consumer;
+
+// Mensagens entre os nós via pub/sub do Redis, com serialização Java
+public class BarramentoInvalidacaoRedis implements BarramentoInvalidacao {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer container;
+    private final ChannelTopic canal;
+    private final RedisSerializer<Object> serializer = RedisSerializer.java();
+
+    public BarramentoInvalidacaoRedis(RedisTemplate<String, Object> redisTemplate,
+            RedisMessageListenerContainer container, String canal) {
+        this.redisTemplate = redisTemplate;
+        this.container = container;
+        this.canal = new ChannelTopic(canal);
+    }
+
+    @Override
+    public void publicar(Serializable mensagem) {
+        redisTemplate.convertAndSend(canal.getTopic(), mensagem);
+    }
+
+    @Override
+    public <T> void assinar(Class<T> tipo, Consumer<? super T> consumidor) {
+        container.addMessageListener((message, pattern) -> {
+            Object mensagem = serializer.deserialize(message.getBody());
+            if (tipo.isInstance(mensagem)) {
+                consumidor.accept(tipo.cast(mensagem));
+            }
+        }, canal);
+    }
+}
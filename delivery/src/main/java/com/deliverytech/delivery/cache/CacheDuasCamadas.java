@@ -0,0 +1,125 @@
+package com.deliverytech.delivery.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+
+// Cache próximo (em memória, pequeno e de validade curta) na frente do cache remoto
+// compartilhado. put vai para as duas camadas sem avisar ninguém: no @Cacheable ele só
+// preenche uma leitura que faltou, e invalidar os outros nós a cada falta faria os nós
+// descartarem as cópias uns dos outros o tempo todo. Alterações de dados chegam aqui
+// como evict/clear (listeners de evento), e só esses avisam os outros nós. A validade
+// curta do cache próximo limita o tempo de uma cópia velha caso uma mensagem se perca.
+//
+// evict deixa uma Lapide no remoto no lugar do valor, com validade curta (configurada no
+// RedisCacheManager), e put só grava se a chave estiver livre (putIfAbsent). Assim uma
+// leitura que começou antes da alteração e termina depois dela não devolve o valor antigo
+// ao remoto, onde ficaria pela validade inteira: enquanto a lápide existe, nenhum nó grava.
+public class CacheDuasCamadas implements Cache {
+
+    // Marca deixada no remoto por evict; para quem lê, é uma falta
+    public enum Lapide { INSTANCIA }
+
+    private final String nome;
+    private final Cache proximo;
+    private final Cache remoto;
+    private final BarramentoInvalidacao barramento;
+    private final String origem;
+
+    public CacheDuasCamadas(String nome, Cache proximo, Cache remoto, BarramentoInvalidacao barramento, String origem) {
+        this.nome = nome;
+        this.proximo = proximo;
+        this.remoto = remoto;
+        this.barramento = barramento;
+        this.origem = origem;
+    }
+
+    public Cache getProximo() {
+        return proximo;
+    }
+
+    @Override
+    public String getName() {
+        return nome;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper valor = proximo.get(key);
+        if (valor != null) {
+            return valor;
+        }
+        valor = remoto.get(key);
+        if (valor == null || valor.get() instanceof Lapide) {
+            return null;
+        }
+        proximo.put(key, valor.get());
+        return valor;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper valor = get(key);
+        Object conteudo = valor != null ? valor.get() : null;
+        if (conteudo != null && type != null && !type.isInstance(conteudo)) {
+            throw new IllegalStateException("Valor em cache não é do tipo " + type.getName() + ": " + conteudo);
+        }
+        return (T) conteudo;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper valor = get(key);
+        if (valor != null) {
+            return (T) valor.get();
+        }
+        T carregado;
+        try {
+            carregado = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, carregado);
+        return carregado;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        ValueWrapper existente = remoto.putIfAbsent(key, value);
+        if (existente == null) {
+            proximo.put(key, value);
+        } else if (!(existente.get() instanceof Lapide)) {
+            // Outro nó preencheu antes: fica a cópia dele
+            proximo.put(key, existente.get());
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        remoto.put(key, Lapide.INSTANCIA);
+        proximo.evict(key);
+        barramento.publicar(new MensagemInvalidacao(origem, nome, key));
+    }
+
+    @Override
+    public void clear() {
+        remoto.clear();
+        proximo.clear();
+        barramento.publicar(new MensagemInvalidacao(origem, nome, null));
+    }
+
+    void invalidarLocal(Object chave) {
+        if (chave == null) {
+            proximo.clear();
+        } else {
+            proximo.evict(chave);
+        }
+    }
+}
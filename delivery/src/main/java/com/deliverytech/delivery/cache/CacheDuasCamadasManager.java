@@ -0,0 +1,65 @@
+package com.deliverytech.delivery.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Monta um CacheDuasCamadas por nome a partir do gerenciador próximo e do remoto e
+// aplica as invalidações recebidas dos outros nós. Caches em somenteProximo nunca vão
+// para o remoto (dados sensíveis), mas continuam invalidando os outros nós.
+public class CacheDuasCamadasManager implements CacheManager {
+
+    private final CacheManager proximo;
+    private final CacheManager remoto;
+    private final BarramentoInvalidacao barramento;
+    private final Set<String> somenteProximo;
+    private final String origem = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, CacheDuasCamadas> caches = new ConcurrentHashMap<>();
+
+    public CacheDuasCamadasManager(CacheManager proximo, CacheManager remoto, BarramentoInvalidacao barramento) {
+        this(proximo, remoto, barramento, Set.of());
+    }
+
+    public CacheDuasCamadasManager(CacheManager proximo, CacheManager remoto, BarramentoInvalidacao barramento,
+            Set<String> somenteProximo) {
+        this.proximo = proximo;
+        this.remoto = remoto;
+        this.barramento = barramento;
+        this.somenteProximo = Set.copyOf(somenteProximo);
+        barramento.assinar(MensagemInvalidacao.class, this::receber);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, nome -> {
+            Cache cacheProximo = proximo.getCache(nome);
+            Cache cacheRemoto = somenteProximo.contains(nome) ? new NoOpCache(nome) : remoto.getCache(nome);
+            if (cacheProximo == null || cacheRemoto == null) {
+                return null;
+            }
+            return new CacheDuasCamadas(nome, cacheProximo, cacheRemoto, barramento, origem);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    private void receber(MensagemInvalidacao mensagem) {
+        if (origem.equals(mensagem.origem())) {
+            return;
+        }
+        CacheDuasCamadas cache = caches.get(mensagem.cache());
+        if (cache != null) {
+            cache.invalidarLocal(mensagem.chave());
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.deliverytech.delivery.cache;
+
+import java.io.Serializable;
+
+// Enviada aos outros nós quando uma entrada muda; chave nula invalida o cache inteiro
+public record MensagemInvalidacao(
+    String origem,
+    String cache,
+    Object chave
+) implements Serializable {}
@@ -0,0 +1,16 @@
+package com.deliverytech.delivery.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Caches locais do Caffeine; tamanho, validade e estatísticas em spring.cache.caffeine.spec
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String RESTAURANTES = "restaurantes";
+    public static final String PRODUTOS = "produtos";
+    public static final String PRODUTOS_POR_RESTAURANTE = "produtosPorRestaurante";
+    public static final String USUARIOS = "usuarios";
+    public static final String USUARIOS_POR_ID = "usuariosPorId";
+}
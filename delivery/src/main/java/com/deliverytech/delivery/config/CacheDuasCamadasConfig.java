@@ -0,0 +1,89 @@
+package com.deliverytech.delivery.config;
+
+import com.deliverytech.delivery.cache.BarramentoInvalidacao;
+import com.deliverytech.delivery.cache.BarramentoInvalidacaoRedis;
+import com.deliverytech.delivery.cache.CacheDuasCamadas;
+import com.deliverytech.delivery.cache.CacheDuasCamadasManager;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Para vários nós: delivery.cache.modo=duas-camadas troca o Caffeine local por um cache
+// próximo em cada nó na frente do Redis, com invalidação por pub/sub. Os caches de usuário
+// (entidade com o hash da senha) ficam só no cache próximo e não vão para o Redis.
+@Configuration
+@ConditionalOnProperty(name = "delivery.cache.modo", havingValue = "duas-camadas")
+public class CacheDuasCamadasConfig {
+
+    static final Set<String> SOMENTE_PROXIMO = Set.of(CacheConfig.USUARIOS, CacheConfig.USUARIOS_POR_ID);
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    @Bean
+    public BarramentoInvalidacao barramentoInvalidacao(RedisConnectionFactory connectionFactory,
+            RedisMessageListenerContainer container,
+            @Value("${delivery.cache.canal-invalidacao:delivery:cache:invalidacao}") String canal) {
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.java());
+        template.afterPropertiesSet();
+        return new BarramentoInvalidacaoRedis(template, container, canal);
+    }
+
+    @Bean
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory, BarramentoInvalidacao barramento,
+            @Value("${spring.cache.cache-names}") List<String> nomes,
+            @Value("${delivery.cache.proximo.spec:maximumSize=1000,expireAfterWrite=30s,recordStats}") String specProximo,
+            @Value("${delivery.cache.remoto.ttl:10m}") Duration ttlRemoto,
+            @Value("${delivery.cache.remoto.ttl-lapide:5s}") Duration ttlLapide) {
+        CaffeineCacheManager proximo = new CaffeineCacheManager();
+        proximo.setCacheSpecification(specProximo);
+        proximo.setCacheNames(nomes);
+
+        RedisCacheManager remoto = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig()
+                        // A lápide só precisa durar mais que uma leitura em andamento
+                        .entryTtl((chave, valor) -> valor instanceof CacheDuasCamadas.Lapide ? ttlLapide : ttlRemoto)
+                        .disableCachingNullValues()
+                        .prefixCacheNameWith("delivery:cache:")
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(RedisSerializer.java())))
+                .initialCacheNames(nomes.stream().filter(nome -> !SOMENTE_PROXIMO.contains(nome)).collect(Collectors.toSet()))
+                .build();
+        remoto.afterPropertiesSet();
+
+        CacheDuasCamadasManager manager = new CacheDuasCamadasManager(proximo, remoto, barramento, SOMENTE_PROXIMO);
+        nomes.forEach(manager::getCache);
+        return manager;
+    }
+
+    // Métricas cache.gets/cache.puts do cache próximo de cada nó
+    @Bean
+    public CacheMeterBinderProvider<CacheDuasCamadas> cacheDuasCamadasMeterBinderProvider() {
+        return (cache, tags) -> new CaffeineCacheMetrics<>(
+                ((CaffeineCache) cache.getProximo()).getNativeCache(), cache.getName(), tags);
+    }
+}
@@ -1,7 +1,13 @@
 package com.deliverytech.delivery.config;
 
+import com.deliverytech.delivery.security.CodificadorSenhas;
 import com.deliverytech.delivery.security.JwtAuthenticationFilter;
+import com.deliverytech.delivery.security.LimiteRequisicoes;
+import com.deliverytech.delivery.security.LimiteRequisicoesFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -10,6 +16,7 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -23,19 +30,30 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final UserDetailsService userDetailsService;
+    private final UserDetailsPasswordService userDetailsPasswordService;
+    private final LimiteRequisicoes limiteRequisicoes;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         return http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
+                        // Conclusão assíncrona dos streams SSE, já autorizados na requisição original
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/auth/**", "/swagger-ui.html", "/swagger-ui/**", "/api-docs/**",
                                 "/h2-console/**", "/index.html", "/static/**")
                         .permitAll()
+                        // Health sem detalhes fica aberto para sondas; métricas e limpeza de caches só ADMIN
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+                        .requestMatchers("/api/usuarios/**").hasRole("ADMIN")
+                        // Usuario ainda não tem vínculo com Cliente: sem claim para restringir ao próprio cliente
+                        .requestMatchers("/api/pedidos/stream/cliente/**").hasRole("ADMIN")
                         .anyRequest().authenticated())
                 .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.sameOrigin()))
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(new LimiteRequisicoesFilter(limiteRequisicoes), JwtAuthenticationFilter.class)
                 .build();
     }
 
@@ -44,16 +62,23 @@ public class SecurityConfig {
         return configuration.getAuthenticationManager();
     }
 
+    // threads=0: um por núcleo
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public CodificadorSenhas passwordEncoder(@Value("${delivery.senhas.bcrypt.custo:10}") int custo,
+            @Value("${delivery.senhas.threads:0}") int threads,
+            @Value("${delivery.senhas.capacidade-fila:64}") int capacidadeFila,
+            MeterRegistry meterRegistry) {
+        return new CodificadorSenhas(new BCryptPasswordEncoder(custo),
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors(), capacidadeFila, meterRegistry);
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        // Hash com custo abaixo do configurado é regravado no login
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
         return authProvider;
     }
 }
@@ -4,9 +4,12 @@ import com.deliverytech.delivery.dto.request.LoginRequest;
 import com.deliverytech.delivery.dto.request.RegisterRequest;
 import com.deliverytech.delivery.model.Role;
 import com.deliverytech.delivery.model.Usuario;
-import com.deliverytech.delivery.repository.UsuarioRepository;
 import com.deliverytech.delivery.security.JwtUtil;
+import com.deliverytech.delivery.security.SenhasSobrecarregadasException;
+import com.deliverytech.delivery.service.UsuarioService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -21,14 +24,14 @@ import jakarta.validation.Valid;
 @RequiredArgsConstructor
 public class AuthController {
 
-    private final UsuarioRepository usuarioRepository;
+    private final UsuarioService usuarioService;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
 
     @PostMapping("/register")
     public ResponseEntity<String> register(@Valid @RequestBody RegisterRequest request) {
-        if (usuarioRepository.findByEmail(request.getEmail()).isPresent()) {
+        if (usuarioService.buscarPorEmail(request.getEmail()).isPresent()) {
             return ResponseEntity.badRequest().body("Email já cadastrado");
         }
 
@@ -41,7 +44,7 @@ public class AuthController {
                 .restauranteId(request.getRestauranteId())
                 .build();
 
-        usuarioRepository.save(usuario);
+        usuarioService.cadastrar(usuario);
         String token = jwtUtil.generateToken(User.withUsername(usuario.getEmail()).password(usuario.getSenha()).authorities("ROLE_" + usuario.getRole().name()).build(), usuario);
         return ResponseEntity.ok(token);
     }
@@ -49,9 +52,17 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<String> login(@Valid @RequestBody LoginRequest request) {
         authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(request.getEmail(), request.getSenha()));
-        Usuario usuario = usuarioRepository.findByEmail(request.getEmail())
+        Usuario usuario = usuarioService.buscarPorEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
         String token = jwtUtil.generateToken(User.withUsername(usuario.getEmail()).password(usuario.getSenha()).authorities("ROLE_" + usuario.getRole().name()).build(), usuario);
         return ResponseEntity.ok(token);
     }
+
+    // Pool de BCrypt com a fila cheia
+    @ExceptionHandler(SenhasSobrecarregadasException.class)
+    public ResponseEntity<String> sobrecarga(SenhasSobrecarregadasException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
 }
@@ -0,0 +1,26 @@
+package com.deliverytech.delivery.controller;
+
+import com.deliverytech.delivery.dto.response.ResultadoBuscaResponse;
+import com.deliverytech.delivery.search.IndiceBusca.Tipo;
+import com.deliverytech.delivery.service.BuscaService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/busca")
+@RequiredArgsConstructor
+public class BuscaController {
+
+    private static final int LIMITE_MAXIMO = 100;
+
+    private final BuscaService buscaService;
+
+    @GetMapping
+    public List<ResultadoBuscaResponse> buscar(@RequestParam String q,
+            @RequestParam(required = false) Tipo tipo,
+            @RequestParam(defaultValue = "20") int limite) {
+        return buscaService.buscar(q, tipo, Math.min(Math.max(limite, 1), LIMITE_MAXIMO));
+    }
+}
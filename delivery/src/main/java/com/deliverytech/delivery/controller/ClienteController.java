@@ -5,18 +5,22 @@ import com.deliverytech.delivery.dto.response.ClienteResponse;
 import com.deliverytech.delivery.model.Cliente;
 import com.deliverytech.delivery.service.ClienteService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/clientes")
 @RequiredArgsConstructor
 public class ClienteController {
 
+    private static final Set<String> ORDENAVEIS = Set.of("id", "nome", "email");
+
     private final ClienteService clienteService;
 
     @PostMapping
@@ -30,11 +34,10 @@ public class ClienteController {
         return ResponseEntity.ok(new ClienteResponse(salvo.getId(), salvo.getNome(), salvo.getEmail(), salvo.getAtivo()));
     }
 
+    // Página ordenada (?page=&size=&sort=nome,asc); próxima página nos cabeçalhos X-Has-Next e Link
     @GetMapping
-    public List<ClienteResponse> listar() {
-        return clienteService.listarAtivos().stream()
-                .map(c -> new ClienteResponse(c.getId(), c.getNome(), c.getEmail(), c.getAtivo()))
-                .collect(Collectors.toList());
+    public ResponseEntity<List<ClienteResponse>> listar(@PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        return Paginacao.resposta(clienteService.listarAtivos(Paginacao.restringir(pageable, ORDENAVEIS)));
     }
 
     @GetMapping("/{id}")
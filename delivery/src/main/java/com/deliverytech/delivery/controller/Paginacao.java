@@ -0,0 +1,44 @@
+package com.deliverytech.delivery.controller;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+import java.util.Set;
+
+// Listagens paginadas com Slice: o corpo continua sendo o array e os metadados vão nos
+// cabeçalhos, sem COUNT(*) a cada página (o total não é calculado)
+final class Paginacao {
+
+    static final String HAS_NEXT = "X-Has-Next";
+    static final String PAGINA = "X-Page";
+    static final String TAMANHO = "X-Page-Size";
+
+    private Paginacao() {
+    }
+
+    // Ignora ordenação por campos fora da projeção, que gerariam JPQL inválido
+    static Pageable restringir(Pageable pageable, Set<String> ordenaveis) {
+        Sort sort = Sort.by(pageable.getSort().filter(o -> ordenaveis.contains(o.getProperty())).toList());
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort.isSorted() ? sort : Sort.by("id"));
+    }
+
+    static <T> ResponseEntity<List<T>> resposta(Slice<T> slice) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HAS_NEXT, String.valueOf(slice.hasNext()));
+        headers.add(PAGINA, String.valueOf(slice.getNumber()));
+        headers.add(TAMANHO, String.valueOf(slice.getSize()));
+        if (slice.hasNext()) {
+            String proxima = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("page", slice.getNumber() + 1)
+                    .build().toUriString();
+            headers.add(HttpHeaders.LINK, "<" + proxima + ">; rel=\"next\"");
+        }
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+}
@@ -1,21 +1,46 @@
 package com.deliverytech.delivery.controller;
 
-//import com.deliverytech.delivery.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery.dto.request.AtualizacaoStatusLoteRequest;
 import com.deliverytech.delivery.dto.request.PedidoRequest;
+import com.deliverytech.delivery.dto.response.AtualizacaoStatusResponse;
+import com.deliverytech.delivery.dto.response.IngestaoPedidoResponse;
 import com.deliverytech.delivery.dto.response.ItemPedidoResponse;
+import com.deliverytech.delivery.dto.response.PaginaPedidosResponse;
 import com.deliverytech.delivery.dto.response.PedidoResponse;
-import com.deliverytech.delivery.model.*;
-import com.deliverytech.delivery.service.ClienteService;
+import com.deliverytech.delivery.dto.response.PedidoResumoResponse;
+import com.deliverytech.delivery.model.Pedido;
+import com.deliverytech.delivery.model.StatusPedido;
+import com.deliverytech.delivery.service.ChaveIdempotenciaReutilizadaException;
+import com.deliverytech.delivery.service.IdempotenciaStore;
+import com.deliverytech.delivery.service.PedidoIngestaoService;
 import com.deliverytech.delivery.service.PedidoService;
-import com.deliverytech.delivery.service.ProdutoService;
-import com.deliverytech.delivery.service.RestauranteService;
+import com.deliverytech.delivery.service.RespostaIdempotente;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
-import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 @RestController
@@ -23,55 +48,220 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class PedidoController {
 
+        private static final int TAMANHO_MAXIMO_PAGINA = 100;
+
+        private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+        private static final int TAMANHO_MAXIMO_CHAVE = 255;
+
         private final PedidoService pedidoService;
-        private final ClienteService clienteService;
-        private final RestauranteService restauranteService;
-        private final ProdutoService produtoService;
+        private final PedidoIngestaoService pedidoIngestaoService;
+        private final IdempotenciaStore idempotenciaStore;
+        private final ObjectMapper objectMapper;
+
+        @Value("${delivery.idempotencia.espera:10s}")
+        private Duration esperaIdempotencia;
 
         @PostMapping
-        public ResponseEntity<PedidoResponse> criar(@Valid @RequestBody PedidoRequest request) {
-                Cliente cliente = clienteService.buscarPorId(request.getClienteId())
-                                .orElseThrow(() -> new RuntimeException("Cliente não encontrado"));
-                Restaurante restaurante = restauranteService.buscarPorId(request.getRestauranteId())
-                                .orElseThrow(() -> new RuntimeException("Restaurante não encontrado"));
-
-                List<ItemPedido> itens = request.getItens().stream().map(item -> {
-                        Produto produto = produtoService.buscarPorId(item.getProdutoId())
-                                        .orElseThrow(() -> new RuntimeException("Produto não encontrado"));
-                        return ItemPedido.builder()
-                                        .produto(produto)
-                                        .quantidade(item.getQuantidade())
-                                        .precoUnitario(produto.getPreco())
+        public ResponseEntity<?> criar(@Valid @RequestBody PedidoRequest request,
+                        @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String chaveIdempotencia,
+                        Principal principal) {
+                if (chaveIdempotencia == null) {
+                        if (pedidoIngestaoService.isAssincrono()) {
+                                return pedidoIngestaoService.enfileirar(request)
+                                                .<ResponseEntity<?>>map(this::aceito)
+                                                .orElseGet(this::filaCheia);
+                        }
+                        Pedido salvo = pedidoService.criar(request);
+                        return ResponseEntity.ok(toResponse(salvo));
+                }
+                if (chaveIdempotencia.isBlank() || chaveIdempotencia.length() > TAMANHO_MAXIMO_CHAVE) {
+                        return ResponseEntity.badRequest().build();
+                }
+
+                // A chave vale apenas para o usuário que a enviou e para o mesmo corpo
+                String chave = principal.getName() + ":" + chaveIdempotencia;
+                String impressao = impressao(request);
+                Optional<CompletableFuture<RespostaIdempotente>> anterior = idempotenciaStore.reservar(chave, impressao);
+                if (anterior.isPresent()) {
+                        return repetir(anterior.get());
+                }
+
+                // Modo assíncrono: a chave guarda o protocolo, e a repetição devolve o mesmo
+                if (pedidoIngestaoService.isAssincrono()) {
+                        Optional<IngestaoPedidoResponse> ingestao;
+                        try {
+                                ingestao = pedidoIngestaoService.enfileirar(request);
+                        } catch (RuntimeException e) {
+                                idempotenciaStore.liberar(chave, e);
+                                throw e;
+                        }
+                        if (ingestao.isEmpty()) {
+                                idempotenciaStore.liberar(chave, new IllegalStateException("Fila de ingestão cheia"));
+                                return filaCheia();
+                        }
+                        idempotenciaStore.concluir(chave, impressao, RespostaIdempotente.enfileirado(ingestao.get()));
+                        return aceito(ingestao.get());
+                }
+
+                PedidoResponse resposta;
+                try {
+                        resposta = toResponse(pedidoService.criar(request));
+                } catch (RuntimeException e) {
+                        idempotenciaStore.liberar(chave, e);
+                        throw e;
+                }
+                idempotenciaStore.concluir(chave, impressao, RespostaIdempotente.criado(resposta));
+                return ResponseEntity.ok(resposta);
+        }
+
+        @ExceptionHandler(ChaveIdempotenciaReutilizadaException.class)
+        public ResponseEntity<String> chaveReutilizada(ChaveIdempotenciaReutilizadaException e) {
+                return ResponseEntity.unprocessableEntity().body(e.getMessage());
+        }
+
+        // Requisição repetida: espera a original terminar e devolve o mesmo pedido ou protocolo
+        private ResponseEntity<?> repetir(CompletableFuture<RespostaIdempotente> anterior) {
+                RespostaIdempotente resposta;
+                try {
+                        resposta = anterior.get(esperaIdempotencia.toMillis(), TimeUnit.MILLISECONDS);
+                } catch (TimeoutException | ExecutionException e) {
+                        return ResponseEntity.status(HttpStatus.CONFLICT)
+                                        .header(HttpHeaders.RETRY_AFTER, "1")
                                         .build();
-                }).collect(Collectors.toList());
-
-                BigDecimal total = itens.stream()
-                                .map(i -> i.getPrecoUnitario().multiply(BigDecimal.valueOf(i.getQuantidade())))
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                Pedido pedido = Pedido.builder()
-                                .cliente(cliente)
-                                .restaurante(restaurante)
-                                .status(StatusPedido.CRIADO)
-                                .total(total)
-                                .enderecoEntrega(request.getEnderecoEntrega())
-                                .itens(itens)
+                } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+                }
+                if (resposta.ingestao() != null) {
+                        // Situação atual do protocolo; a guardada se ele já saiu da retenção
+                        IngestaoPedidoResponse ingestao = pedidoIngestaoService.consultar(resposta.ingestao().getProtocolo())
+                                        .orElse(resposta.ingestao());
+                        return ResponseEntity.accepted()
+                                        .location(URI.create("/api/pedidos/ingestao/" + ingestao.getProtocolo()))
+                                        .header("Idempotent-Replayed", "true")
+                                        .body(ingestao);
+                }
+                return ResponseEntity.ok()
+                                .header("Idempotent-Replayed", "true")
+                                .body(resposta.pedido());
+        }
+
+        private ResponseEntity<?> aceito(IngestaoPedidoResponse ingestao) {
+                return ResponseEntity.accepted()
+                                .location(URI.create("/api/pedidos/ingestao/" + ingestao.getProtocolo()))
+                                .body(ingestao);
+        }
+
+        private ResponseEntity<?> filaCheia() {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, "1")
                                 .build();
+        }
+
+        // SHA-256 do corpo já desserializado, para que espaços e ordem dos campos no JSON não contem
+        private String impressao(PedidoRequest request) {
+                try {
+                        byte[] hash = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+                        return Base64.getEncoder().encodeToString(hash);
+                } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+                        throw new IllegalStateException("Falha ao calcular a impressão da requisição", e);
+                }
+        }
+
+        @GetMapping("/ingestao/{protocolo}")
+        public ResponseEntity<IngestaoPedidoResponse> consultarIngestao(@PathVariable String protocolo) {
+                return pedidoIngestaoService.consultar(protocolo)
+                                .map(ResponseEntity::ok)
+                                .orElse(ResponseEntity.notFound().build());
+        }
+
+        @GetMapping("/{id}")
+        public ResponseEntity<PedidoResponse> buscarPorId(@PathVariable Long id) {
+                return pedidoService.buscarPorId(id)
+                                .map(this::toResponse)
+                                .map(ResponseEntity::ok)
+                                .orElse(ResponseEntity.notFound().build());
+        }
+
+        @PatchMapping("/{id}/status")
+        public ResponseEntity<PedidoResponse> atualizarStatus(@PathVariable Long id, @RequestParam StatusPedido status) {
+                try {
+                        return ResponseEntity.ok(toResponse(pedidoService.atualizarStatus(id, status)));
+                } catch (NoSuchElementException e) {
+                        return ResponseEntity.notFound().build();
+                } catch (IllegalStateException e) {
+                        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+                }
+        }
+
+        @PatchMapping("/status")
+        public List<AtualizacaoStatusResponse> atualizarStatusEmLote(@Valid @RequestBody AtualizacaoStatusLoteRequest request) {
+                return pedidoService.atualizarStatusEmLote(request.getPedidoIds(), request.getStatus()).entrySet().stream()
+                                .map(e -> new AtualizacaoStatusResponse(e.getKey(), e.getValue()))
+                                .collect(Collectors.toList());
+        }
+
+        @PatchMapping("/{id}/cancelar")
+        public ResponseEntity<Void> cancelar(@PathVariable Long id) {
+                try {
+                        pedidoService.cancelar(id);
+                        return ResponseEntity.noContent().build();
+                } catch (IllegalStateException e) {
+                        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+                }
+        }
+
+        @GetMapping
+        public ResponseEntity<PaginaPedidosResponse> listar(@RequestParam(required = false) Long clienteId,
+                        @RequestParam(required = false) Long restauranteId,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "20") int tamanho) {
+                if ((clienteId == null) == (restauranteId == null)) {
+                        return ResponseEntity.badRequest().build();
+                }
+
+                LocalDateTime dataAnterior = null;
+                Long idAnterior = null;
+                if (cursor != null) {
+                        try {
+                                String[] partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                                dataAnterior = LocalDateTime.parse(partes[0]);
+                                idAnterior = Long.valueOf(partes[1]);
+                        } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+                                return ResponseEntity.badRequest().build();
+                        }
+                }
+
+                // Busca um registro a mais para saber se existe próxima página sem COUNT
+                int limite = Math.max(1, Math.min(tamanho, TAMANHO_MAXIMO_PAGINA));
+                List<PedidoResumoResponse> pedidos = clienteId != null
+                                ? pedidoService.listarPorCliente(clienteId, dataAnterior, idAnterior, limite + 1)
+                                : pedidoService.listarPorRestaurante(restauranteId, dataAnterior, idAnterior, limite + 1);
+
+                String proximoCursor = null;
+                if (pedidos.size() > limite) {
+                        pedidos = pedidos.subList(0, limite);
+                        PedidoResumoResponse ultimo = pedidos.get(limite - 1);
+                        proximoCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                                        (ultimo.getDataPedido() + "|" + ultimo.getId()).getBytes(StandardCharsets.UTF_8));
+                }
+                return ResponseEntity.ok(new PaginaPedidosResponse(pedidos, proximoCursor));
+        }
 
-                Pedido salvo = pedidoService.criar(pedido);
-                List<ItemPedidoResponse> itensResp = salvo.getItens().stream()
+        private PedidoResponse toResponse(Pedido pedido) {
+                List<ItemPedidoResponse> itensResp = pedido.getItens().stream()
                                 .map(i -> new ItemPedidoResponse(i.getProduto().getId(), i.getProduto().getNome(),
                                                 i.getQuantidade(), i.getPrecoUnitario()))
                                 .collect(Collectors.toList());
 
-                return ResponseEntity.ok(new PedidoResponse(
-                                salvo.getId(),
-                                cliente.getId(),
-                                restaurante.getId(),
-                                salvo.getEnderecoEntrega(),
-                                salvo.getTotal(),
-                                salvo.getStatus(),
-                                salvo.getDataPedido(),
-                                itensResp));
+                return new PedidoResponse(
+                                pedido.getId(),
+                                pedido.getCliente().getId(),
+                                pedido.getRestaurante().getId(),
+                                pedido.getEnderecoEntrega(),
+                                pedido.getTotal().toBigDecimal(),
+                                pedido.getStatus(),
+                                pedido.getDataPedido(),
+                                itensResp);
         }
 }
@@ -0,0 +1,47 @@
+package com.deliverytech.delivery.controller;
+
+import com.deliverytech.delivery.event.PedidoStreamHub;
+import com.deliverytech.delivery.security.UsuarioAutenticado;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/pedidos/stream")
+public class PedidoStreamController {
+
+    private final PedidoStreamHub pedidoStreamHub;
+    private final Duration timeout;
+
+    public PedidoStreamController(PedidoStreamHub pedidoStreamHub,
+            @Value("${delivery.pedidos.stream.timeout:30m}") Duration timeout) {
+        this.pedidoStreamHub = pedidoStreamHub;
+        this.timeout = timeout;
+    }
+
+    // Pedidos do restaurante indicado na claim restauranteId do token
+    @GetMapping(value = "/restaurante", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> restaurante(@AuthenticationPrincipal UsuarioAutenticado usuario) {
+        Long restauranteId = usuario != null ? usuario.restauranteId() : null;
+        if (restauranteId == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        pedidoStreamHub.assinarRestaurante(restauranteId, emitter);
+        return ResponseEntity.ok(emitter);
+    }
+
+    // Restrito a ADMIN no SecurityConfig até o token trazer o cliente do usuário
+    @GetMapping(value = "/cliente/{clienteId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter cliente(@PathVariable Long clienteId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        pedidoStreamHub.assinarCliente(clienteId, emitter);
+        return emitter;
+    }
+}
@@ -1,18 +1,30 @@
 package com.deliverytech.delivery.controller;
 
+import com.deliverytech.delivery.dto.request.DisponibilidadeLoteRequest;
 import com.deliverytech.delivery.dto.request.ProdutoRequest;
+import com.deliverytech.delivery.dto.response.CardapioDeltaResponse;
+import com.deliverytech.delivery.dto.response.DisponibilidadeLoteResponse;
+import com.deliverytech.delivery.dto.response.ImportacaoProdutosResponse;
 import com.deliverytech.delivery.dto.response.ProdutoResponse;
+import com.deliverytech.delivery.dto.response.RestauranteResponse;
 import com.deliverytech.delivery.model.Produto;
 import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.service.CardapioService;
+import com.deliverytech.delivery.service.CardapioSnapshot;
+import com.deliverytech.delivery.service.ImportacaoProdutoService;
+import com.deliverytech.delivery.service.ImportacaoProdutoService.Formato;
 import com.deliverytech.delivery.service.ProdutoService;
 import com.deliverytech.delivery.service.RestauranteService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.io.InputStream;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/produtos")
@@ -21,10 +33,12 @@ public class ProdutoController {
 
     private final ProdutoService produtoService;
     private final RestauranteService restauranteService;
+    private final CardapioService cardapioService;
+    private final ImportacaoProdutoService importacaoProdutoService;
 
     @PostMapping
     public ResponseEntity<ProdutoResponse> cadastrar(@Valid @RequestBody ProdutoRequest request) {
-        Restaurante restaurante = restauranteService.buscarPorId(request.getRestauranteId())
+        RestauranteResponse restaurante = restauranteService.buscarPorId(request.getRestauranteId())
                 .orElseThrow(() -> new RuntimeException("Restaurante não encontrado"));
 
         Produto produto = Produto.builder()
@@ -33,7 +47,8 @@ public class ProdutoController {
                 .descricao(request.getDescricao())
                 .preco(request.getPreco())
                 .disponivel(true)
-                .restaurante(restaurante)
+                // Só a chave estrangeira é gravada: basta uma referência pelo id
+                .restaurante(Restaurante.builder().id(restaurante.getId()).build())
                 .build();
 
         Produto salvo = produtoService.cadastrar(produto);
@@ -41,11 +56,72 @@ public class ProdutoController {
                 salvo.getId(), salvo.getNome(), salvo.getCategoria(), salvo.getDescricao(), salvo.getPreco(), salvo.getDisponivel()));
     }
 
+    // Importação em massa: NDJSON (um ProdutoRequest por linha) ou CSV com cabeçalho
+    // nome,categoria,descricao,preco,restauranteId. O corpo é lido como stream.
+    @PostMapping(value = "/importacao", consumes = {"application/x-ndjson", "text/csv"})
+    public ImportacaoProdutosResponse importar(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream corpo) {
+        Formato formato = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? Formato.CSV : Formato.NDJSON;
+        return importacaoProdutoService.importar(corpo, formato);
+    }
+
+    // Cardápio pré-serializado; com If-None-Match igual ao ETag a resposta é 304 sem corpo
     @GetMapping("/restaurante/{restauranteId}")
-    public List<ProdutoResponse> listarPorRestaurante(@PathVariable Long restauranteId) {
-        return produtoService.buscarPorRestaurante(restauranteId).stream()
-                .map(p -> new ProdutoResponse(p.getId(), p.getNome(), p.getCategoria(), p.getDescricao(), p.getPreco(), p.getDisponivel()))
-                .collect(Collectors.toList());
+    public ResponseEntity<byte[]> listarPorRestaurante(@PathVariable Long restauranteId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return cardapioService.snapshot(restauranteId)
+                .map(snapshot -> cardapio(snapshot, acceptEncoding))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private static ResponseEntity<byte[]> cardapio(CardapioSnapshot snapshot, String acceptEncoding) {
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (snapshot.temGzip() && aceitaGzip(acceptEncoding)) {
+            return resposta.eTag(snapshot.etagGzip()).header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+        }
+        return resposta.eTag(snapshot.etag()).body(snapshot.json());
+    }
+
+    // gzip com q > 0; sem gzip na lista vale o q de "*". "gzip;q=0" é recusa explícita
+    private static boolean aceitaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double curinga = null;
+        for (String item : acceptEncoding.split(",")) {
+            String[] partes = item.split(";");
+            String codificacao = partes[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1;
+            for (int i = 1; i < partes.length; i++) {
+                String parametro = partes[i].trim();
+                if (parametro.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        q = Double.parseDouble(parametro.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (codificacao.equals("gzip") || codificacao.equals("x-gzip")) {
+                gzip = q;
+            } else if (codificacao.equals("*")) {
+                curinga = q;
+            }
+        }
+        double aceito = gzip != null ? gzip : curinga != null ? curinga : 0;
+        return aceito > 0;
+    }
+
+    // Sincronização incremental: produtos alterados (inclusive os que ficaram indisponíveis)
+    // desde a versão informada; since=0 ou versão muito antiga devolve o cardápio inteiro
+    @GetMapping("/restaurante/{restauranteId}/changes")
+    public CardapioDeltaResponse alteracoes(@PathVariable Long restauranteId, @RequestParam(defaultValue = "0") long since) {
+        return cardapioService.alteracoes(restauranteId, since);
     }
 
     @PutMapping("/{id}")
@@ -65,4 +141,18 @@ public class ProdutoController {
         produtoService.alterarDisponibilidade(id, disponivel);
         return ResponseEntity.noContent().build();
     }
+
+    // Vários produtos de uma vez, por lista de ids ou por restaurante + categoria
+    @PatchMapping("/disponibilidade")
+    public ResponseEntity<DisponibilidadeLoteResponse> alterarDisponibilidadeEmLote(@Valid @RequestBody DisponibilidadeLoteRequest request) {
+        int alterados;
+        if (request.getProdutoIds() != null && !request.getProdutoIds().isEmpty()) {
+            alterados = produtoService.alterarDisponibilidade(request.getProdutoIds(), request.getDisponivel());
+        } else if (request.getRestauranteId() != null && request.getCategoria() != null) {
+            alterados = produtoService.alterarDisponibilidadePorCategoria(request.getRestauranteId(), request.getCategoria(), request.getDisponivel());
+        } else {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(new DisponibilidadeLoteResponse(alterados));
+    }
 }
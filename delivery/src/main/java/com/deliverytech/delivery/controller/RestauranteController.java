@@ -3,13 +3,19 @@ package com.deliverytech.delivery.controller;
 import com.deliverytech.delivery.dto.request.RestauranteRequest;
 import com.deliverytech.delivery.dto.response.RestauranteResponse;
 import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.search.VitrineRestaurantes.Ordenacao;
 import com.deliverytech.delivery.service.RestauranteService;
+import com.deliverytech.delivery.service.VitrineService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -17,7 +23,11 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class RestauranteController {
 
+    private static final int LIMITE_VITRINE = 100;
+    private static final Set<String> ORDENAVEIS = Set.of("id", "nome", "categoria", "taxaEntrega", "tempoEntregaMinutos");
+
     private final RestauranteService restauranteService;
+    private final VitrineService vitrineService;
 
     @PostMapping
     public ResponseEntity<RestauranteResponse> cadastrar(@Valid @RequestBody RestauranteRequest request) {
@@ -35,17 +45,27 @@ public class RestauranteController {
                 salvo.getTaxaEntrega(), salvo.getTempoEntregaMinutos(), salvo.getAtivo()));
     }
 
+    // Página ordenada (?page=&size=&sort=nome,asc); próxima página nos cabeçalhos X-Has-Next e Link
     @GetMapping
-    public List<RestauranteResponse> listarTodos() {
-        return restauranteService.listarTodos().stream()
-                .map(r -> new RestauranteResponse(r.getId(), r.getNome(), r.getCategoria(), r.getTelefone(), r.getTaxaEntrega(), r.getTempoEntregaMinutos(), r.getAtivo()))
-                .collect(Collectors.toList());
+    public ResponseEntity<List<RestauranteResponse>> listarTodos(@PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        return Paginacao.resposta(restauranteService.listarTodos(Paginacao.restringir(pageable, ORDENAVEIS)));
+    }
+
+    // Filtro + ordenação + limite da tela inicial, respondido da vitrine em memória
+    @GetMapping("/vitrine")
+    public List<RestauranteResponse> vitrine(@RequestParam(required = false) String categoria,
+            @RequestParam(defaultValue = "true") Boolean ativo,
+            @RequestParam(required = false) BigDecimal taxaMaxima,
+            @RequestParam(required = false) Integer tempoMaximo,
+            @RequestParam(defaultValue = "NOME") Ordenacao ordenarPor,
+            @RequestParam(defaultValue = "20") int limite) {
+        return vitrineService.consultar(categoria, ativo, taxaMaxima, tempoMaximo, ordenarPor,
+                Math.min(Math.max(limite, 1), LIMITE_VITRINE));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<RestauranteResponse> buscarPorId(@PathVariable Long id) {
         return restauranteService.buscarPorId(id)
-                .map(r -> new RestauranteResponse(r.getId(), r.getNome(), r.getCategoria(), r.getTelefone(), r.getTaxaEntrega(), r.getTempoEntregaMinutos(), r.getAtivo()))
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -0,0 +1,30 @@
+package com.deliverytech.delivery.controller;
+
+import com.deliverytech.delivery.dto.response.UsuarioResponse;
+import com.deliverytech.delivery.service.UsuarioService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+// Restrito a ADMIN no SecurityConfig
+@RestController
+@RequestMapping("/api/usuarios")
+@RequiredArgsConstructor
+public class UsuarioController {
+
+    private final UsuarioService usuarioService;
+
+    @GetMapping("/{id}")
+    public ResponseEntity<UsuarioResponse> buscar(@PathVariable Long id) {
+        return usuarioService.buscarPorId(id)
+                .map(u -> ResponseEntity.ok(new UsuarioResponse(u.getId(), u.getNome(), u.getEmail(),
+                        u.getRole(), u.getAtivo(), u.getRestauranteId())))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PatchMapping("/{id}/status")
+    public ResponseEntity<Void> alterarStatus(@PathVariable Long id, @RequestParam boolean ativo) {
+        usuarioService.alterarStatus(id, ativo);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.deliverytech.delivery.dto.request;
+
+import com.deliverytech.delivery.model.StatusPedido;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AtualizacaoStatusLoteRequest {
+
+    @NotEmpty
+    @Size(max = 500)
+    private List<@NotNull Long> pedidoIds;
+
+    @NotNull
+    private StatusPedido status;
+}
@@ -0,0 +1,23 @@
+package com.deliverytech.delivery.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.util.List;
+
+// Por lista de produtos ou, sem a lista, por restaurante + categoria
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DisponibilidadeLoteRequest {
+
+    @Size(max = 1000)
+    private List<Long> produtoIds;
+
+    private Long restauranteId;
+
+    private String categoria;
+
+    @NotNull
+    private Boolean disponivel;
+}
@@ -12,6 +12,7 @@ public class ItemPedidoRequest {
     @NotNull
     private Long produtoId;
 
+    @NotNull
     @Positive
     private Integer quantidade;
 }
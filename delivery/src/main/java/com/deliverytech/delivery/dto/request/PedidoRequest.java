@@ -1,6 +1,8 @@
 package com.deliverytech.delivery.dto.request;
 
 import com.deliverytech.delivery.model.Endereco;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
@@ -20,6 +22,6 @@ public class PedidoRequest {
     @NotNull
     private Endereco enderecoEntrega;
 
-    @NotNull
-    private List<ItemPedidoRequest> itens;
+    @NotEmpty
+    private List<@Valid ItemPedidoRequest> itens;
 }
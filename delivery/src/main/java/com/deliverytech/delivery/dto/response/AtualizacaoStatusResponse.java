@@ -0,0 +1,12 @@
+package com.deliverytech.delivery.dto.response;
+
+import com.deliverytech.delivery.service.ResultadoTransicao;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AtualizacaoStatusResponse {
+    private Long pedidoId;
+    private ResultadoTransicao resultado;
+}
@@ -0,0 +1,16 @@
+package com.deliverytech.delivery.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardapioDeltaResponse {
+    // Versão a enviar como since na próxima sincronização
+    private long versao;
+    // true: produtos é o cardápio inteiro e substitui a cópia do cliente
+    private boolean completo;
+    private List<ProdutoResponse> produtos;
+}
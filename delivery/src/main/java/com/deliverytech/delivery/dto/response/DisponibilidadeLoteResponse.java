@@ -0,0 +1,10 @@
+package com.deliverytech.delivery.dto.response;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DisponibilidadeLoteResponse {
+    private int alterados;
+}
@@ -0,0 +1,26 @@
+package com.deliverytech.delivery.dto.response;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportacaoProdutosResponse {
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ErroLinha {
+        private long linha;
+        private String mensagem;
+    }
+
+    private long linhasLidas;
+    private long importados;
+    private long rejeitados;
+    // Só os primeiros erros; rejeitados tem o total
+    private List<ErroLinha> erros = new ArrayList<>();
+}
@@ -0,0 +1,20 @@
+package com.deliverytech.delivery.dto.response;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngestaoPedidoResponse {
+
+    public enum Situacao {
+        PENDENTE,
+        CRIADO,
+        REJEITADO
+    }
+
+    private String protocolo;
+    private Situacao situacao;
+    private Long pedidoId;
+    private String erro;
+}
@@ -0,0 +1,14 @@
+package com.deliverytech.delivery.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaPedidosResponse {
+    private List<PedidoResumoResponse> pedidos;
+    // Cursor opaco para a próxima página; nulo quando não há mais pedidos
+    private String proximoCursor;
+}
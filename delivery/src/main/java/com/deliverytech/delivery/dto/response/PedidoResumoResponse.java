@@ -0,0 +1,26 @@
+package com.deliverytech.delivery.dto.response;
+
+import com.deliverytech.delivery.model.Dinheiro;
+import com.deliverytech.delivery.model.StatusPedido;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PedidoResumoResponse {
+    private Long id;
+    private Long clienteId;
+    private Long restauranteId;
+    private BigDecimal total;
+    private StatusPedido status;
+    private LocalDateTime dataPedido;
+
+    // Usado pelas consultas de listagem, que projetam o total como Dinheiro
+    public PedidoResumoResponse(Long id, Long clienteId, Long restauranteId, Dinheiro total,
+            StatusPedido status, LocalDateTime dataPedido) {
+        this(id, clienteId, restauranteId, total == null ? null : total.toBigDecimal(), status, dataPedido);
+    }
+}
@@ -1,13 +1,20 @@
 package com.deliverytech.delivery.dto.response;
 
-import lombok.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 
-@Data
-@NoArgsConstructor
+// Imutável: a mesma instância é devolvida a todos enquanto estiver em cache.
+// O Jackson monta pelo builder, já que não há construtor vazio nem setters
+@Value
+@Builder
+@Jacksonized
 @AllArgsConstructor
-public class RestauranteResponse {
+public class RestauranteResponse implements Serializable {
     private Long id;
     private String nome;
     private String categoria;
@@ -0,0 +1,16 @@
+package com.deliverytech.delivery.dto.response;
+
+import com.deliverytech.delivery.search.IndiceBusca.Tipo;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoBuscaResponse {
+    private Tipo tipo;
+    private Long id;
+    private String nome;
+    private String categoria;
+    private Long restauranteId;
+    private double relevancia;
+}
@@ -0,0 +1,16 @@
+package com.deliverytech.delivery.dto.response;
+
+import com.deliverytech.delivery.model.Role;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsuarioResponse {
+    private Long id;
+    private String nome;
+    private String email;
+    private Role role;
+    private Boolean ativo;
+    private Long restauranteId;
+}
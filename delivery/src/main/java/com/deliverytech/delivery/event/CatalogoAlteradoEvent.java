@@ -0,0 +1,11 @@
+package com.deliverytech.delivery.event;
+
+import java.io.Serializable;
+import java.util.Set;
+
+// Publicado pelo ProdutoService quando produtos de um restaurante são criados ou alterados
+// (no modo duas-camadas, também repassado aos outros nós pelo ReplicacaoEventos)
+public record CatalogoAlteradoEvent(
+    Long restauranteId,
+    Set<Long> produtoIds
+) implements Serializable {}
@@ -0,0 +1,45 @@
+package com.deliverytech.delivery.event;
+
+import com.deliverytech.delivery.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Remove dos caches só as entradas afetadas, depois do commit, para que uma leitura
+// concorrente não volte a guardar o valor antigo. Eventos vindos de outro nó são
+// ignorados: o nó de origem já invalidou os caches de todos
+@Component
+@RequiredArgsConstructor
+public class CatalogoCacheListener {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void catalogoAlterado(CatalogoAlteradoEvent evento) {
+        if (ReplicacaoEventos.republicando()) {
+            return;
+        }
+        Cache produtos = cacheManager.getCache(CacheConfig.PRODUTOS);
+        if (produtos != null) {
+            evento.produtoIds().forEach(produtos::evict);
+        }
+        evict(CacheConfig.PRODUTOS_POR_RESTAURANTE, evento.restauranteId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void restauranteAlterado(RestauranteAlteradoEvent evento) {
+        if (ReplicacaoEventos.republicando()) {
+            return;
+        }
+        evict(CacheConfig.RESTAURANTES, evento.restauranteId());
+    }
+
+    private void evict(String nome, Long chave) {
+        Cache cache = cacheManager.getCache(nome);
+        if (cache != null && chave != null) {
+            cache.evict(chave);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.deliverytech.delivery.event;
+
+import java.io.Serializable;
+
+// Evento de domínio enviado aos outros nós pelo barramento
+public record EventoReplicado(
+    String origem,
+    Serializable evento
+) implements Serializable {}
@@ -0,0 +1,14 @@
+package com.deliverytech.delivery.event;
+
+import com.deliverytech.delivery.model.StatusPedido;
+
+import java.time.LocalDateTime;
+
+// Publicado pelo PedidoService sempre que um pedido é criado ou muda de status
+public record PedidoStatusEvent(
+    Long pedidoId,
+    Long clienteId,
+    Long restauranteId,
+    StatusPedido status,
+    LocalDateTime instante
+) {}
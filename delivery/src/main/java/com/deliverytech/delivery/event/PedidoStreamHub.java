@@ -0,0 +1,160 @@
+package com.deliverytech.delivery.event;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Distribui os PedidoStatusEvent para as conexões SSE de restaurantes e clientes.
+// Conexões ociosas não ocupam thread: cada assinante tem um buffer limitado e só
+// ganha uma virtual thread enquanto há eventos para enviar. Se o buffer enche
+// (cliente lento), os eventos pendentes são descartados e o assinante recebe um
+// evento "resync" para recarregar o estado pela API.
+@Slf4j
+@Component
+public class PedidoStreamHub {
+
+    static final String EVENTO_STATUS = "status";
+    static final String EVENTO_RESYNC = "resync";
+
+    private final int capacidadeBuffer;
+    private final Map<Long, Set<Assinante>> porRestaurante = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Assinante>> porCliente = new ConcurrentHashMap<>();
+    private final ExecutorService envio = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofVirtual().name("pedido-stream-heartbeat").factory());
+
+    public PedidoStreamHub(@Value("${delivery.pedidos.stream.buffer:64}") int capacidadeBuffer,
+            @Value("${delivery.pedidos.stream.heartbeat-segundos:25}") long heartbeatSegundos) {
+        this.capacidadeBuffer = capacidadeBuffer;
+        heartbeat.scheduleAtFixedRate(this::enviarHeartbeat, heartbeatSegundos, heartbeatSegundos, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        heartbeat.shutdownNow();
+        envio.shutdownNow();
+        porRestaurante.values().forEach(s -> s.forEach(a -> a.emitter.complete()));
+        porCliente.values().forEach(s -> s.forEach(a -> a.emitter.complete()));
+    }
+
+    public void assinarRestaurante(Long restauranteId, SseEmitter emitter) {
+        registrar(porRestaurante, restauranteId, emitter);
+    }
+
+    public void assinarCliente(Long clienteId, SseEmitter emitter) {
+        registrar(porCliente, clienteId, emitter);
+    }
+
+    public int totalAssinantes() {
+        return porRestaurante.values().stream().mapToInt(Set::size).sum()
+                + porCliente.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publicar(PedidoStatusEvent evento) {
+        entregar(porRestaurante.get(evento.restauranteId()), evento);
+        entregar(porCliente.get(evento.clienteId()), evento);
+    }
+
+    private void registrar(Map<Long, Set<Assinante>> escopo, Long chave, SseEmitter emitter) {
+        Assinante assinante = new Assinante(emitter, new ArrayBlockingQueue<>(capacidadeBuffer));
+        escopo.computeIfAbsent(chave, k -> ConcurrentHashMap.newKeySet()).add(assinante);
+        Runnable remover = () -> escopo.computeIfPresent(chave, (k, set) -> {
+            set.remove(assinante);
+            return set.isEmpty() ? null : set;
+        });
+        emitter.onCompletion(remover);
+        emitter.onTimeout(remover);
+        emitter.onError(e -> remover.run());
+    }
+
+    private void entregar(Set<Assinante> assinantes, PedidoStatusEvent evento) {
+        if (assinantes == null) {
+            return;
+        }
+        for (Assinante assinante : assinantes) {
+            if (!assinante.buffer.offer(evento)) {
+                assinante.buffer.clear();
+                assinante.ressincronizar = true;
+            }
+            agendar(assinante);
+        }
+    }
+
+    private void enviarHeartbeat() {
+        porRestaurante.values().forEach(s -> s.forEach(this::marcarHeartbeat));
+        porCliente.values().forEach(s -> s.forEach(this::marcarHeartbeat));
+    }
+
+    private void marcarHeartbeat(Assinante assinante) {
+        assinante.heartbeat = true;
+        agendar(assinante);
+    }
+
+    private void agendar(Assinante assinante) {
+        if (assinante.agendado.compareAndSet(false, true)) {
+            envio.execute(() -> drenar(assinante));
+        }
+    }
+
+    private void drenar(Assinante assinante) {
+        do {
+            try {
+                if (assinante.ressincronizar) {
+                    assinante.ressincronizar = false;
+                    assinante.emitter.send(SseEmitter.event().name(EVENTO_RESYNC).data(""));
+                }
+                PedidoStatusEvent evento;
+                while ((evento = assinante.buffer.poll()) != null) {
+                    assinante.emitter.send(SseEmitter.event()
+                            .name(EVENTO_STATUS)
+                            .id(String.valueOf(evento.pedidoId()))
+                            .data(evento));
+                }
+                if (assinante.heartbeat) {
+                    assinante.heartbeat = false;
+                    assinante.emitter.send(SseEmitter.event().comment("ping"));
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Conexão SSE encerrada: {}", e.getMessage());
+                assinante.buffer.clear();
+                assinante.emitter.completeWithError(e);
+                return;
+            } finally {
+                assinante.agendado.set(false);
+            }
+        } while (assinante.temPendencias() && assinante.agendado.compareAndSet(false, true));
+    }
+
+    private static final class Assinante {
+        private final SseEmitter emitter;
+        private final BlockingQueue<PedidoStatusEvent> buffer;
+        private final AtomicBoolean agendado = new AtomicBoolean();
+        private volatile boolean ressincronizar;
+        private volatile boolean heartbeat;
+
+        private Assinante(SseEmitter emitter, BlockingQueue<PedidoStatusEvent> buffer) {
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+
+        private boolean temPendencias() {
+            return ressincronizar || heartbeat || !buffer.isEmpty();
+        }
+    }
+}
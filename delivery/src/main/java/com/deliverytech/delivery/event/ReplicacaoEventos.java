@@ -0,0 +1,94 @@
+package com.deliverytech.delivery.event;
+
+import com.deliverytech.delivery.cache.BarramentoInvalidacao;
+import com.deliverytech.delivery.model.Produto;
+import com.deliverytech.delivery.model.Restaurante;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+// Vários nós: cada um mantém em memória estado derivado do catálogo (snapshots do cardápio,
+// índice de busca, vitrine) e os tokens revogados, atualizados por eventos locais. Depois
+// do commit, esses eventos seguem pelo barramento e são republicados nos outros nós.
+// Antes de republicar, o nó descarta as mesmas entidades do próprio cache de segundo nível
+// do Hibernate, para que os listeners leiam do banco. O evento republicado não volta ao
+// barramento, e os caches do Spring não são invalidados de novo: o nó de origem já avisou
+// todos os nós pelo CacheDuasCamadas.
+@Component
+@ConditionalOnProperty(name = "delivery.cache.modo", havingValue = "duas-camadas")
+public class ReplicacaoEventos {
+
+    private static final ThreadLocal<Boolean> REPUBLICANDO = ThreadLocal.withInitial(() -> false);
+
+    private final BarramentoInvalidacao barramento;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
+    private final String origem = UUID.randomUUID().toString();
+
+    public ReplicacaoEventos(BarramentoInvalidacao barramento, ApplicationEventPublisher eventPublisher,
+            EntityManagerFactory entityManagerFactory) {
+        this.barramento = barramento;
+        this.eventPublisher = eventPublisher;
+        this.entityManagerFactory = entityManagerFactory;
+        barramento.assinar(EventoReplicado.class, this::receber);
+    }
+
+    // Verdadeiro enquanto um evento vindo de outro nó é republicado nesta thread
+    public static boolean republicando() {
+        return REPUBLICANDO.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void catalogoAlterado(CatalogoAlteradoEvent evento) {
+        enviar(evento);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void restauranteAlterado(RestauranteAlteradoEvent evento) {
+        enviar(evento);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void tokensRevogados(TokensRevogadosEvent evento) {
+        enviar(evento);
+    }
+
+    private void enviar(Serializable evento) {
+        if (!republicando()) {
+            barramento.publicar(new EventoReplicado(origem, evento));
+        }
+    }
+
+    // Fora de transação, os listeners de fallbackExecution rodam aqui mesmo, nesta thread
+    private void receber(EventoReplicado mensagem) {
+        if (origem.equals(mensagem.origem())) {
+            return;
+        }
+        evictarSegundoNivel(mensagem.evento());
+        REPUBLICANDO.set(true);
+        try {
+            eventPublisher.publishEvent(mensagem.evento());
+        } finally {
+            REPUBLICANDO.remove();
+        }
+    }
+
+    private void evictarSegundoNivel(Serializable evento) {
+        org.hibernate.Cache cache = entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class);
+        if (evento instanceof CatalogoAlteradoEvent catalogo) {
+            catalogo.produtoIds().forEach(id -> cache.evictEntityData(Produto.class, id));
+            if (catalogo.restauranteId() != null) {
+                cache.evictCollectionData(Restaurante.class.getName() + ".produtos", catalogo.restauranteId());
+            }
+            cache.evictDefaultQueryRegion();
+        } else if (evento instanceof RestauranteAlteradoEvent restaurante) {
+            cache.evictEntityData(Restaurante.class, restaurante.restauranteId());
+            cache.evictDefaultQueryRegion();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.deliverytech.delivery.event;
+
+import java.io.Serializable;
+
+// Publicado pelo RestauranteService quando um restaurante é criado ou alterado
+// (no modo duas-camadas, também repassado aos outros nós pelo ReplicacaoEventos)
+public record RestauranteAlteradoEvent(
+    Long restauranteId
+) implements Serializable {}
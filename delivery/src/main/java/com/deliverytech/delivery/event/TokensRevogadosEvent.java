@@ -0,0 +1,10 @@
+package com.deliverytech.delivery.event;
+
+import java.io.Serializable;
+
+// Publicado pelo RevogacaoTokens quando um usuário é desativado: tokens com iat anterior a
+// naoAntesDe (segundos) deixam de valer. No modo duas-camadas, repassado aos outros nós
+public record TokensRevogadosEvent(
+    Long usuarioId,
+    long naoAntesDe
+) implements Serializable {}
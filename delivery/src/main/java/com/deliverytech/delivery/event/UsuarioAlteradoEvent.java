@@ -0,0 +1,7 @@
+package com.deliverytech.delivery.event;
+
+// Publicado pelo UsuarioService quando um usuário muda (status, senha)
+public record UsuarioAlteradoEvent(
+    Long usuarioId,
+    String email
+) {}
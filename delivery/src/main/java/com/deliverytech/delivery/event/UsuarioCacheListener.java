@@ -0,0 +1,29 @@
+package com.deliverytech.delivery.event;
+
+import com.deliverytech.delivery.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Mesmo esquema do CatalogoCacheListener: remove as duas chaves do usuário depois do commit
+@Component
+@RequiredArgsConstructor
+public class UsuarioCacheListener {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void usuarioAlterado(UsuarioAlteradoEvent evento) {
+        evict(CacheConfig.USUARIOS, evento.email());
+        evict(CacheConfig.USUARIOS_POR_ID, evento.usuarioId());
+    }
+
+    private void evict(String nome, Object chave) {
+        Cache cache = cacheManager.getCache(nome);
+        if (cache != null && chave != null) {
+            cache.evict(chave);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.deliverytech.delivery.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Versão do catálogo de um restaurante, incrementada a cada escrita em seus produtos
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogoVersao {
+
+    @Id
+    private Long restauranteId;
+
+    private long versao;
+}
@@ -0,0 +1,47 @@
+package com.deliverytech.delivery.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Valor monetário em centavos. As contas do pedido são feitas em long, sem criar
+// BigDecimal a cada item; a conversão para BigDecimal (escala 2) fica nas bordas.
+// Valores com mais de duas casas são arredondados com HALF_EVEN.
+public record Dinheiro(long centavos) implements Comparable<Dinheiro> {
+
+    public static final Dinheiro ZERO = new Dinheiro(0);
+    public static final int ESCALA = 2;
+    public static final RoundingMode ARREDONDAMENTO = RoundingMode.HALF_EVEN;
+
+    public static Dinheiro deCentavos(long centavos) {
+        return centavos == 0 ? ZERO : new Dinheiro(centavos);
+    }
+
+    public static Dinheiro de(BigDecimal valor) {
+        if (valor == null) {
+            return ZERO;
+        }
+        return deCentavos(valor.movePointRight(ESCALA).setScale(0, ARREDONDAMENTO).longValueExact());
+    }
+
+    public Dinheiro mais(Dinheiro outro) {
+        return deCentavos(Math.addExact(centavos, outro.centavos));
+    }
+
+    public Dinheiro vezes(int quantidade) {
+        return deCentavos(Math.multiplyExact(centavos, quantidade));
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(centavos, ESCALA);
+    }
+
+    @Override
+    public int compareTo(Dinheiro outro) {
+        return Long.compare(centavos, outro.centavos);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
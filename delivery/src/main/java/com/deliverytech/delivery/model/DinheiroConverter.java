@@ -0,0 +1,21 @@
+package com.deliverytech.delivery.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+// Grava Dinheiro nas colunas DECIMAL existentes
+@Converter
+public class DinheiroConverter implements AttributeConverter<Dinheiro, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Dinheiro valor) {
+        return valor == null ? null : valor.toBigDecimal();
+    }
+
+    @Override
+    public Dinheiro convertToEntityAttribute(BigDecimal valor) {
+        return valor == null ? null : Dinheiro.de(valor);
+    }
+}
@@ -2,11 +2,14 @@ package com.deliverytech.delivery.model;
 
 import jakarta.persistence.*;
 import lombok.*;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_pedido_cliente_data", columnList = "cliente_id, data_pedido, id"),
+        @Index(name = "idx_pedido_restaurante_data", columnList = "restaurante_id, data_pedido, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -14,7 +17,8 @@ import java.util.List;
 public class Pedido {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pedido_seq")
+    @SequenceGenerator(name = "pedido_seq", sequenceName = "pedido_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -25,7 +29,9 @@ public class Pedido {
     @JoinColumn(name = "restaurante_id")
     private Restaurante restaurante;
 
-    private BigDecimal total;
+    @Convert(converter = DinheiroConverter.class)
+    @Column(precision = 38, scale = Dinheiro.ESCALA)
+    private Dinheiro total;
 
     @Enumerated(EnumType.STRING)
     private StatusPedido status;
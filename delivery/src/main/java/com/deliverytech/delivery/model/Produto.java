@@ -2,9 +2,13 @@ package com.deliverytech.delivery.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "produto")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -12,7 +16,8 @@ import java.math.BigDecimal;
 public class Produto {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "produto_seq")
+    @SequenceGenerator(name = "produto_seq", sequenceName = "produto_seq", allocationSize = 50)
     private Long id;
 
     private String nome;
@@ -23,10 +28,36 @@ public class Produto {
 
     private BigDecimal preco;
 
+    // Preço já em centavos, gravado junto com o preço: o total do pedido soma long sem
+    // converter BigDecimal a cada item
+    @Setter(AccessLevel.NONE)
+    private Long precoCentavos;
+
     @Builder.Default
     private Boolean disponivel = true;
 
+    // Versão do catálogo do restaurante na última alteração deste produto
+    @Builder.Default
+    private Long versaoCatalogo = 0L;
+
     @ManyToOne
     @JoinColumn(name = "restaurante_id")
     private Restaurante restaurante;
+
+    public void setPreco(BigDecimal preco) {
+        this.preco = preco;
+        sincronizarPrecoCentavos();
+    }
+
+    // Produtos montados pelo builder só ganham os centavos ao serem gravados
+    @PrePersist
+    @PreUpdate
+    void sincronizarPrecoCentavos() {
+        this.precoCentavos = preco == null ? null : Dinheiro.de(preco).centavos();
+    }
+
+    // Linhas gravadas antes da coluna existir (ddl-auto=update) convertem na hora
+    public long precoEmCentavos() {
+        return precoCentavos != null ? precoCentavos : Dinheiro.de(preco).centavos();
+    }
 }
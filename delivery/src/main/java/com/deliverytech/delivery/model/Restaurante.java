@@ -2,11 +2,15 @@ package com.deliverytech.delivery.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 //import java.time.LocalTime;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "restaurante")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -31,5 +35,6 @@ public class Restaurante {
     private Boolean ativo = true;
 
     @OneToMany(mappedBy = "restaurante", cascade = CascadeType.ALL)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "restaurante-produtos")
     private List<Produto> produtos;
 }
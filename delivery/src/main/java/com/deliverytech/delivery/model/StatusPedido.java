@@ -1,10 +1,51 @@
 package com.deliverytech.delivery.model;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum StatusPedido {
     CRIADO,
     CONFIRMADO,
     EM_PREPARACAO,
     ENVIADO,
     ENTREGUE,
-    CANCELADO
+    CANCELADO;
+
+    private static final Map<StatusPedido, Set<StatusPedido>> ANTERIORES = new EnumMap<>(StatusPedido.class);
+
+    static {
+        for (StatusPedido destino : values()) {
+            EnumSet<StatusPedido> origens = EnumSet.noneOf(StatusPedido.class);
+            for (StatusPedido origem : values()) {
+                if (origem.proximos().contains(destino)) {
+                    origens.add(origem);
+                }
+            }
+            ANTERIORES.put(destino, Collections.unmodifiableSet(origens));
+        }
+    }
+
+    // Transições permitidas a partir deste status. O cancelamento só é aceito
+    // antes de o pedido entrar em preparação.
+    public Set<StatusPedido> proximos() {
+        return switch (this) {
+            case CRIADO -> EnumSet.of(CONFIRMADO, CANCELADO);
+            case CONFIRMADO -> EnumSet.of(EM_PREPARACAO, CANCELADO);
+            case EM_PREPARACAO -> EnumSet.of(ENVIADO);
+            case ENVIADO -> EnumSet.of(ENTREGUE);
+            case ENTREGUE, CANCELADO -> EnumSet.noneOf(StatusPedido.class);
+        };
+    }
+
+    // Status a partir dos quais é possível chegar a este
+    public Set<StatusPedido> anteriores() {
+        return ANTERIORES.get(this);
+    }
+
+    public boolean podeTransicionarPara(StatusPedido destino) {
+        return proximos().contains(destino);
+    }
 }
@@ -0,0 +1,19 @@
+package com.deliverytech.delivery.repository;
+
+import com.deliverytech.delivery.model.CatalogoVersao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface CatalogoVersaoRepository extends JpaRepository<CatalogoVersao, Long> {
+    // O update trava a linha até o commit, então as versões de um restaurante são gravadas em ordem
+    @Modifying(flushAutomatically = true)
+    @Query("update CatalogoVersao c set c.versao = c.versao + 1 where c.restauranteId = :restauranteId")
+    int incrementar(@Param("restauranteId") Long restauranteId);
+
+    @Query("select c.versao from CatalogoVersao c where c.restauranteId = :restauranteId")
+    Optional<Long> versaoAtual(@Param("restauranteId") Long restauranteId);
+}
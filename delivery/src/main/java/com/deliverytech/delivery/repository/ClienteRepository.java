@@ -1,7 +1,11 @@
 package com.deliverytech.delivery.repository;
 
+import com.deliverytech.delivery.dto.response.ClienteResponse;
 import com.deliverytech.delivery.model.Cliente;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Optional;
 import java.util.List;
@@ -10,4 +14,9 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
     Optional<Cliente> findByEmail(String email);
     boolean existsByEmail(String email);
     List<Cliente> findByAtivoTrue();
+
+    // Só as colunas da resposta, sem carregar pedidos; Slice dispensa o COUNT
+    @Query("select new com.deliverytech.delivery.dto.response.ClienteResponse(c.id, c.nome, c.email, c.ativo) "
+            + "from Cliente c where c.ativo = true")
+    Slice<ClienteResponse> listarResumoAtivos(Pageable pageable);
 }
@@ -1,15 +1,106 @@
 package com.deliverytech.delivery.repository;
 
+import com.deliverytech.delivery.dto.response.PedidoResumoResponse;
 import com.deliverytech.delivery.model.Pedido;
 import com.deliverytech.delivery.model.StatusPedido;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface PedidoRepository extends JpaRepository<Pedido, Long> {
+
+    interface PedidoStatusView {
+        Long getId();
+        StatusPedido getStatus();
+        Long getClienteId();
+        Long getRestauranteId();
+    }
+
     List<Pedido> findByClienteId(Long clienteId);
     List<Pedido> findByRestauranteId(Long restauranteId);
     List<Pedido> findByStatus(StatusPedido status);
     List<Pedido> findByDataPedidoBetween(LocalDateTime inicio, LocalDateTime fim);
+
+    // Carrega o pedido com cliente, restaurante, itens e produtos em uma única consulta
+    @EntityGraph(attributePaths = {"cliente", "restaurante", "itens", "itens.produto"})
+    Optional<Pedido> findDetalhadoById(Long id);
+
+    // Paginação por chave (dataPedido, id): cada página continua a partir do último
+    // pedido da anterior, sem OFFSET, usando os índices declarados em Pedido.
+
+    @Query("""
+            select new com.deliverytech.delivery.dto.response.PedidoResumoResponse(
+                p.id, p.cliente.id, p.restaurante.id, p.total, p.status, p.dataPedido)
+            from Pedido p
+            where p.cliente.id = :clienteId
+            order by p.dataPedido desc, p.id desc""")
+    List<PedidoResumoResponse> buscarResumoPorCliente(@Param("clienteId") Long clienteId, Limit limit);
+
+    @Query("""
+            select new com.deliverytech.delivery.dto.response.PedidoResumoResponse(
+                p.id, p.cliente.id, p.restaurante.id, p.total, p.status, p.dataPedido)
+            from Pedido p
+            where p.cliente.id = :clienteId
+              and (p.dataPedido < :data or (p.dataPedido = :data and p.id < :id))
+            order by p.dataPedido desc, p.id desc""")
+    List<PedidoResumoResponse> buscarResumoPorCliente(@Param("clienteId") Long clienteId,
+            @Param("data") LocalDateTime data, @Param("id") Long id, Limit limit);
+
+    @Query("""
+            select new com.deliverytech.delivery.dto.response.PedidoResumoResponse(
+                p.id, p.cliente.id, p.restaurante.id, p.total, p.status, p.dataPedido)
+            from Pedido p
+            where p.restaurante.id = :restauranteId
+            order by p.dataPedido desc, p.id desc""")
+    List<PedidoResumoResponse> buscarResumoPorRestaurante(@Param("restauranteId") Long restauranteId, Limit limit);
+
+    @Query("""
+            select new com.deliverytech.delivery.dto.response.PedidoResumoResponse(
+                p.id, p.cliente.id, p.restaurante.id, p.total, p.status, p.dataPedido)
+            from Pedido p
+            where p.restaurante.id = :restauranteId
+              and (p.dataPedido < :data or (p.dataPedido = :data and p.id < :id))
+            order by p.dataPedido desc, p.id desc""")
+    List<PedidoResumoResponse> buscarResumoPorRestaurante(@Param("restauranteId") Long restauranteId,
+            @Param("data") LocalDateTime data, @Param("id") Long id, Limit limit);
+
+    @Query("select p.status from Pedido p where p.id = :id")
+    Optional<StatusPedido> buscarStatus(@Param("id") Long id);
+
+    // Transição condicional: só altera se o status atual ainda for uma das origens
+    // permitidas, sem ler a entidade nem bloquear a linha antes do UPDATE.
+    @Modifying(clearAutomatically = true)
+    @Query("update Pedido p set p.status = :destino where p.id = :id and p.status in :origens")
+    int atualizarStatusSe(@Param("id") Long id, @Param("origens") Collection<StatusPedido> origens,
+            @Param("destino") StatusPedido destino);
+
+    @Query("""
+            select p.id as id, p.status as status, p.cliente.id as clienteId, p.restaurante.id as restauranteId
+            from Pedido p
+            where p.id in :ids""")
+    List<PedidoStatusView> buscarStatusPorIds(@Param("ids") Collection<Long> ids);
+
+    // select ... for update, em ordem de id para lotes concorrentes travarem na mesma ordem
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select p.id as id, p.status as status, p.cliente.id as clienteId, p.restaurante.id as restauranteId
+            from Pedido p
+            where p.id in :ids
+            order by p.id""")
+    List<PedidoStatusView> travarStatusPorIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Pedido p set p.status = :destino where p.id in :ids and p.status in :origens")
+    int atualizarStatusEmLoteSe(@Param("ids") Collection<Long> ids, @Param("origens") Collection<StatusPedido> origens,
+            @Param("destino") StatusPedido destino);
 }
@@ -1,12 +1,44 @@
 package com.deliverytech.delivery.repository;
 
 import com.deliverytech.delivery.model.Produto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ProdutoRepository extends JpaRepository<Produto, Long> {
+
+    interface ProdutoRestaurante {
+        Long getId();
+        Long getRestauranteId();
+    }
+
     List<Produto> findByRestauranteId(Long restauranteId);
+    List<Produto> findByRestauranteIdAndVersaoCatalogoGreaterThan(Long restauranteId, Long versao);
     List<Produto> findByDisponivelTrue();
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Produto> findByCategoria(String categoria);
+
+    // Só os produtos cuja disponibilidade de fato muda, sem carregar as entidades
+    @Query("select p.id as id, p.restaurante.id as restauranteId from Produto p "
+            + "where p.id in :ids and (p.disponivel is null or p.disponivel <> :disponivel)")
+    List<ProdutoRestaurante> findAlteraveisPorId(@Param("ids") Collection<Long> ids, @Param("disponivel") boolean disponivel);
+
+    @Query("select p.id as id, p.restaurante.id as restauranteId from Produto p "
+            + "where p.restaurante.id = :restauranteId and p.categoria = :categoria "
+            + "and (p.disponivel is null or p.disponivel <> :disponivel)")
+    List<ProdutoRestaurante> findAlteraveisPorCategoria(@Param("restauranteId") Long restauranteId,
+            @Param("categoria") String categoria, @Param("disponivel") boolean disponivel);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Produto p set p.disponivel = :disponivel, p.versaoCatalogo = :versao where p.id in :ids")
+    int alterarDisponibilidade(@Param("ids") Collection<Long> ids, @Param("disponivel") boolean disponivel,
+            @Param("versao") long versao);
 }
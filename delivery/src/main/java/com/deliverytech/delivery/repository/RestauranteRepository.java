@@ -1,11 +1,36 @@
 package com.deliverytech.delivery.repository;
 
+import com.deliverytech.delivery.dto.response.RestauranteResponse;
 import com.deliverytech.delivery.model.Restaurante;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface RestauranteRepository extends JpaRepository<Restaurante, Long> {
+    // Resultado no cache de consultas do Hibernate; as entidades vêm do cache de segundo nível
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Restaurante> findByCategoria(String categoria);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Restaurante> findByAtivoTrue();
+
+    // Só as colunas da resposta; Slice busca uma linha a mais em vez de fazer COUNT
+    @Query("select new com.deliverytech.delivery.dto.response.RestauranteResponse("
+            + "r.id, r.nome, r.categoria, r.telefone, r.taxaEntrega, r.tempoEntregaMinutos, r.ativo) from Restaurante r")
+    Slice<RestauranteResponse> listarResumo(Pageable pageable);
+
+    // select ... for update: serializa quem precisa criar algo do restaurante pela primeira vez
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r.id from Restaurante r where r.id = :id")
+    Optional<Long> travar(@Param("id") Long id);
 }
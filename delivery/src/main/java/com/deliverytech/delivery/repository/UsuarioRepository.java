@@ -2,9 +2,14 @@ package com.deliverytech.delivery.repository;
 
 import com.deliverytech.delivery.model.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     Optional<Usuario> findByEmail(String email);
+
+    @Query("select u.id from Usuario u where u.ativo = false")
+    List<Long> findIdByAtivoFalse();
 }
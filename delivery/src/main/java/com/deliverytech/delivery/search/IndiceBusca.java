@@ -0,0 +1,360 @@
+package com.deliverytech.delivery.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Índice invertido em memória sobre produtos e restaurantes. Cada documento recebe um
+// número interno e cada termo guarda a lista ordenada desses números com o peso do
+// termo no documento, em arrays primitivos. O dicionário de termos é ordenado, então um
+// termo da consulta também casa com os termos que começam com ele ("piz" encontra
+// "pizza"). A relevância soma, por termo da consulta, o peso do campo (nome > categoria
+// > descrição) vezes o idf do termo; casamento por prefixo vale menos que o exato.
+// Todos os termos da consulta precisam casar: a consulta começa pelo termo mais raro e
+// cruza os demais por merge ou busca binária, conforme o tamanho das listas. Números de
+// documentos removidos são reaproveitados, então o array acompanha os documentos ativos.
+public class IndiceBusca {
+
+    public enum Tipo { PRODUTO, RESTAURANTE }
+
+    public static final float PESO_NOME = 3f;
+    public static final float PESO_CATEGORIA = 2f;
+    public static final float PESO_DESCRICAO = 1f;
+
+    private static final float FATOR_PREFIXO = 0.6f;
+    private static final int TAMANHO_MINIMO_PREFIXO = 2;
+    private static final int MAXIMO_EXPANSOES = 64;
+
+    public static final class Documento {
+        private final Tipo tipo;
+        private final Long id;
+        private final String nome;
+        private final String categoria;
+        private final Long restauranteId;
+        private final Map<String, Float> termos;
+
+        private Documento(Tipo tipo, Long id, String nome, String categoria, Long restauranteId, Map<String, Float> termos) {
+            this.tipo = tipo;
+            this.id = id;
+            this.nome = nome;
+            this.categoria = categoria;
+            this.restauranteId = restauranteId;
+            this.termos = termos;
+        }
+
+        public Tipo getTipo() { return tipo; }
+        public Long getId() { return id; }
+        public String getNome() { return nome; }
+        public String getCategoria() { return categoria; }
+        public Long getRestauranteId() { return restauranteId; }
+    }
+
+    public record Resultado(Documento documento, double relevancia) {}
+
+    // Lista de documentos de um termo, ordenada pelo número interno
+    private static final class Postagem {
+        private int[] docs = new int[4];
+        private float[] pesos = new float[4];
+        private int tamanho;
+
+        void adicionar(int doc, float peso) {
+            int pos = tamanho > 0 && docs[tamanho - 1] < doc ? tamanho : Arrays.binarySearch(docs, 0, tamanho, doc);
+            if (pos >= 0 && pos < tamanho) {
+                pesos[pos] = peso;
+                return;
+            }
+            pos = pos < 0 ? -pos - 1 : pos;
+            if (tamanho == docs.length) {
+                docs = Arrays.copyOf(docs, tamanho * 2);
+                pesos = Arrays.copyOf(pesos, tamanho * 2);
+            }
+            System.arraycopy(docs, pos, docs, pos + 1, tamanho - pos);
+            System.arraycopy(pesos, pos, pesos, pos + 1, tamanho - pos);
+            docs[pos] = doc;
+            pesos[pos] = peso;
+            tamanho++;
+        }
+
+        void remover(int doc) {
+            int pos = Arrays.binarySearch(docs, 0, tamanho, doc);
+            if (pos >= 0) {
+                System.arraycopy(docs, pos + 1, docs, pos, tamanho - pos - 1);
+                System.arraycopy(pesos, pos + 1, pesos, pos, tamanho - pos - 1);
+                tamanho--;
+            }
+        }
+    }
+
+    private record Fonte(Postagem postagem, float fator) {}
+
+    // Documentos que casaram até agora, ordenados pelo número interno
+    private record Candidatos(int[] docs, float[] pontos, int tamanho) {}
+
+    private final NavigableMap<String, Postagem> postagens = new TreeMap<>();
+    private final Map<Long, Integer> numerosProduto = new HashMap<>();
+    private final Map<Long, Integer> numerosRestaurante = new HashMap<>();
+    private Documento[] documentos = new Documento[1024];
+    private int proximoNumero;
+    private int[] livres = new int[16];
+    private int totalLivres;
+    private int ativos;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void indexarProduto(Long id, String nome, String categoria, String descricao, Long restauranteId) {
+        Map<String, Float> termos = new HashMap<>();
+        adicionar(termos, nome, PESO_NOME);
+        adicionar(termos, categoria, PESO_CATEGORIA);
+        adicionar(termos, descricao, PESO_DESCRICAO);
+        substituir(numerosProduto, id, new Documento(Tipo.PRODUTO, id, nome, categoria, restauranteId, termos));
+    }
+
+    public void indexarRestaurante(Long id, String nome, String categoria) {
+        Map<String, Float> termos = new HashMap<>();
+        adicionar(termos, nome, PESO_NOME);
+        adicionar(termos, categoria, PESO_CATEGORIA);
+        substituir(numerosRestaurante, id, new Documento(Tipo.RESTAURANTE, id, nome, categoria, id, termos));
+    }
+
+    public void removerProduto(Long id) {
+        substituir(numerosProduto, id, null);
+    }
+
+    public void removerRestaurante(Long id) {
+        substituir(numerosRestaurante, id, null);
+    }
+
+    // Números internos já distribuídos, ativos ou livres
+    int numerosDistribuidos() {
+        lock.readLock().lock();
+        try {
+            return proximoNumero;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return ativos;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // tipo nulo busca nos dois
+    public List<Resultado> buscar(String consulta, Tipo tipo, int limite) {
+        List<String> termosConsulta = new ArrayList<>(new LinkedHashSet<>(NormalizadorTexto.termos(consulta)));
+        if (termosConsulta.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<List<Fonte>> porTermo = new ArrayList<>(termosConsulta.size());
+            for (String termo : termosConsulta) {
+                List<Fonte> fontes = fontes(termo);
+                if (fontes.isEmpty()) {
+                    return List.of();
+                }
+                porTermo.add(fontes);
+            }
+            porTermo.sort(Comparator.comparingInt(IndiceBusca::custo));
+
+            Candidatos candidatos = uniao(porTermo.get(0), tipo);
+            for (int i = 1; i < porTermo.size() && candidatos.tamanho() > 0; i++) {
+                candidatos = cruzar(candidatos, porTermo.get(i));
+            }
+            return melhores(candidatos, limite);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Fonte> fontes(String termo) {
+        List<Fonte> fontes = new ArrayList<>();
+        Postagem exata = postagens.get(termo);
+        if (exata != null) {
+            fontes.add(new Fonte(exata, idf(exata)));
+        }
+        if (termo.length() >= TAMANHO_MINIMO_PREFIXO) {
+            int expansoes = 0;
+            for (Postagem p : postagens.subMap(termo, false, termo + Character.MAX_VALUE, false).values()) {
+                if (expansoes++ == MAXIMO_EXPANSOES) {
+                    break;
+                }
+                fontes.add(new Fonte(p, FATOR_PREFIXO * idf(p)));
+            }
+        }
+        return fontes;
+    }
+
+    private float idf(Postagem p) {
+        return (float) Math.log(1 + (double) ativos / p.tamanho);
+    }
+
+    private static int custo(List<Fonte> fontes) {
+        int custo = 0;
+        for (Fonte f : fontes) {
+            custo += f.postagem().tamanho;
+        }
+        return custo;
+    }
+
+    // Junta as listas de um termo da consulta; vale o melhor casamento em cada documento
+    private Candidatos uniao(List<Fonte> fontes, Tipo tipo) {
+        int[] docs = new int[0];
+        float[] pontos = new float[0];
+        int tamanho = 0;
+        for (Fonte fonte : fontes) {
+            Postagem p = fonte.postagem();
+            int[] novosDocs = new int[tamanho + p.tamanho];
+            float[] novosPontos = new float[tamanho + p.tamanho];
+            int i = 0, j = 0, n = 0;
+            while (i < tamanho || j < p.tamanho) {
+                if (j == p.tamanho || (i < tamanho && docs[i] < p.docs[j])) {
+                    novosDocs[n] = docs[i];
+                    novosPontos[n++] = pontos[i++];
+                } else {
+                    int doc = p.docs[j];
+                    float valor = p.pesos[j++] * fonte.fator();
+                    if (i < tamanho && docs[i] == doc) {
+                        valor = Math.max(valor, pontos[i++]);
+                    } else if (tipo != null && documentos[doc].tipo != tipo) {
+                        continue;
+                    }
+                    novosDocs[n] = doc;
+                    novosPontos[n++] = valor;
+                }
+            }
+            docs = novosDocs;
+            pontos = novosPontos;
+            tamanho = n;
+        }
+        return new Candidatos(docs, pontos, tamanho);
+    }
+
+    // Mantém só os candidatos que também casam com este termo e soma os pontos
+    private static Candidatos cruzar(Candidatos candidatos, List<Fonte> fontes) {
+        int[] docs = candidatos.docs();
+        int tamanho = candidatos.tamanho();
+        float[] melhor = new float[tamanho];
+        for (Fonte fonte : fontes) {
+            Postagem p = fonte.postagem();
+            if ((long) tamanho * 8 < p.tamanho) {
+                // Poucos candidatos: busca binária na lista longa
+                for (int i = 0; i < tamanho; i++) {
+                    int pos = Arrays.binarySearch(p.docs, 0, p.tamanho, docs[i]);
+                    if (pos >= 0) {
+                        melhor[i] = Math.max(melhor[i], p.pesos[pos] * fonte.fator());
+                    }
+                }
+            } else {
+                int i = 0, j = 0;
+                while (i < tamanho && j < p.tamanho) {
+                    if (docs[i] < p.docs[j]) {
+                        i++;
+                    } else if (docs[i] > p.docs[j]) {
+                        j++;
+                    } else {
+                        melhor[i] = Math.max(melhor[i], p.pesos[j] * fonte.fator());
+                        i++;
+                        j++;
+                    }
+                }
+            }
+        }
+        int n = 0;
+        float[] pontos = candidatos.pontos();
+        int[] novosDocs = new int[tamanho];
+        float[] novosPontos = new float[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            if (melhor[i] > 0) {
+                novosDocs[n] = docs[i];
+                novosPontos[n++] = pontos[i] + melhor[i];
+            }
+        }
+        return new Candidatos(novosDocs, novosPontos, n);
+    }
+
+    private List<Resultado> melhores(Candidatos candidatos, int limite) {
+        Comparator<Resultado> ordem = Comparator.comparingDouble(Resultado::relevancia)
+                .thenComparing(r -> r.documento().getNome(), Comparator.nullsFirst(Comparator.reverseOrder()));
+        PriorityQueue<Resultado> fila = new PriorityQueue<>(limite + 1, ordem);
+        for (int i = 0; i < candidatos.tamanho(); i++) {
+            float pontos = candidatos.pontos()[i];
+            // Descarta sem criar objeto quando não entra no top
+            if (fila.size() == limite && pontos < fila.peek().relevancia()) {
+                continue;
+            }
+            fila.offer(new Resultado(documentos[candidatos.docs()[i]], pontos));
+            if (fila.size() > limite) {
+                fila.poll();
+            }
+        }
+        List<Resultado> resultado = new ArrayList<>(fila);
+        resultado.sort(ordem.reversed());
+        return resultado;
+    }
+
+    private static void adicionar(Map<String, Float> termos, String texto, float peso) {
+        for (String termo : NormalizadorTexto.termos(texto)) {
+            termos.merge(termo, peso, Float::sum);
+        }
+    }
+
+    private void substituir(Map<Long, Integer> numeros, Long id, Documento novo) {
+        lock.writeLock().lock();
+        try {
+            Integer numero = numeros.get(id);
+            if (numero != null) {
+                Documento antigo = documentos[numero];
+                for (String termo : antigo.termos.keySet()) {
+                    Postagem p = postagens.get(termo);
+                    p.remover(numero);
+                    if (p.tamanho == 0) {
+                        postagens.remove(termo);
+                    }
+                }
+                if (novo == null) {
+                    documentos[numero] = null;
+                    numeros.remove(id);
+                    ativos--;
+                    if (totalLivres == livres.length) {
+                        livres = Arrays.copyOf(livres, totalLivres * 2);
+                    }
+                    livres[totalLivres++] = numero;
+                }
+            }
+            if (novo == null) {
+                return;
+            }
+            if (numero == null) {
+                if (totalLivres > 0) {
+                    // Número reaproveitado cai no meio das listas; Postagem.adicionar mantém a ordem
+                    numero = livres[--totalLivres];
+                } else {
+                    // Números novos são sempre os maiores: a inserção nas listas é um append
+                    numero = proximoNumero++;
+                    if (numero == documentos.length) {
+                        documentos = Arrays.copyOf(documentos, documentos.length * 2);
+                    }
+                }
+                numeros.put(id, numero);
+                ativos++;
+            }
+            documentos[numero] = novo;
+            int n = numero;
+            novo.termos.forEach((termo, peso) -> postagens.computeIfAbsent(termo, t -> new Postagem()).adicionar(n, peso));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
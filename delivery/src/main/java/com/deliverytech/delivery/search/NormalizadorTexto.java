@@ -0,0 +1,40 @@
+package com.deliverytech.delivery.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Quebra texto em português em termos sem acento e em minúsculas ("Feijoada à Moda"
+// vira [feijoada, moda]), descartando palavras muito comuns
+public final class NormalizadorTexto {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "o", "as", "os", "de", "da", "do", "das", "dos", "e", "em", "no", "na", "nos", "nas",
+            "com", "sem", "por", "para", "um", "uma", "ao", "aos");
+
+    private NormalizadorTexto() {
+    }
+
+    public static String dobrar(String texto) {
+        String semAcento = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return semAcento.toLowerCase(Locale.ROOT);
+    }
+
+    public static List<String> termos(String texto) {
+        List<String> termos = new ArrayList<>();
+        if (texto == null || texto.isBlank()) {
+            return termos;
+        }
+        for (String termo : SEPARADORES.split(dobrar(texto))) {
+            if (!termo.isEmpty() && !STOPWORDS.contains(termo)) {
+                termos.add(termo);
+            }
+        }
+        return termos;
+    }
+}
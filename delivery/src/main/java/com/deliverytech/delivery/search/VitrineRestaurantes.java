@@ -0,0 +1,171 @@
+package com.deliverytech.delivery.search;
+
+import com.deliverytech.delivery.dto.response.RestauranteResponse;
+import com.deliverytech.delivery.model.Dinheiro;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Vitrine da tela inicial em memória, organizada por colunas: cada restaurante ocupa uma
+// posição, taxa (em centavos) e tempo de entrega ficam em arrays primitivos e categoria
+// e status ativo viram bitsets. Uma consulta cruza os bitsets, confere taxa e tempo só
+// nas posições que sobraram e mantém um heap com os melhores conforme a ordenação.
+public class VitrineRestaurantes {
+
+    public enum Ordenacao { TAXA, TEMPO, NOME }
+
+    // Taxa ou tempo não informados: não passam por filtro de máximo e ficam no fim
+    private static final int DESCONHECIDO = Integer.MAX_VALUE;
+
+    private final Map<Long, Integer> posicoes = new HashMap<>();
+    private final Map<String, BitSet> porCategoria = new HashMap<>();
+    private final BitSet ocupadas = new BitSet();
+    private final BitSet ativas = new BitSet();
+    private int[] taxas = new int[256];
+    private int[] tempos = new int[256];
+    private String[] categorias = new String[256];
+    private RestauranteResponse[] restaurantes = new RestauranteResponse[256];
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void atualizar(RestauranteResponse restaurante) {
+        lock.writeLock().lock();
+        try {
+            Integer posicao = posicoes.get(restaurante.getId());
+            if (posicao != null) {
+                limpar(posicao);
+            } else {
+                posicao = ocupadas.nextClearBit(0);
+                garantirCapacidade(posicao);
+                posicoes.put(restaurante.getId(), posicao);
+            }
+            int p = posicao;
+            ocupadas.set(p);
+            ativas.set(p, !Boolean.FALSE.equals(restaurante.getAtivo()));
+            String categoria = chave(restaurante.getCategoria());
+            categorias[p] = categoria;
+            porCategoria.computeIfAbsent(categoria, c -> new BitSet()).set(p);
+            taxas[p] = restaurante.getTaxaEntrega() != null
+                    ? Math.toIntExact(Dinheiro.de(restaurante.getTaxaEntrega()).centavos()) : DESCONHECIDO;
+            tempos[p] = restaurante.getTempoEntregaMinutos() != null ? restaurante.getTempoEntregaMinutos() : DESCONHECIDO;
+            restaurantes[p] = restaurante;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(Long id) {
+        lock.writeLock().lock();
+        try {
+            Integer posicao = posicoes.remove(id);
+            if (posicao != null) {
+                limpar(posicao);
+                ocupadas.clear(posicao);
+                restaurantes[posicao] = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return posicoes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Filtros nulos não restringem; ativo nulo considera ativos e inativos
+    public List<RestauranteResponse> consultar(String categoria, Boolean ativo, BigDecimal taxaMaxima,
+            Integer tempoMaximo, Ordenacao ordenacao, int limite) {
+        if (limite <= 0) {
+            return List.of();
+        }
+        int taxaLimite = taxaMaxima != null ? (int) Math.min(Dinheiro.de(taxaMaxima).centavos(), DESCONHECIDO - 1) : DESCONHECIDO;
+        int tempoLimite = tempoMaximo != null ? Math.min(tempoMaximo, DESCONHECIDO - 1) : DESCONHECIDO;
+        lock.readLock().lock();
+        try {
+            BitSet candidatas;
+            if (categoria != null) {
+                BitSet daCategoria = porCategoria.get(chave(categoria));
+                if (daCategoria == null) {
+                    return List.of();
+                }
+                candidatas = (BitSet) daCategoria.clone();
+            } else {
+                candidatas = (BitSet) ocupadas.clone();
+            }
+            if (Boolean.TRUE.equals(ativo)) {
+                candidatas.and(ativas);
+            } else if (Boolean.FALSE.equals(ativo)) {
+                candidatas.andNot(ativas);
+            }
+
+            Comparator<Integer> ordem = comparador(ordenacao);
+            PriorityQueue<Integer> melhores = new PriorityQueue<>(limite + 1, ordem.reversed());
+            for (int p = candidatas.nextSetBit(0); p >= 0; p = candidatas.nextSetBit(p + 1)) {
+                if (taxas[p] > taxaLimite || tempos[p] > tempoLimite) {
+                    continue;
+                }
+                if (melhores.size() == limite) {
+                    if (ordem.compare(p, melhores.peek()) >= 0) {
+                        continue;
+                    }
+                    melhores.poll();
+                }
+                melhores.offer(p);
+            }
+            List<Integer> ordenadas = new ArrayList<>(melhores);
+            ordenadas.sort(ordem);
+            List<RestauranteResponse> resultado = new ArrayList<>(ordenadas.size());
+            for (int p : ordenadas) {
+                resultado.add(restaurantes[p]);
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Comparator<Integer> comparador(Ordenacao ordenacao) {
+        Comparator<Integer> porId = Comparator.comparing(p -> restaurantes[p].getId());
+        return switch (ordenacao == null ? Ordenacao.NOME : ordenacao) {
+            case TAXA -> Comparator.<Integer>comparingInt(p -> taxas[p]).thenComparing(porId);
+            case TEMPO -> Comparator.<Integer>comparingInt(p -> tempos[p]).thenComparing(porId);
+            case NOME -> Comparator.<Integer, String>comparing(p -> restaurantes[p].getNome(),
+                    Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)).thenComparing(porId);
+        };
+    }
+
+    private void limpar(int posicao) {
+        BitSet daCategoria = porCategoria.get(categorias[posicao]);
+        daCategoria.clear(posicao);
+        if (daCategoria.isEmpty()) {
+            porCategoria.remove(categorias[posicao]);
+        }
+        ativas.clear(posicao);
+    }
+
+    private void garantirCapacidade(int posicao) {
+        if (posicao >= taxas.length) {
+            int tamanho = Math.max(posicao + 1, taxas.length * 2);
+            taxas = Arrays.copyOf(taxas, tamanho);
+            tempos = Arrays.copyOf(tempos, tamanho);
+            categorias = Arrays.copyOf(categorias, tamanho);
+            restaurantes = Arrays.copyOf(restaurantes, tamanho);
+        }
+    }
+
+    private static String chave(String categoria) {
+        return categoria == null ? "" : NormalizadorTexto.dobrar(categoria.trim());
+    }
+}
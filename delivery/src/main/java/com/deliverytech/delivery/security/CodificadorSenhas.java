@@ -0,0 +1,90 @@
+package com.deliverytech.delivery.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// BCrypt fora das threads do Tomcat: hash e verificação rodam em um pool fixo do tamanho
+// dos núcleos, com fila limitada. Fila cheia recusa na hora (SenhasSobrecarregadasException,
+// 503 com Retry-After) em vez de deixar uma rajada de logins tomar a CPU dos outros endpoints.
+public class CodificadorSenhas implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegado;
+    private final ThreadPoolExecutor executor;
+    private final Timer tempoCodificar;
+    private final Timer tempoVerificar;
+    private final Counter recusadas;
+
+    public CodificadorSenhas(PasswordEncoder delegado, int threads, int capacidadeFila, MeterRegistry registry) {
+        this.delegado = delegado;
+        AtomicInteger sequencia = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila),
+                tarefa -> {
+                    Thread thread = new Thread(tarefa, "senhas-" + sequencia.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.tempoCodificar = Timer.builder("delivery.senhas.hash").tag("operacao", "codificar").register(registry);
+        this.tempoVerificar = Timer.builder("delivery.senhas.hash").tag("operacao", "verificar").register(registry);
+        this.recusadas = Counter.builder("delivery.senhas.recusadas").register(registry);
+        Gauge.builder("delivery.senhas.fila", executor, e -> e.getQueue().size()).register(registry);
+        Gauge.builder("delivery.senhas.ativas", executor, ThreadPoolExecutor::getActiveCount).register(registry);
+    }
+
+    @Override
+    public String encode(CharSequence senha) {
+        return executar(() -> tempoCodificar.recordCallable(() -> delegado.encode(senha)));
+    }
+
+    @Override
+    public boolean matches(CharSequence senha, String hash) {
+        return executar(() -> tempoVerificar.recordCallable(() -> delegado.matches(senha, hash)));
+    }
+
+    // Rehash no login quando o custo configurado sobe. É opcional: com fila já ocupada
+    // fica para o próximo login, para não recusar um login que já foi validado.
+    @Override
+    public boolean upgradeEncoding(String hash) {
+        return delegado.upgradeEncoding(hash) && executor.getQueue().isEmpty();
+    }
+
+    private <T> T executar(Callable<T> tarefa) {
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(tarefa);
+        } catch (RejectedExecutionException e) {
+            recusadas.increment();
+            throw new SenhasSobrecarregadasException();
+        }
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando o hash da senha", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -1,37 +1,38 @@
 package com.deliverytech.delivery.security;
 
+import com.deliverytech.delivery.model.Role;
 import com.deliverytech.delivery.model.Usuario;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
 
 @Component
+@RequiredArgsConstructor
 public class JwtUtil {
 
-    private final String SECRET_KEY = "super-secret-key-para-assinatura-jwt-muito-segura-e-grande-256bits";
+    public static final Duration VALIDADE = Duration.ofHours(24);
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
+    private final VerificadorJwt verificadorJwt;
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    // Verifica assinatura e expiração uma vez; lança JwtException se o token não vale
+    public Claims validarToken(String token) {
+        return extractAllClaims(token);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSignKey()).build().parseClaimsJws(token).getBody();
+    public UsuarioAutenticado usuario(Claims claims) {
+        String role = claims.get("role", String.class);
+        return new UsuarioAutenticado(claims.get("userId", Long.class), claims.getSubject(),
+                role != null ? Role.valueOf(role) : null, claims.get("restauranteId", Long.class));
     }
 
-    private Key getSignKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    private Claims extractAllClaims(String token) {
+        return verificadorJwt.verificar(token);
     }
 
     public String generateToken(UserDetails userDetails, Usuario usuario) {
@@ -43,22 +44,13 @@ public class JwtUtil {
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
-        long expiration = 1000 * 60 * 60 * 24;
+        long expiration = VALIDADE.toMillis();
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignKey(), SignatureAlgorithm.HS256)
+                .signWith(verificadorJwt.chave(), SignatureAlgorithm.HS256)
                 .compact();
     }
-
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractClaim(token, Claims::getExpiration).before(new Date());
-    }
 }
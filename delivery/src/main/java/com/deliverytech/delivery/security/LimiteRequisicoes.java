@@ -0,0 +1,159 @@
+package com.deliverytech.delivery.security;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Token bucket por chave (usuário ou IP) e grupo de rotas. Cada balde é um único long:
+// instante da última recarga (ms, 40 bits) | milésimos de token (24 bits), atualizado por CAS.
+// Balde cheio equivale a um balde novo, então os ociosos são removidos periodicamente e a
+// memória acompanha só os clientes ativos. Acima de maximoChaves por grupo, chaves novas
+// dividem um balde de excedente: o limite continua valendo, com menos justiça entre elas.
+@Component
+public class LimiteRequisicoes {
+
+    public enum Grupo { AUTH, PEDIDOS, GERAL }
+
+    static final int BITS_TOKENS = 24;
+    static final long MASCARA_TOKENS = (1L << BITS_TOKENS) - 1;
+    static final long MILI = 1000;
+
+    private final boolean habilitado;
+    private final int maximoChaves;
+    private final long[] capacidade = new long[Grupo.values().length];
+    private final long[] porSegundo = new long[Grupo.values().length];
+    private final Map<Grupo, Map<String, Balde>> baldes = new EnumMap<>(Grupo.class);
+    private final Map<Grupo, Balde> excedente = new EnumMap<>(Grupo.class);
+    private final LongSupplier relogio;
+    private final ScheduledExecutorService limpeza;
+
+    @Autowired
+    public LimiteRequisicoes(@Value("${delivery.limite.habilitado:true}") boolean habilitado,
+            @Value("${delivery.limite.auth.capacidade:20}") int capacidadeAuth,
+            @Value("${delivery.limite.auth.por-segundo:2}") int porSegundoAuth,
+            @Value("${delivery.limite.pedidos.capacidade:20}") int capacidadePedidos,
+            @Value("${delivery.limite.pedidos.por-segundo:5}") int porSegundoPedidos,
+            @Value("${delivery.limite.geral.capacidade:200}") int capacidadeGeral,
+            @Value("${delivery.limite.geral.por-segundo:100}") int porSegundoGeral,
+            @Value("${delivery.limite.maximo-chaves:200000}") int maximoChaves,
+            @Value("${delivery.limite.limpeza:30s}") Duration intervaloLimpeza) {
+        this(habilitado, new int[] {capacidadeAuth, capacidadePedidos, capacidadeGeral},
+                new int[] {porSegundoAuth, porSegundoPedidos, porSegundoGeral}, maximoChaves, relogioMonotonico());
+        limpeza.scheduleWithFixedDelay(this::limparOciosos,
+                intervaloLimpeza.toMillis(), intervaloLimpeza.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Capacidades e taxas na ordem de Grupo; relógio em ms, injetável para testes e benchmark
+    public LimiteRequisicoes(boolean habilitado, int[] capacidades, int[] taxas, int maximoChaves, LongSupplier relogio) {
+        this.habilitado = habilitado;
+        this.maximoChaves = maximoChaves;
+        this.relogio = relogio;
+        for (Grupo grupo : Grupo.values()) {
+            int i = grupo.ordinal();
+            if (capacidades[i] < 1 || capacidades[i] * MILI > MASCARA_TOKENS || taxas[i] < 1) {
+                throw new IllegalArgumentException("Limite inválido para " + grupo);
+            }
+            capacidade[i] = capacidades[i] * MILI;
+            porSegundo[i] = taxas[i];
+            baldes.put(grupo, new ConcurrentHashMap<>());
+            excedente.put(grupo, new Balde(relogio.getAsLong(), capacidade[i]));
+        }
+        this.limpeza = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofVirtual().name("limite-requisicoes-limpeza").factory());
+    }
+
+    private static LongSupplier relogioMonotonico() {
+        long inicio = System.nanoTime();
+        return () -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        limpeza.shutdownNow();
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    // 0 se a requisição pode seguir; senão, milissegundos até haver um token
+    public long consumir(Grupo grupo, String chave) {
+        int i = grupo.ordinal();
+        long agora = relogio.getAsLong();
+        Map<String, Balde> doGrupo = baldes.get(grupo);
+        Balde balde = doGrupo.get(chave);
+        if (balde == null) {
+            if (doGrupo.size() >= maximoChaves) {
+                balde = excedente.get(grupo);
+            } else {
+                Balde novo = new Balde(agora, capacidade[i]);
+                balde = doGrupo.putIfAbsent(chave, novo);
+                if (balde == null) {
+                    balde = novo;
+                }
+            }
+        }
+        return balde.consumir(agora, capacidade[i], porSegundo[i]);
+    }
+
+    int totalChaves(Grupo grupo) {
+        return baldes.get(grupo).size();
+    }
+
+    void limparOciosos() {
+        long agora = relogio.getAsLong();
+        for (Grupo grupo : Grupo.values()) {
+            int i = grupo.ordinal();
+            baldes.get(grupo).values().removeIf(b -> b.cheio(agora, capacidade[i], porSegundo[i]));
+        }
+    }
+
+    // Estende AtomicLong para não pagar um objeto a mais por chave
+    static final class Balde extends AtomicLong {
+
+        Balde(long agora, long tokens) {
+            super(agora << BITS_TOKENS | tokens);
+        }
+
+        long consumir(long agora, long capacidade, long porSegundo) {
+            while (true) {
+                long estado = get();
+                long tokens = recarregado(estado, agora, capacidade, porSegundo);
+                if (tokens < MILI) {
+                    // milésimos de token por ms == tokens por segundo
+                    return Math.max(1, (MILI - tokens + porSegundo - 1) / porSegundo);
+                }
+                long instante = Math.max(agora, estado >>> BITS_TOKENS);
+                if (compareAndSet(estado, instante << BITS_TOKENS | (tokens - MILI))) {
+                    return 0;
+                }
+            }
+        }
+
+        boolean cheio(long agora, long capacidade, long porSegundo) {
+            return recarregado(get(), agora, capacidade, porSegundo) >= capacidade;
+        }
+
+        private static long recarregado(long estado, long agora, long capacidade, long porSegundo) {
+            long tokens = estado & MASCARA_TOKENS;
+            long decorrido = agora - (estado >>> BITS_TOKENS);
+            if (decorrido <= 0) {
+                return tokens;
+            }
+            // Limita antes de multiplicar: depois de encher o balde o tempo não conta mais
+            decorrido = Math.min(decorrido, capacidade / porSegundo + 1);
+            return Math.min(capacidade, tokens + decorrido * porSegundo);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.deliverytech.delivery.security;
+
+import com.deliverytech.delivery.security.LimiteRequisicoes.Grupo;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Roda depois do JwtAuthenticationFilter: requisições autenticadas contam por userId,
+// as anônimas (login, cadastro) por IP. Atrás do balanceador, getRemoteAddr já traz o IP
+// do X-Forwarded-For (server.forward-headers-strategy). Não é @Component para o Spring
+// Boot não registrá-lo também fora da cadeia de segurança, onde ainda não há usuário
+// autenticado.
+public class LimiteRequisicoesFilter extends OncePerRequestFilter {
+
+    private final LimiteRequisicoes limiteRequisicoes;
+
+    public LimiteRequisicoesFilter(LimiteRequisicoes limiteRequisicoes) {
+        this.limiteRequisicoes = limiteRequisicoes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !limiteRequisicoes.isHabilitado() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Grupo grupo = grupo(request);
+        long espera = limiteRequisicoes.consumir(grupo, chave(request, grupo));
+        if (espera > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString((espera + 999) / 1000));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    static Grupo grupo(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri.startsWith("/api/auth/")) {
+            return Grupo.AUTH;
+        }
+        if ("POST".equals(request.getMethod()) && uri.startsWith("/api/pedidos")) {
+            return Grupo.PEDIDOS;
+        }
+        return Grupo.GERAL;
+    }
+
+    private static String chave(HttpServletRequest request, Grupo grupo) {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        if (grupo != Grupo.AUTH && autenticacao != null
+                && autenticacao.getPrincipal() instanceof UsuarioAutenticado usuario) {
+            return "u" + usuario.id();
+        }
+        return request.getRemoteAddr();
+    }
+}
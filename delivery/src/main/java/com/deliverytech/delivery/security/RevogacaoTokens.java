@@ -0,0 +1,57 @@
+package com.deliverytech.delivery.security;
+
+import com.deliverytech.delivery.event.TokensRevogadosEvent;
+import com.deliverytech.delivery.repository.UsuarioRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Usuários desativados: userId -> instante (segundos) antes do qual os tokens emitidos
+// deixam de valer. Uma entrada só é necessária enquanto algum token anterior a ela
+// ainda puder estar dentro da validade, então o mapa fica pequeno. Cada revogação vira
+// um TokensRevogadosEvent, que o ReplicacaoEventos leva aos outros nós quando há vários.
+@Component
+@RequiredArgsConstructor
+public class RevogacaoTokens {
+
+    private final UsuarioRepository usuarioRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<Long, Long> naoAntesDe = new ConcurrentHashMap<>();
+
+    // Tokens de usuários já inativos emitidos antes da subida também não valem
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        long instante = System.currentTimeMillis() / 1000 + 1;
+        usuarioRepository.findIdByAtivoFalse().forEach(id -> aplicar(id, instante));
+    }
+
+    public void revogar(Long usuarioId) {
+        // iat tem resolução de segundos: tokens emitidos no segundo atual também caem
+        long instante = System.currentTimeMillis() / 1000 + 1;
+        aplicar(usuarioId, instante);
+        eventPublisher.publishEvent(new TokensRevogadosEvent(usuarioId, instante));
+    }
+
+    // Revogações feitas em outro nó (as deste nó já foram aplicadas em revogar)
+    @EventListener
+    public void tokensRevogados(TokensRevogadosEvent evento) {
+        aplicar(evento.usuarioId(), evento.naoAntesDe());
+    }
+
+    public boolean revogado(Long usuarioId, Date emitidoEm) {
+        Long instante = naoAntesDe.get(usuarioId);
+        return instante != null && (emitidoEm == null || emitidoEm.getTime() / 1000 < instante);
+    }
+
+    private void aplicar(Long usuarioId, long instante) {
+        naoAntesDe.merge(usuarioId, instante, Math::max);
+        long limite = System.currentTimeMillis() / 1000 - JwtUtil.VALIDADE.toSeconds();
+        naoAntesDe.values().removeIf(valor -> valor < limite);
+    }
+}
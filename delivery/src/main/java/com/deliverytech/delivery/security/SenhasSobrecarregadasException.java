@@ -0,0 +1,9 @@
+package com.deliverytech.delivery.security;
+
+// Fila do CodificadorSenhas cheia: o cliente deve tentar de novo em instantes
+public class SenhasSobrecarregadasException extends RuntimeException {
+
+    public SenhasSobrecarregadasException() {
+        super("Serviço de autenticação sobrecarregado");
+    }
+}
@@ -0,0 +1,14 @@
+package com.deliverytech.delivery.security;
+
+import com.deliverytech.delivery.model.Role;
+
+import java.security.Principal;
+
+// Principal montado só com as claims do token, sem consultar o banco
+public record UsuarioAutenticado(Long id, String email, Role role, Long restauranteId) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
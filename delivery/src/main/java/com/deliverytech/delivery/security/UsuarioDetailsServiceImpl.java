@@ -1,7 +1,7 @@
 package com.deliverytech.delivery.security;
 
 import com.deliverytech.delivery.model.Usuario;
-import com.deliverytech.delivery.repository.UsuarioRepository;
+import com.deliverytech.delivery.service.UsuarioService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Primary;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -13,19 +13,28 @@ import java.util.Collections;
 @Service
 @Primary
 @RequiredArgsConstructor
-public class UsuarioDetailsServiceImpl implements UserDetailsService {
+public class UsuarioDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
-    private final UsuarioRepository usuarioRepository;
+    private final UsuarioService usuarioService;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        Usuario usuario = usuarioRepository.findByEmail(email)
+        Usuario usuario = usuarioService.buscarPorEmail(email)
             .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com email: " + email));
 
+        // Desativado não consegue mais fazer login
         return new User(
             usuario.getEmail(),
             usuario.getSenha(),
+            !Boolean.FALSE.equals(usuario.getAtivo()), true, true, true,
             Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + usuario.getRole()))
         );
     }
+
+    // Chamado pelo DaoAuthenticationProvider quando o hash foi gerado com custo menor
+    @Override
+    public UserDetails updatePassword(UserDetails user, String novoHash) {
+        usuarioService.atualizarSenha(user.getUsername(), novoHash);
+        return User.withUserDetails(user).password(novoHash).build();
+    }
 }
@@ -0,0 +1,119 @@
+package com.deliverytech.delivery.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Chave e parser montados uma vez. Tokens já verificados ficam num cache limitado,
+// indexado pelo SHA-256 do token (o token em si não fica em memória), até o exp:
+// a mesma sessão repete o mesmo token a cada requisição e não paga o HMAC de novo.
+// O cache guarda uma cópia imutável das claims; cada requisição recebe a sua Claims.
+@Component
+public class VerificadorJwt {
+
+    private static final int TAMANHO_MINIMO_SEGREDO = 32;
+
+    private final Key chave;
+    private final JwtParser parser;
+    private final Ticker ticker;
+    private final Cache<Digest, Verificado> verificados;
+
+    @Autowired
+    public VerificadorJwt(@Value("${delivery.jwt.secret}") String segredo,
+            @Value("${delivery.jwt.cache.maximo:10000}") long maximo) {
+        this(segredo, maximo, Ticker.systemTicker());
+    }
+
+    // Ticker injetável para os testes avançarem o tempo do cache
+    VerificadorJwt(String segredo, long maximo, Ticker ticker) {
+        if (segredo == null || segredo.getBytes(StandardCharsets.UTF_8).length < TAMANHO_MINIMO_SEGREDO) {
+            throw new IllegalStateException("JWT_SECRET não definido ou com menos de "
+                    + TAMANHO_MINIMO_SEGREDO + " bytes: defina a variável de ambiente JWT_SECRET");
+        }
+        this.ticker = ticker;
+        this.chave = Keys.hmacShaKeyFor(segredo.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(chave).build();
+        this.verificados = maximo > 0
+                ? Caffeine.newBuilder().maximumSize(maximo).expireAfter(new AteExpirar()).ticker(ticker).build()
+                : null;
+    }
+
+    Key chave() {
+        return chave;
+    }
+
+    // Lança JwtException se a assinatura não confere ou o token expirou
+    public Claims verificar(String token) {
+        if (verificados == null) {
+            return parser.parseClaimsJws(token).getBody();
+        }
+        Digest digest = Digest.de(token);
+        Verificado verificado = verificados.getIfPresent(digest);
+        if (verificado == null) {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (claims.getExpiration() != null) {
+                // exp passado para a escala do ticker uma vez, aqui; a expiração do cache só usa o ticker
+                long restante = claims.getExpiration().getTime() - System.currentTimeMillis();
+                verificados.put(digest, new Verificado(Map.copyOf(claims),
+                        ticker.read() + TimeUnit.MILLISECONDS.toNanos(Math.max(restante, 0))));
+            }
+            return claims;
+        }
+        return Jwts.claims(verificado.claims());
+    }
+
+    long emCache() {
+        verificados.cleanUp();
+        return verificados.estimatedSize();
+    }
+
+    // expiraEm em nanos do ticker
+    private record Verificado(Map<String, Object> claims, long expiraEm) {}
+
+    private static final class AteExpirar implements Expiry<Digest, Verificado> {
+
+        @Override
+        public long expireAfterCreate(Digest digest, Verificado verificado, long agora) {
+            return Math.max(verificado.expiraEm() - agora, 0);
+        }
+
+        @Override
+        public long expireAfterUpdate(Digest digest, Verificado verificado, long agora, long duracaoAtual) {
+            return duracaoAtual;
+        }
+
+        @Override
+        public long expireAfterRead(Digest digest, Verificado verificado, long agora, long duracaoAtual) {
+            return duracaoAtual;
+        }
+    }
+
+    private record Digest(long a, long b, long c, long d) {
+
+        static Digest de(String token) {
+            try {
+                byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+                ByteBuffer buffer = ByteBuffer.wrap(hash);
+                return new Digest(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 indisponível", e);
+            }
+        }
+    }
+}
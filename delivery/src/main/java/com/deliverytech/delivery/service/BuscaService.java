@@ -0,0 +1,10 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.response.ResultadoBuscaResponse;
+import com.deliverytech.delivery.search.IndiceBusca.Tipo;
+
+import java.util.List;
+
+public interface BuscaService {
+    List<ResultadoBuscaResponse> buscar(String consulta, Tipo tipo, int limite);
+}
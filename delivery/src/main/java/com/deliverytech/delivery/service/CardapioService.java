@@ -0,0 +1,10 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.response.CardapioDeltaResponse;
+
+import java.util.Optional;
+
+public interface CardapioService {
+    Optional<CardapioSnapshot> snapshot(Long restauranteId);
+    CardapioDeltaResponse alteracoes(Long restauranteId, long desde);
+}
@@ -0,0 +1,19 @@
+package com.deliverytech.delivery.service;
+
+// Cardápio de um restaurante já serializado em JSON (e em gzip quando compensa),
+// com o ETag calculado sobre o conteúdo. Cada representação tem o seu ETag: o do
+// gzip leva o sufixo -gz
+public record CardapioSnapshot(byte[] json, byte[] gzip, String etag) {
+
+    public String etagGzip() {
+        return etag.substring(0, etag.length() - 1) + "-gz\"";
+    }
+
+    public boolean temGzip() {
+        return gzip != null;
+    }
+
+    public int tamanho() {
+        return json.length + (gzip != null ? gzip.length : 0);
+    }
+}
@@ -0,0 +1,6 @@
+package com.deliverytech.delivery.service;
+
+public interface CatalogoVersaoService {
+    long incrementar(Long restauranteId);
+    long atual(Long restauranteId);
+}
@@ -0,0 +1,9 @@
+package com.deliverytech.delivery.service;
+
+// Idempotency-Key repetida com um corpo diferente do da primeira requisição
+public class ChaveIdempotenciaReutilizadaException extends RuntimeException {
+
+    public ChaveIdempotenciaReutilizadaException() {
+        super("Idempotency-Key já usada com outra requisição");
+    }
+}
@@ -1,6 +1,9 @@
 package com.deliverytech.delivery.service;
 
+import com.deliverytech.delivery.dto.response.ClienteResponse;
 import com.deliverytech.delivery.model.Cliente;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 import java.util.Optional;
@@ -9,6 +12,7 @@ public interface ClienteService {
     Cliente cadastrar(Cliente cliente);
     Optional<Cliente> buscarPorId(Long id);
     List<Cliente> listarAtivos();
+    Slice<ClienteResponse> listarAtivos(Pageable pageable);
     Cliente atualizar(Long id, Cliente clienteAtualizado);
     void ativarDesativar(Long id);
 }
@@ -0,0 +1,19 @@
+package com.deliverytech.delivery.service;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+// Guarda o resultado de requisições com Idempotency-Key. A primeira requisição de uma
+// chave a reserva e executa; as repetidas recebem o futuro do resultado da primeira.
+// A impressão identifica o corpo da requisição: a chave só vale para o mesmo corpo.
+public interface IdempotenciaStore {
+
+    // Vazio quando a chave foi reservada para o chamador. Lança
+    // ChaveIdempotenciaReutilizadaException se a chave já existe com outra impressão
+    Optional<CompletableFuture<RespostaIdempotente>> reservar(String chave, String impressao);
+
+    void concluir(String chave, String impressao, RespostaIdempotente resposta);
+
+    // Desfaz a reserva após uma falha, para que uma nova tentativa execute de novo
+    void liberar(String chave, Throwable causa);
+}
@@ -0,0 +1,12 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.response.ImportacaoProdutosResponse;
+
+import java.io.InputStream;
+
+public interface ImportacaoProdutoService {
+
+    enum Formato { NDJSON, CSV }
+
+    ImportacaoProdutosResponse importar(InputStream entrada, Formato formato);
+}
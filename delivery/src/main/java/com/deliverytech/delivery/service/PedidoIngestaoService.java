@@ -0,0 +1,12 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.request.PedidoRequest;
+import com.deliverytech.delivery.dto.response.IngestaoPedidoResponse;
+
+import java.util.Optional;
+
+public interface PedidoIngestaoService {
+    boolean isAssincrono();
+    Optional<IngestaoPedidoResponse> enfileirar(PedidoRequest request);
+    Optional<IngestaoPedidoResponse> consultar(String protocolo);
+}
@@ -1,16 +1,24 @@
 package com.deliverytech.delivery.service;
 
+import com.deliverytech.delivery.dto.request.PedidoRequest;
+import com.deliverytech.delivery.dto.response.PedidoResumoResponse;
 import com.deliverytech.delivery.model.Pedido;
 import com.deliverytech.delivery.model.StatusPedido;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface PedidoService {
     Pedido criar(Pedido pedido);
+    Pedido criar(PedidoRequest request);
+    List<ResultadoCriacaoPedido> criarEmLote(List<PedidoRequest> requests);
     Optional<Pedido> buscarPorId(Long id);
-    List<Pedido> listarPorCliente(Long clienteId);
-    List<Pedido> listarPorRestaurante(Long restauranteId);
+    List<PedidoResumoResponse> listarPorCliente(Long clienteId, LocalDateTime dataAnterior, Long idAnterior, int limite);
+    List<PedidoResumoResponse> listarPorRestaurante(Long restauranteId, LocalDateTime dataAnterior, Long idAnterior, int limite);
     Pedido atualizarStatus(Long id, StatusPedido status);
     void cancelar(Long id);
+    Map<Long, ResultadoTransicao> atualizarStatusEmLote(Collection<Long> ids, StatusPedido status);
 }
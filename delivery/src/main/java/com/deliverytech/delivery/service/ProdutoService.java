@@ -1,14 +1,18 @@
 package com.deliverytech.delivery.service;
 
+import com.deliverytech.delivery.dto.response.ProdutoResponse;
 import com.deliverytech.delivery.model.Produto;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ProdutoService {
     Produto cadastrar(Produto produto);
-    Optional<Produto> buscarPorId(Long id);
-    List<Produto> buscarPorRestaurante(Long restauranteId);
+    Optional<ProdutoResponse> buscarPorId(Long id);
+    List<ProdutoResponse> buscarPorRestaurante(Long restauranteId);
     Produto atualizar(Long id, Produto produtoAtualizado);
     void alterarDisponibilidade(Long id, boolean disponivel);
+    int alterarDisponibilidade(Collection<Long> ids, boolean disponivel);
+    int alterarDisponibilidadePorCategoria(Long restauranteId, String categoria, boolean disponivel);
 }
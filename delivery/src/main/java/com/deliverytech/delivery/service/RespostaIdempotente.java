@@ -0,0 +1,17 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.response.IngestaoPedidoResponse;
+import com.deliverytech.delivery.dto.response.PedidoResponse;
+
+// Resultado guardado sob uma Idempotency-Key: o pedido criado (modo síncrono) ou o
+// protocolo da fila de ingestão (modo assíncrono)
+public record RespostaIdempotente(PedidoResponse pedido, IngestaoPedidoResponse ingestao) {
+
+    public static RespostaIdempotente criado(PedidoResponse pedido) {
+        return new RespostaIdempotente(pedido, null);
+    }
+
+    public static RespostaIdempotente enfileirado(IngestaoPedidoResponse ingestao) {
+        return new RespostaIdempotente(null, ingestao);
+    }
+}
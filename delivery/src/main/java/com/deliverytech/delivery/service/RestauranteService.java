@@ -1,14 +1,18 @@
 package com.deliverytech.delivery.service;
 
+import com.deliverytech.delivery.dto.response.RestauranteResponse;
 import com.deliverytech.delivery.model.Restaurante;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface RestauranteService {
     Restaurante cadastrar(Restaurante restaurante);
-    Optional<Restaurante> buscarPorId(Long id);
+    Optional<RestauranteResponse> buscarPorId(Long id);
     List<Restaurante> listarTodos();
+    Slice<RestauranteResponse> listarTodos(Pageable pageable);
     List<Restaurante> buscarPorCategoria(String categoria);
     Restaurante atualizar(Long id, Restaurante restauranteAtualizado);
 }
@@ -0,0 +1,19 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.model.Pedido;
+
+// Resultado de um pedido dentro de um lote: o pedido gravado ou o motivo da rejeição
+public record ResultadoCriacaoPedido(Pedido pedido, String erro) {
+
+    public static ResultadoCriacaoPedido criado(Pedido pedido) {
+        return new ResultadoCriacaoPedido(pedido, null);
+    }
+
+    public static ResultadoCriacaoPedido rejeitado(String erro) {
+        return new ResultadoCriacaoPedido(null, erro);
+    }
+
+    public boolean sucesso() {
+        return pedido != null;
+    }
+}
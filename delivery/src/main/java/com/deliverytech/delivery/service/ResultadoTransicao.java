@@ -0,0 +1,7 @@
+package com.deliverytech.delivery.service;
+
+public enum ResultadoTransicao {
+    APLICADO,
+    TRANSICAO_INVALIDA,
+    NAO_ENCONTRADO
+}
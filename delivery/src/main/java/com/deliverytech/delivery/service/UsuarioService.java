@@ -0,0 +1,13 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.model.Usuario;
+
+import java.util.Optional;
+
+public interface UsuarioService {
+    Usuario cadastrar(Usuario usuario);
+    Optional<Usuario> buscarPorEmail(String email);
+    Optional<Usuario> buscarPorId(Long id);
+    void alterarStatus(Long id, boolean ativo);
+    void atualizarSenha(String email, String hash);
+}
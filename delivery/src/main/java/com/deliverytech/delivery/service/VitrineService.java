@@ -0,0 +1,12 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.response.RestauranteResponse;
+import com.deliverytech.delivery.search.VitrineRestaurantes.Ordenacao;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface VitrineService {
+    List<RestauranteResponse> consultar(String categoria, Boolean ativo, BigDecimal taxaMaxima,
+            Integer tempoMaximo, Ordenacao ordenacao, int limite);
+}
@@ -0,0 +1,85 @@
+package com.deliverytech.delivery.service.impl;
+
+import com.deliverytech.delivery.dto.response.ResultadoBuscaResponse;
+import com.deliverytech.delivery.event.CatalogoAlteradoEvent;
+import com.deliverytech.delivery.event.RestauranteAlteradoEvent;
+import com.deliverytech.delivery.model.Produto;
+import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.search.IndiceBusca;
+import com.deliverytech.delivery.search.IndiceBusca.Tipo;
+import com.deliverytech.delivery.service.BuscaService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Índice montado na subida da aplicação e atualizado a cada escrita no catálogo.
+// Entram só produtos disponíveis e restaurantes ativos.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BuscaServiceImpl implements BuscaService {
+
+    private final RestauranteRepository restauranteRepository;
+    private final ProdutoRepository produtoRepository;
+    private final IndiceBusca indice = new IndiceBusca();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        long inicio = System.nanoTime();
+        restauranteRepository.findAll().forEach(this::indexar);
+        produtoRepository.findAll().forEach(this::indexar);
+        log.info("Índice de busca montado com {} documentos em {} ms",
+                indice.tamanho(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    @Override
+    public List<ResultadoBuscaResponse> buscar(String consulta, Tipo tipo, int limite) {
+        return indice.buscar(consulta, tipo, limite).stream()
+                .map(r -> new ResultadoBuscaResponse(r.documento().getTipo(), r.documento().getId(),
+                        r.documento().getNome(), r.documento().getCategoria(), r.documento().getRestauranteId(),
+                        r.relevancia()))
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void catalogoAlterado(CatalogoAlteradoEvent evento) {
+        Set<Long> removidos = new HashSet<>(evento.produtoIds());
+        for (Produto produto : produtoRepository.findAllById(evento.produtoIds())) {
+            removidos.remove(produto.getId());
+            indexar(produto);
+        }
+        removidos.forEach(indice::removerProduto);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void restauranteAlterado(RestauranteAlteradoEvent evento) {
+        restauranteRepository.findById(evento.restauranteId()).ifPresentOrElse(this::indexar,
+                () -> indice.removerRestaurante(evento.restauranteId()));
+    }
+
+    private void indexar(Restaurante r) {
+        if (Boolean.FALSE.equals(r.getAtivo())) {
+            indice.removerRestaurante(r.getId());
+        } else {
+            indice.indexarRestaurante(r.getId(), r.getNome(), r.getCategoria());
+        }
+    }
+
+    private void indexar(Produto p) {
+        if (!Boolean.TRUE.equals(p.getDisponivel())) {
+            indice.removerProduto(p.getId());
+        } else {
+            indice.indexarProduto(p.getId(), p.getNome(), p.getCategoria(), p.getDescricao(),
+                    p.getRestaurante() != null ? p.getRestaurante().getId() : null);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.deliverytech.delivery.service.impl;
+
+import com.deliverytech.delivery.dto.response.CardapioDeltaResponse;
+import com.deliverytech.delivery.dto.response.ProdutoResponse;
+import com.deliverytech.delivery.event.CatalogoAlteradoEvent;
+import com.deliverytech.delivery.model.Produto;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.service.CardapioService;
+import com.deliverytech.delivery.service.CardapioSnapshot;
+import com.deliverytech.delivery.service.CatalogoVersaoService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.zip.GZIPOutputStream;
+
+// Mantém o cardápio de cada restaurante pronto para envio. Cada produto é guardado
+// como um fragmento JSON; quando o catálogo muda, só os produtos alterados são
+// lidos e serializados de novo e o array é remontado a partir dos fragmentos.
+// As consultas ao banco ficam fora do compute do Caffeine, que trava o bin da chave;
+// a validade (ttl) limita o tempo de um cardápio que tenha perdido algum evento.
+@Service
+public class CardapioServiceImpl implements CardapioService {
+
+    // versao: versaoCatalogo do produto, para um evento atrasado não sobrescrever um mais novo
+    private record Fragmento(long versao, byte[] json) {}
+
+    private record Cardapio(NavigableMap<Long, Fragmento> fragmentos, CardapioSnapshot snapshot) {}
+
+    // Custo fixo de cada entrada (nó do cache, record, snapshot, ETag) e de cada fragmento
+    // (nó do TreeMap, Long, cabeçalho do array): sem isso cardápios vazios pesariam quase nada
+    static final int PESO_ENTRADA = 512;
+    static final int PESO_FRAGMENTO = 80;
+
+    private final ProdutoRepository produtoRepository;
+    private final RestauranteRepository restauranteRepository;
+    private final CatalogoVersaoService catalogoVersaoService;
+    private final ObjectMapper objectMapper;
+    private final int minimoGzip;
+    private final long maximoVersoesDelta;
+    private final Cache<Long, Cardapio> cardapios;
+
+    public CardapioServiceImpl(ProdutoRepository produtoRepository, RestauranteRepository restauranteRepository,
+            CatalogoVersaoService catalogoVersaoService, ObjectMapper objectMapper,
+            @Value("${delivery.cardapio.snapshot.max-bytes:67108864}") long maximoBytes,
+            @Value("${delivery.cardapio.snapshot.minimo-gzip:1024}") int minimoGzip,
+            @Value("${delivery.cardapio.snapshot.ttl:10m}") Duration ttl,
+            @Value("${delivery.cardapio.delta.maximo-versoes:500}") long maximoVersoesDelta) {
+        this.produtoRepository = produtoRepository;
+        this.restauranteRepository = restauranteRepository;
+        this.catalogoVersaoService = catalogoVersaoService;
+        this.objectMapper = objectMapper;
+        this.minimoGzip = minimoGzip;
+        this.maximoVersoesDelta = maximoVersoesDelta;
+        // Peso aproximado: snapshot mais os fragmentos, que ocupam o mesmo que o JSON
+        this.cardapios = Caffeine.newBuilder()
+                .maximumWeight(maximoBytes)
+                .weigher((Long id, Cardapio c) -> PESO_ENTRADA + c.fragmentos().size() * PESO_FRAGMENTO
+                        + c.snapshot().tamanho() + c.snapshot().json().length)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public Optional<CardapioSnapshot> snapshot(Long restauranteId) {
+        Cardapio atual = cardapios.getIfPresent(restauranteId);
+        if (atual != null) {
+            return Optional.of(atual.snapshot());
+        }
+        long versao = catalogoVersaoService.atual(restauranteId);
+        Cardapio novo = construir(restauranteId);
+        if (novo == null) {
+            return Optional.empty();
+        }
+        // Uma alteração gravada durante a leitura pode ter tido o evento entregue antes
+        // deste put, sem cardápio para atualizar: nesse caso o montado não entra no cache
+        if (catalogoVersaoService.atual(restauranteId) == versao) {
+            Cardapio concorrente = cardapios.asMap().putIfAbsent(restauranteId, novo);
+            if (concorrente != null) {
+                return Optional.of(concorrente.snapshot());
+            }
+        }
+        return Optional.of(novo.snapshot());
+    }
+
+    // A versão é lida antes dos produtos: uma alteração gravada entre as duas leituras
+    // pode vir agora e de novo na próxima sincronização, mas nunca fica de fora
+    @Override
+    public CardapioDeltaResponse alteracoes(Long restauranteId, long desde) {
+        long versao = catalogoVersaoService.atual(restauranteId);
+        // Cliente muito atrasado ou com versão desconhecida recebe o cardápio inteiro
+        boolean completo = desde <= 0 || desde > versao || versao - desde > maximoVersoesDelta;
+        List<Produto> produtos = completo
+                ? produtoRepository.findByRestauranteId(restauranteId)
+                : produtoRepository.findByRestauranteIdAndVersaoCatalogoGreaterThan(restauranteId, desde);
+        return new CardapioDeltaResponse(versao, completo, produtos.stream().map(CardapioServiceImpl::paraResponse).toList());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void catalogoAlterado(CatalogoAlteradoEvent evento) {
+        if (evento.restauranteId() == null) {
+            return;
+        }
+        // Só atualiza cardápios já montados; os demais são montados na primeira leitura
+        if (cardapios.getIfPresent(evento.restauranteId()) == null) {
+            return;
+        }
+        Map<Long, Fragmento> alterados = new HashMap<>();
+        for (Produto produto : produtoRepository.findAllById(evento.produtoIds())) {
+            if (produto.getRestaurante() != null && evento.restauranteId().equals(produto.getRestaurante().getId())) {
+                alterados.put(produto.getId(), fragmento(produto));
+            }
+        }
+        cardapios.asMap().computeIfPresent(evento.restauranteId(), (id, atual) -> {
+            NavigableMap<Long, Fragmento> fragmentos = new TreeMap<>(atual.fragmentos());
+            for (Long produtoId : evento.produtoIds()) {
+                Fragmento novo = alterados.get(produtoId);
+                Fragmento anterior = fragmentos.get(produtoId);
+                if (novo == null) {
+                    fragmentos.remove(produtoId);
+                } else if (anterior == null || novo.versao() >= anterior.versao()) {
+                    fragmentos.put(produtoId, novo);
+                }
+            }
+            return montar(fragmentos);
+        });
+    }
+
+    // null (não entra no cache) para restaurante inexistente: ids arbitrários não ocupam memória
+    private Cardapio construir(Long restauranteId) {
+        List<Produto> produtos = produtoRepository.findByRestauranteId(restauranteId);
+        if (produtos.isEmpty() && !restauranteRepository.existsById(restauranteId)) {
+            return null;
+        }
+        NavigableMap<Long, Fragmento> fragmentos = new TreeMap<>();
+        for (Produto produto : produtos) {
+            fragmentos.put(produto.getId(), fragmento(produto));
+        }
+        return montar(fragmentos);
+    }
+
+    private Fragmento fragmento(Produto p) {
+        try {
+            long versao = p.getVersaoCatalogo() != null ? p.getVersaoCatalogo() : 0L;
+            return new Fragmento(versao, objectMapper.writeValueAsBytes(paraResponse(p)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o produto " + p.getId(), e);
+        }
+    }
+
+    private static ProdutoResponse paraResponse(Produto p) {
+        return new ProdutoResponse(p.getId(), p.getNome(), p.getCategoria(), p.getDescricao(), p.getPreco(), p.getDisponivel());
+    }
+
+    private Cardapio montar(NavigableMap<Long, Fragmento> fragmentos) {
+        int tamanho = 2 + Math.max(0, fragmentos.size() - 1);
+        for (Fragmento f : fragmentos.values()) {
+            tamanho += f.json().length;
+        }
+        byte[] json = new byte[tamanho];
+        json[0] = '[';
+        int pos = 1;
+        for (Fragmento fragmento : fragmentos.values()) {
+            byte[] f = fragmento.json();
+            if (pos > 1) {
+                json[pos++] = ',';
+            }
+            System.arraycopy(f, 0, json, pos, f.length);
+            pos += f.length;
+        }
+        json[pos] = ']';
+
+        byte[] gzip = json.length >= minimoGzip ? gzip(json) : null;
+        return new Cardapio(fragmentos, new CardapioSnapshot(json, gzip, etag(json)));
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gz = new GZIPOutputStream(saida)) {
+            gz.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return saida.toByteArray();
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
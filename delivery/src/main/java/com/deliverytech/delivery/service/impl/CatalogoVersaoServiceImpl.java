@@ -0,0 +1,39 @@
+package com.deliverytech.delivery.service.impl;
+
+import com.deliverytech.delivery.model.CatalogoVersao;
+import com.deliverytech.delivery.repository.CatalogoVersaoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.service.CatalogoVersaoService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class CatalogoVersaoServiceImpl implements CatalogoVersaoService {
+
+    private final CatalogoVersaoRepository catalogoVersaoRepository;
+    private final RestauranteRepository restauranteRepository;
+
+    // Deve rodar na mesma transação da escrita no produto
+    @Override
+    @Transactional
+    public long incrementar(Long restauranteId) {
+        if (catalogoVersaoRepository.incrementar(restauranteId) == 0) {
+            // Primeira escrita no catálogo deste restaurante. Escritores concorrentes esperam
+            // na trava do restaurante; quem chega depois já encontra a linha e só incrementa
+            restauranteRepository.travar(restauranteId);
+            if (catalogoVersaoRepository.incrementar(restauranteId) == 0) {
+                catalogoVersaoRepository.saveAndFlush(new CatalogoVersao(restauranteId, 1));
+                return 1;
+            }
+        }
+        return atual(restauranteId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long atual(Long restauranteId) {
+        return catalogoVersaoRepository.versaoAtual(restauranteId).orElse(0L);
+    }
+}
@@ -1,9 +1,12 @@
 package com.deliverytech.delivery.service.impl;
 
+import com.deliverytech.delivery.dto.response.ClienteResponse;
 import com.deliverytech.delivery.model.Cliente;
 import com.deliverytech.delivery.repository.ClienteRepository;
 import com.deliverytech.delivery.service.ClienteService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -30,6 +33,11 @@ public class ClienteServiceImpl implements ClienteService {
         return clienteRepository.findByAtivoTrue();
     }
 
+    @Override
+    public Slice<ClienteResponse> listarAtivos(Pageable pageable) {
+        return clienteRepository.listarResumoAtivos(pageable);
+    }
+
     @Override
     public Cliente atualizar(Long id, Cliente atualizado) {
         return clienteRepository.findById(id)
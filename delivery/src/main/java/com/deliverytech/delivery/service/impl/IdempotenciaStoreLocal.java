@@ -0,0 +1,167 @@
+package com.deliverytech.delivery.service.impl;
+
+import com.deliverytech.delivery.service.ChaveIdempotenciaReutilizadaException;
+import com.deliverytech.delivery.service.IdempotenciaStore;
+import com.deliverytech.delivery.service.RespostaIdempotente;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Store em memória dividido em segmentos, cada um com seu próprio lock, para que
+// chaves diferentes não disputem o mesmo lock. Cada segmento é limitado e descarta
+// primeiro as entradas mais antigas; entradas vencidas são removidas na passagem.
+// Em execução (timeout-execucao) e concluídas (ttl) ficam em mapas separados: cada um
+// tem um único prazo, então a ordem de inserção é a de vencimento e a varredura para
+// na primeira entrada ainda válida.
+@Component
+@ConditionalOnProperty(name = "delivery.idempotencia.store", havingValue = "local", matchIfMissing = true)
+public class IdempotenciaStoreLocal implements IdempotenciaStore {
+
+    private record Entrada(CompletableFuture<RespostaIdempotente> futuro, String impressao, long expiraEm) {}
+
+    private static final class Segmento {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Entrada> pendentes = new LinkedHashMap<>();
+        private final LinkedHashMap<String, Entrada> concluidas = new LinkedHashMap<>();
+
+        private Entrada get(String chave) {
+            Entrada entrada = pendentes.get(chave);
+            return entrada != null ? entrada : concluidas.get(chave);
+        }
+
+        private Entrada remove(String chave) {
+            Entrada entrada = pendentes.remove(chave);
+            Entrada concluida = concluidas.remove(chave);
+            return entrada != null ? entrada : concluida;
+        }
+
+        private int size() {
+            return pendentes.size() + concluidas.size();
+        }
+    }
+
+    private final Segmento[] segmentos;
+    private final int capacidadePorSegmento;
+    private final long ttlMillis;
+    private final long execucaoMillis;
+
+    public IdempotenciaStoreLocal(@Value("${delivery.idempotencia.segmentos:16}") int segmentos,
+            @Value("${delivery.idempotencia.capacidade:10000}") int capacidade,
+            @Value("${delivery.idempotencia.ttl:24h}") Duration ttl,
+            @Value("${delivery.idempotencia.timeout-execucao:30s}") Duration timeoutExecucao) {
+        int quantidade = Integer.highestOneBit(Math.max(1, segmentos - 1)) << 1;
+        this.segmentos = new Segmento[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            this.segmentos[i] = new Segmento();
+        }
+        this.capacidadePorSegmento = Math.max(1, capacidade / quantidade);
+        this.ttlMillis = ttl.toMillis();
+        this.execucaoMillis = timeoutExecucao.toMillis();
+    }
+
+    @Override
+    public Optional<CompletableFuture<RespostaIdempotente>> reservar(String chave, String impressao) {
+        Segmento segmento = segmento(chave);
+        long agora = System.currentTimeMillis();
+        segmento.lock.lock();
+        try {
+            removerVencidas(segmento.pendentes, agora);
+            removerVencidas(segmento.concluidas, agora);
+            Entrada existente = segmento.get(chave);
+            if (existente != null) {
+                if (!Objects.equals(existente.impressao(), impressao)) {
+                    throw new ChaveIdempotenciaReutilizadaException();
+                }
+                return Optional.of(existente.futuro());
+            }
+            segmento.pendentes.put(chave, new Entrada(new CompletableFuture<>(), impressao, agora + execucaoMillis));
+            limitar(segmento);
+            return Optional.empty();
+        } finally {
+            segmento.lock.unlock();
+        }
+    }
+
+    @Override
+    public void concluir(String chave, String impressao, RespostaIdempotente resposta) {
+        Segmento segmento = segmento(chave);
+        CompletableFuture<RespostaIdempotente> futuro;
+        segmento.lock.lock();
+        try {
+            // Passa para o fim das concluídas, que continuam ordenadas por vencimento
+            Entrada anterior = segmento.remove(chave);
+            futuro = anterior != null ? anterior.futuro() : new CompletableFuture<>();
+            segmento.concluidas.put(chave, new Entrada(futuro, impressao, System.currentTimeMillis() + ttlMillis));
+            limitar(segmento);
+        } finally {
+            segmento.lock.unlock();
+        }
+        futuro.complete(resposta);
+    }
+
+    @Override
+    public void liberar(String chave, Throwable causa) {
+        Segmento segmento = segmento(chave);
+        Entrada anterior;
+        segmento.lock.lock();
+        try {
+            anterior = segmento.remove(chave);
+        } finally {
+            segmento.lock.unlock();
+        }
+        if (anterior != null) {
+            anterior.futuro().completeExceptionally(causa);
+        }
+    }
+
+    public int tamanho() {
+        int total = 0;
+        for (Segmento segmento : segmentos) {
+            segmento.lock.lock();
+            try {
+                total += segmento.size();
+            } finally {
+                segmento.lock.unlock();
+            }
+        }
+        return total;
+    }
+
+    private Segmento segmento(String chave) {
+        int h = chave.hashCode();
+        return segmentos[(h ^ (h >>> 16)) & (segmentos.length - 1)];
+    }
+
+    private void removerVencidas(LinkedHashMap<String, Entrada> entradas, long agora) {
+        Iterator<Entrada> it = entradas.values().iterator();
+        while (it.hasNext()) {
+            Entrada entrada = it.next();
+            if (entrada.expiraEm() > agora) {
+                return;
+            }
+            it.remove();
+        }
+    }
+
+    // Descarta primeiro as concluídas mais antigas; pedidos em execução só em último caso
+    private void limitar(Segmento segmento) {
+        descartar(segmento.concluidas, segmento);
+        descartar(segmento.pendentes, segmento);
+    }
+
+    private void descartar(LinkedHashMap<String, Entrada> entradas, Segmento segmento) {
+        Iterator<Entrada> it = entradas.values().iterator();
+        while (segmento.size() > capacidadePorSegmento && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
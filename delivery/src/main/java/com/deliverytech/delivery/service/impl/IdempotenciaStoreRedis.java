@@ -0,0 +1,123 @@
+package com.deliverytech.delivery.service.impl;
+
+import com.deliverytech.delivery.service.ChaveIdempotenciaReutilizadaException;
+import com.deliverytech.delivery.service.IdempotenciaStore;
+import com.deliverytech.delivery.service.RespostaIdempotente;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Store compartilhado entre instâncias. A reserva é um SET NX de "PENDENTE:<impressão>"
+// com validade curta; ao concluir, o valor passa a ser a impressão e o resultado em JSON,
+// com a validade longa. Quem encontra a chave reservada por outro nó consulta o Redis até
+// o resultado aparecer.
+@Component
+@ConditionalOnProperty(name = "delivery.idempotencia.store", havingValue = "redis")
+public class IdempotenciaStoreRedis implements IdempotenciaStore {
+
+    private static final String PREFIXO = "idempotencia:pedido:";
+    private static final String PENDENTE = "PENDENTE:";
+    private static final int TENTATIVAS_RESERVA = 3;
+    private static final long INTERVALO_CONSULTA_MS = 50;
+
+    private record Registro(String impressao, RespostaIdempotente resposta) {}
+
+    private final StringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration timeoutExecucao;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public IdempotenciaStoreRedis(StringRedisTemplate redis, ObjectMapper objectMapper,
+            @Value("${delivery.idempotencia.ttl:24h}") Duration ttl,
+            @Value("${delivery.idempotencia.timeout-execucao:30s}") Duration timeoutExecucao) {
+        this.redis = redis;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.timeoutExecucao = timeoutExecucao;
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public Optional<CompletableFuture<RespostaIdempotente>> reservar(String chave, String impressao) {
+        // A chave pode vencer entre o SET NX e o GET; nesse caso tenta reservar de novo
+        for (int tentativa = 0; tentativa < TENTATIVAS_RESERVA; tentativa++) {
+            if (Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(PREFIXO + chave, PENDENTE + impressao, timeoutExecucao))) {
+                return Optional.empty();
+            }
+            String valor = redis.opsForValue().get(PREFIXO + chave);
+            if (valor != null) {
+                if (!Objects.equals(impressao(valor), impressao)) {
+                    throw new ChaveIdempotenciaReutilizadaException();
+                }
+                break;
+            }
+        }
+        CompletableFuture<RespostaIdempotente> futuro = new CompletableFuture<>();
+        executor.execute(() -> aguardar(chave, futuro));
+        return Optional.of(futuro);
+    }
+
+    @Override
+    public void concluir(String chave, String impressao, RespostaIdempotente resposta) {
+        try {
+            redis.opsForValue().set(PREFIXO + chave, objectMapper.writeValueAsString(new Registro(impressao, resposta)), ttl);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o resultado idempotente", e);
+        }
+    }
+
+    @Override
+    public void liberar(String chave, Throwable causa) {
+        redis.delete(PREFIXO + chave);
+    }
+
+    private String impressao(String valor) {
+        if (valor.startsWith(PENDENTE)) {
+            return valor.substring(PENDENTE.length());
+        }
+        try {
+            return objectMapper.readValue(valor, Registro.class).impressao();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Resultado idempotente ilegível", e);
+        }
+    }
+
+    private void aguardar(String chave, CompletableFuture<RespostaIdempotente> futuro) {
+        long limite = System.nanoTime() + timeoutExecucao.toNanos();
+        try {
+            while (!futuro.isDone() && System.nanoTime() < limite) {
+                String valor = redis.opsForValue().get(PREFIXO + chave);
+                if (valor == null) {
+                    futuro.completeExceptionally(new NoSuchElementException("Requisição original não concluída"));
+                    return;
+                }
+                if (!valor.startsWith(PENDENTE)) {
+                    futuro.complete(objectMapper.readValue(valor, Registro.class).resposta());
+                    return;
+                }
+                Thread.sleep(INTERVALO_CONSULTA_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException | JsonProcessingException e) {
+            futuro.completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.deliverytech.delivery.service.impl;
+
+import com.deliverytech.delivery.dto.request.ProdutoRequest;
+import com.deliverytech.delivery.dto.response.ImportacaoProdutosResponse;
+import com.deliverytech.delivery.dto.response.ImportacaoProdutosResponse.ErroLinha;
+import com.deliverytech.delivery.event.CatalogoAlteradoEvent;
+import com.deliverytech.delivery.model.Dinheiro;
+import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.service.CatalogoVersaoService;
+import com.deliverytech.delivery.service.ImportacaoProdutoService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Importação em massa lida como stream, linha a linha: cada lote validado vira um
+// batch JDBC numa transação própria, então a memória usada depende do tamanho do lote
+// e não do arquivo. Linhas inválidas são relatadas e não impedem as demais.
+@Slf4j
+@Service
+public class ImportacaoProdutoServiceImpl implements ImportacaoProdutoService {
+
+    static final int MAXIMO_ERROS_RELATADOS = 100;
+
+    private static final String INSERT = "insert into produto (id, nome, categoria, descricao, preco, preco_centavos, disponivel, restaurante_id, versao_catalogo) "
+            + "values (?, ?, ?, ?, ?, ?, true, ?, ?)";
+    // Mesmo allocationSize do @SequenceGenerator de Produto
+    private static final int BLOCO_SEQUENCIA = 50;
+    private static final List<String> COLUNAS_CSV = List.of("nome", "categoria", "descricao", "preco", "restauranteid");
+
+    private record Linha(long numero, ProdutoRequest produto) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final RestauranteRepository restauranteRepository;
+    private final CatalogoVersaoService catalogoVersaoService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
+    private final String proximoValorSequencia;
+    private final int tamanhoLote;
+
+    public ImportacaoProdutoServiceImpl(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper, Validator validator, RestauranteRepository restauranteRepository,
+            CatalogoVersaoService catalogoVersaoService, ApplicationEventPublisher eventPublisher, EntityManagerFactory entityManagerFactory,
+            @Value("${delivery.importacao.lote:500}") int tamanhoLote) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.restauranteRepository = restauranteRepository;
+        this.catalogoVersaoService = catalogoVersaoService;
+        this.eventPublisher = eventPublisher;
+        this.entityManagerFactory = entityManagerFactory;
+        this.tamanhoLote = tamanhoLote;
+        this.proximoValorSequencia = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport().getSequenceNextValString("produto_seq");
+    }
+
+    @Override
+    public ImportacaoProdutosResponse importar(InputStream entrada, Formato formato) {
+        Importacao importacao = new Importacao();
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8))) {
+            int[] colunas = null;
+            long numero = 0;
+            String texto;
+            while ((texto = leitor.readLine()) != null) {
+                numero++;
+                if (texto.isBlank()) {
+                    continue;
+                }
+                if (formato == Formato.CSV && colunas == null) {
+                    try {
+                        colunas = cabecalho(texto);
+                    } catch (IllegalArgumentException e) {
+                        importacao.rejeitar(numero, e.getMessage());
+                        break;
+                    }
+                    continue;
+                }
+                importacao.resposta.setLinhasLidas(importacao.resposta.getLinhasLidas() + 1);
+                try {
+                    ProdutoRequest produto = formato == Formato.CSV ? lerCsv(texto, colunas) : lerJson(texto);
+                    validar(produto, importacao);
+                    importacao.lote.add(new Linha(numero, produto));
+                } catch (IllegalArgumentException e) {
+                    importacao.rejeitar(numero, e.getMessage());
+                }
+                if (importacao.lote.size() >= tamanhoLote) {
+                    gravar(importacao);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        gravar(importacao);
+        log.info("Importação de produtos: {} linhas, {} importadas, {} rejeitadas", importacao.resposta.getLinhasLidas(),
+                importacao.resposta.getImportados(), importacao.resposta.getRejeitados());
+        return importacao.resposta;
+    }
+
+    private int[] cabecalho(String texto) {
+        List<String> nomes = campos(texto).stream()
+                .map(n -> n.trim().toLowerCase(Locale.ROOT).replace("_", ""))
+                .toList();
+        int[] colunas = new int[COLUNAS_CSV.size()];
+        for (int i = 0; i < colunas.length; i++) {
+            colunas[i] = nomes.indexOf(COLUNAS_CSV.get(i));
+            if (colunas[i] < 0) {
+                throw new IllegalArgumentException("Cabeçalho CSV sem a coluna " + COLUNAS_CSV.get(i));
+            }
+        }
+        return colunas;
+    }
+
+    private ProdutoRequest lerCsv(String texto, int[] colunas) {
+        List<String> campos = campos(texto);
+        for (int coluna : colunas) {
+            if (coluna >= campos.size()) {
+                throw new IllegalArgumentException("Linha com " + campos.size() + " colunas");
+            }
+        }
+        try {
+            String preco = campos.get(colunas[3]).trim();
+            String restauranteId = campos.get(colunas[4]).trim();
+            return new ProdutoRequest(campos.get(colunas[0]), campos.get(colunas[1]), campos.get(colunas[2]),
+                    preco.isEmpty() ? null : new BigDecimal(preco),
+                    restauranteId.isEmpty() ? null : Long.valueOf(restauranteId));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Número inválido");
+        }
+    }
+
+    private ProdutoRequest lerJson(String texto) {
+        try {
+            return objectMapper.readValue(texto, ProdutoRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    // Campos separados por vírgula; aspas duplas delimitam campos com vírgula e "" é uma aspa
+    static List<String> campos(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+
+    private void validar(ProdutoRequest produto, Importacao importacao) {
+        Set<ConstraintViolation<ProdutoRequest>> violacoes = validator.validate(produto);
+        if (!violacoes.isEmpty()) {
+            throw new IllegalArgumentException(violacoes.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        if (produto.getPreco() == null) {
+            throw new IllegalArgumentException("preco: não deve ser nulo");
+        }
+        if (produto.getRestauranteId() == null) {
+            throw new IllegalArgumentException("restauranteId: não deve ser nulo");
+        }
+        if (!importacao.restaurantes.computeIfAbsent(produto.getRestauranteId(), restauranteRepository::existsById)) {
+            throw new IllegalArgumentException("Restaurante não encontrado");
+        }
+    }
+
+    private void gravar(Importacao importacao) {
+        List<Linha> lote = importacao.lote;
+        if (lote.isEmpty()) {
+            return;
+        }
+        Map<Long, Set<Long>> porRestaurante = new HashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                long[] ids = new long[lote.size()];
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = importacao.proximoId();
+                }
+                // Uma versão de catálogo por restaurante e por lote
+                Map<Long, Long> versoes = new HashMap<>();
+                lote.forEach(linha -> versoes.computeIfAbsent(linha.produto().getRestauranteId(), catalogoVersaoService::incrementar));
+                int[] posicao = {0};
+                jdbcTemplate.batchUpdate(INSERT, lote, lote.size(), (ps, linha) -> {
+                    long id = ids[posicao[0]++];
+                    ProdutoRequest p = linha.produto();
+                    ps.setLong(1, id);
+                    ps.setString(2, p.getNome());
+                    ps.setString(3, p.getCategoria());
+                    ps.setString(4, p.getDescricao());
+                    ps.setBigDecimal(5, p.getPreco());
+                    ps.setLong(6, Dinheiro.de(p.getPreco()).centavos());
+                    ps.setLong(7, p.getRestauranteId());
+                    ps.setLong(8, versoes.get(p.getRestauranteId()));
+                    porRestaurante.computeIfAbsent(p.getRestauranteId(), r -> new HashSet<>()).add(id);
+                });
+                // Entregues após o commit: caches, índice de busca e cardápios
+                porRestaurante.forEach((restauranteId, produtoIds) ->
+                        eventPublisher.publishEvent(new CatalogoAlteradoEvent(restauranteId, produtoIds)));
+            });
+            importacao.resposta.setImportados(importacao.resposta.getImportados() + lote.size());
+            evictarSegundoNivel(porRestaurante.keySet());
+        } catch (RuntimeException e) {
+            log.warn("Lote da importação de produtos não gravado", e);
+            String mensagem = "Lote das linhas " + lote.get(0).numero() + " a " + lote.get(lote.size() - 1).numero()
+                    + " não gravado: " + e.getMessage();
+            lote.forEach(linha -> importacao.rejeitar(linha.numero(), mensagem));
+        } finally {
+            lote.clear();
+        }
+    }
+
+    // O JDBC não passa pelo Hibernate: a coleção Restaurante.produtos e as consultas em cache ficariam velhas
+    private void evictarSegundoNivel(Set<Long> restauranteIds) {
+        org.hibernate.Cache cache = entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class);
+        restauranteIds.forEach(id -> cache.evictCollectionData(Restaurante.class.getName() + ".produtos", id));
+        cache.evictDefaultQueryRegion();
+    }
+
+    private final class Importacao {
+        private final ImportacaoProdutosResponse resposta = new ImportacaoProdutosResponse();
+        private final List<Linha> lote = new ArrayList<>(tamanhoLote);
+        private final Map<Long, Boolean> restaurantes = new HashMap<>();
+        private long proximoId;
+        private long ultimoIdBloco = -1;
+
+        // Reserva blocos da sequence como o otimizador pooled do Hibernate: o valor V
+        // cobre os ids V-49..V, então os ids nunca colidem com os gerados pelo JPA
+        long proximoId() {
+            if (proximoId > ultimoIdBloco) {
+                long valor = jdbcTemplate.queryForObject(proximoValorSequencia, Long.class);
+                if (valor < BLOCO_SEQUENCIA) {
+                    // Sequence recém-criada; o Hibernate trata o valor inicial à parte
+                    valor = jdbcTemplate.queryForObject(proximoValorSequencia, Long.class);
+                }
+                ultimoIdBloco = valor;
+                proximoId = valor - BLOCO_SEQUENCIA + 1;
+            }
+            return proximoId++;
+        }
+
+        void rejeitar(long linha, String mensagem) {
+            resposta.setRejeitados(resposta.getRejeitados() + 1);
+            if (resposta.getErros().size() < MAXIMO_ERROS_RELATADOS) {
+                resposta.getErros().add(new ErroLinha(linha, mensagem));
+            }
+        }
+    }
+}
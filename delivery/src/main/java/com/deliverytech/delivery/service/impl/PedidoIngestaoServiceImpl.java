@@ -0,0 +1,174 @@
+package com.deliverytech.delivery.service.impl;
+
+import com.deliverytech.delivery.dto.request.PedidoRequest;
+import com.deliverytech.delivery.dto.response.IngestaoPedidoResponse;
+import com.deliverytech.delivery.dto.response.IngestaoPedidoResponse.Situacao;
+import com.deliverytech.delivery.service.PedidoIngestaoService;
+import com.deliverytech.delivery.service.PedidoService;
+import com.deliverytech.delivery.service.ResultadoCriacaoPedido;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Modo assíncrono de entrada de pedidos: os pedidos validados entram em uma fila
+// limitada e workers em virtual threads os gravam em lotes, vários por transação.
+// Com a fila cheia o pedido é recusado na hora para que o cliente tente de novo.
+// No desligamento a fila para de aceitar e os workers terminam de gravá-la dentro do
+// prazo; só quem passar do prazo é interrompido. Protocolos expiram após a retenção.
+@Slf4j
+@Service
+public class PedidoIngestaoServiceImpl implements PedidoIngestaoService {
+
+    private record Entrada(String protocolo, PedidoRequest request) {}
+
+    // Intervalo em que um worker ocioso volta a conferir se o serviço está encerrando
+    private static final long ESPERA_MS = 200;
+
+    private final PedidoService pedidoService;
+    private final boolean assincrono;
+    private final int workers;
+    private final int tamanhoLote;
+    private final Duration prazoEncerramento;
+    private final BlockingQueue<Entrada> fila;
+    private final Cache<String, IngestaoPedidoResponse> situacoes;
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean aceitando = true;
+
+    @Autowired
+    public PedidoIngestaoServiceImpl(PedidoService pedidoService,
+            @Value("${delivery.pedidos.ingestao.modo:sincrono}") String modo,
+            @Value("${delivery.pedidos.ingestao.capacidade-fila:1000}") int capacidadeFila,
+            @Value("${delivery.pedidos.ingestao.workers:4}") int workers,
+            @Value("${delivery.pedidos.ingestao.tamanho-lote:50}") int tamanhoLote,
+            @Value("${delivery.pedidos.ingestao.retencao:10m}") Duration retencao,
+            @Value("${delivery.pedidos.ingestao.prazo-encerramento:30s}") Duration prazoEncerramento) {
+        this(pedidoService, modo, capacidadeFila, workers, tamanhoLote, retencao, prazoEncerramento, Ticker.systemTicker());
+    }
+
+    // Ticker injetável para os testes da retenção dos protocolos
+    PedidoIngestaoServiceImpl(PedidoService pedidoService, String modo, int capacidadeFila, int workers,
+            int tamanhoLote, Duration retencao, Duration prazoEncerramento, Ticker ticker) {
+        this.pedidoService = pedidoService;
+        this.assincrono = "assincrono".equalsIgnoreCase(modo);
+        this.workers = workers;
+        this.tamanhoLote = tamanhoLote;
+        this.prazoEncerramento = prazoEncerramento;
+        this.fila = new ArrayBlockingQueue<>(capacidadeFila);
+        this.situacoes = Caffeine.newBuilder().expireAfterWrite(retencao).ticker(ticker).build();
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        if (!assincrono) {
+            return;
+        }
+        for (int i = 0; i < workers; i++) {
+            threads.add(Thread.ofVirtual().name("pedido-ingestao-" + i).start(this::drenar));
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        aceitando = false;
+        // Workers no meio de uma transação não são interrompidos: terminam o lote e a fila
+        long limite = System.nanoTime() + prazoEncerramento.toNanos();
+        for (Thread thread : threads) {
+            thread.join(Duration.ofNanos(Math.max(limite - System.nanoTime(), 1)));
+        }
+        for (Thread thread : threads) {
+            if (thread.isAlive()) {
+                log.warn("Worker {} não terminou em {}; interrompendo", thread.getName(), prazoEncerramento);
+                thread.interrupt();
+                thread.join(Duration.ofSeconds(1));
+            }
+        }
+        // Enfileirados depois que os workers saíram
+        List<Entrada> restantes = new ArrayList<>();
+        fila.drainTo(restantes);
+        for (int i = 0; i < restantes.size(); i += tamanhoLote) {
+            gravar(restantes.subList(i, Math.min(i + tamanhoLote, restantes.size())));
+        }
+    }
+
+    @Override
+    public boolean isAssincrono() {
+        return assincrono;
+    }
+
+    @Override
+    public Optional<IngestaoPedidoResponse> enfileirar(PedidoRequest request) {
+        if (!assincrono || !aceitando) {
+            return Optional.empty();
+        }
+        String protocolo = UUID.randomUUID().toString();
+        IngestaoPedidoResponse pendente = new IngestaoPedidoResponse(protocolo, Situacao.PENDENTE, null, null);
+        situacoes.put(protocolo, pendente);
+        if (!fila.offer(new Entrada(protocolo, request))) {
+            situacoes.invalidate(protocolo);
+            return Optional.empty();
+        }
+        return Optional.of(pendente);
+    }
+
+    @Override
+    public Optional<IngestaoPedidoResponse> consultar(String protocolo) {
+        return Optional.ofNullable(situacoes.getIfPresent(protocolo));
+    }
+
+    // Continua até a fila esvaziar depois que o serviço para de aceitar pedidos
+    private void drenar() {
+        List<Entrada> lote = new ArrayList<>(tamanhoLote);
+        while (aceitando || !fila.isEmpty()) {
+            Entrada primeira;
+            try {
+                primeira = fila.poll(ESPERA_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (primeira == null) {
+                continue;
+            }
+            lote.add(primeira);
+            fila.drainTo(lote, tamanhoLote - 1);
+            gravar(lote);
+            lote.clear();
+        }
+    }
+
+    private void gravar(List<Entrada> lote) {
+        List<PedidoRequest> requests = lote.stream().map(Entrada::request).toList();
+        List<ResultadoCriacaoPedido> resultados;
+        try {
+            resultados = pedidoService.criarEmLote(requests);
+        } catch (RuntimeException e) {
+            log.error("Falha ao gravar lote de {} pedidos", lote.size(), e);
+            resultados = requests.stream()
+                    .map(r -> ResultadoCriacaoPedido.rejeitado("Falha ao gravar o pedido"))
+                    .toList();
+        }
+        for (int i = 0; i < lote.size(); i++) {
+            ResultadoCriacaoPedido resultado = resultados.get(i);
+            String protocolo = lote.get(i).protocolo();
+            IngestaoPedidoResponse resposta = resultado.sucesso()
+                    ? new IngestaoPedidoResponse(protocolo, Situacao.CRIADO, resultado.pedido().getId(), null)
+                    : new IngestaoPedidoResponse(protocolo, Situacao.REJEITADO, null, resultado.erro());
+            situacoes.put(protocolo, resposta);
+        }
+    }
+}
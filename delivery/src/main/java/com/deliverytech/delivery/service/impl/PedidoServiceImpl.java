@@ -1,56 +1,225 @@
 package com.deliverytech.delivery.service.impl;
 
-import com.deliverytech.delivery.model.Pedido;
-import com.deliverytech.delivery.model.StatusPedido;
+import com.deliverytech.delivery.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery.dto.request.PedidoRequest;
+import com.deliverytech.delivery.dto.response.PedidoResumoResponse;
+import com.deliverytech.delivery.event.PedidoStatusEvent;
+import com.deliverytech.delivery.model.*;
+import com.deliverytech.delivery.repository.ClienteRepository;
 import com.deliverytech.delivery.repository.PedidoRepository;
+import com.deliverytech.delivery.repository.PedidoRepository.PedidoStatusView;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
 import com.deliverytech.delivery.service.PedidoService;
+import com.deliverytech.delivery.service.ResultadoCriacaoPedido;
+import com.deliverytech.delivery.service.ResultadoTransicao;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class PedidoServiceImpl implements PedidoService {
 
     private final PedidoRepository pedidoRepository;
+    private final ClienteRepository clienteRepository;
+    private final RestauranteRepository restauranteRepository;
+    private final ProdutoRepository produtoRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Pedido criar(Pedido pedido) {
         pedido.setStatus(StatusPedido.CRIADO);
-        return pedidoRepository.save(pedido);
+        Pedido salvo = pedidoRepository.save(pedido);
+        publicar(salvo.getId(), salvo.getCliente().getId(), salvo.getRestaurante().getId(), salvo.getStatus());
+        return salvo;
+    }
+
+    @Override
+    @Transactional
+    public Pedido criar(PedidoRequest request) {
+        ResultadoCriacaoPedido resultado = criarEmLote(List.of(request)).get(0);
+        if (!resultado.sucesso()) {
+            throw new RuntimeException(resultado.erro());
+        }
+        return resultado.pedido();
+    }
+
+    // Resolve clientes, restaurantes e produtos de todos os pedidos do lote com uma
+    // consulta por tabela e grava os pedidos válidos na mesma transação. Pedidos
+    // inválidos são rejeitados individualmente sem afetar o restante do lote.
+    @Override
+    @Transactional
+    public List<ResultadoCriacaoPedido> criarEmLote(List<PedidoRequest> requests) {
+        Map<Long, Cliente> clientes = clienteRepository.findAllById(requests.stream()
+                .map(PedidoRequest::getClienteId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Cliente::getId, Function.identity()));
+        Map<Long, Restaurante> restaurantes = restauranteRepository.findAllById(requests.stream()
+                .map(PedidoRequest::getRestauranteId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Restaurante::getId, Function.identity()));
+        Map<Long, Produto> produtos = produtoRepository.findAllById(requests.stream()
+                .flatMap(r -> r.getItens().stream())
+                .map(ItemPedidoRequest::getProdutoId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Produto::getId, Function.identity()));
+
+        List<ResultadoCriacaoPedido> resultados = new ArrayList<>(requests.size());
+        List<Pedido> validos = new ArrayList<>(requests.size());
+        for (PedidoRequest request : requests) {
+            try {
+                Pedido pedido = montarPedido(request, clientes, restaurantes, produtos);
+                pedido.setStatus(StatusPedido.CRIADO);
+                validos.add(pedido);
+                resultados.add(ResultadoCriacaoPedido.criado(pedido));
+            } catch (RuntimeException e) {
+                resultados.add(ResultadoCriacaoPedido.rejeitado(e.getMessage()));
+            }
+        }
+        pedidoRepository.saveAll(validos);
+        validos.forEach(p -> publicar(p.getId(), p.getCliente().getId(), p.getRestaurante().getId(), p.getStatus()));
+        return resultados;
+    }
+
+    private Pedido montarPedido(PedidoRequest request, Map<Long, Cliente> clientes,
+            Map<Long, Restaurante> restaurantes, Map<Long, Produto> produtos) {
+        Cliente cliente = Optional.ofNullable(clientes.get(request.getClienteId()))
+                .orElseThrow(() -> new RuntimeException("Cliente não encontrado"));
+        Restaurante restaurante = Optional.ofNullable(restaurantes.get(request.getRestauranteId()))
+                .orElseThrow(() -> new RuntimeException("Restaurante não encontrado"));
+
+        Pedido pedido = Pedido.builder()
+                .cliente(cliente)
+                .restaurante(restaurante)
+                .enderecoEntrega(request.getEnderecoEntrega())
+                .build();
+
+        List<ItemPedido> itens = new ArrayList<>(request.getItens().size());
+        long total = Dinheiro.de(restaurante.getTaxaEntrega()).centavos();
+        for (ItemPedidoRequest item : request.getItens()) {
+            Produto produto = produtos.get(item.getProdutoId());
+            if (produto == null) {
+                throw new RuntimeException("Produto não encontrado: " + item.getProdutoId());
+            }
+            if (!produto.getRestaurante().getId().equals(restaurante.getId())) {
+                throw new RuntimeException("Produto " + produto.getId() + " não pertence ao restaurante");
+            }
+            if (!Boolean.TRUE.equals(produto.getDisponivel())) {
+                throw new RuntimeException("Produto indisponível: " + produto.getNome());
+            }
+            itens.add(ItemPedido.builder()
+                    .pedido(pedido)
+                    .produto(produto)
+                    .quantidade(item.getQuantidade())
+                    .precoUnitario(produto.getPreco())
+                    .build());
+            total = Math.addExact(total, Math.multiplyExact(produto.precoEmCentavos(), item.getQuantidade()));
+        }
+
+        pedido.setItens(itens);
+        pedido.setTotal(Dinheiro.deCentavos(total));
+        return pedido;
     }
 
     @Override
     public Optional<Pedido> buscarPorId(Long id) {
-        return pedidoRepository.findById(id);
+        return pedidoRepository.findDetalhadoById(id);
     }
 
     @Override
-    public List<Pedido> listarPorCliente(Long clienteId) {
-        return pedidoRepository.findByClienteId(clienteId);
+    public List<PedidoResumoResponse> listarPorCliente(Long clienteId, LocalDateTime dataAnterior, Long idAnterior, int limite) {
+        if (dataAnterior == null) {
+            return pedidoRepository.buscarResumoPorCliente(clienteId, Limit.of(limite));
+        }
+        return pedidoRepository.buscarResumoPorCliente(clienteId, dataAnterior, idAnterior, Limit.of(limite));
     }
 
     @Override
-    public List<Pedido> listarPorRestaurante(Long restauranteId) {
-        return pedidoRepository.findByRestauranteId(restauranteId);
+    public List<PedidoResumoResponse> listarPorRestaurante(Long restauranteId, LocalDateTime dataAnterior, Long idAnterior, int limite) {
+        if (dataAnterior == null) {
+            return pedidoRepository.buscarResumoPorRestaurante(restauranteId, Limit.of(limite));
+        }
+        return pedidoRepository.buscarResumoPorRestaurante(restauranteId, dataAnterior, idAnterior, Limit.of(limite));
     }
 
     @Override
+    @Transactional
     public Pedido atualizarStatus(Long id, StatusPedido status) {
-        return pedidoRepository.findById(id)
-            .map(p -> {
-                p.setStatus(status);
-                return pedidoRepository.save(p);
-            }).orElseThrow(() -> new RuntimeException("Pedido não encontrado"));
+        transicionar(id, status);
+        Pedido pedido = pedidoRepository.findDetalhadoById(id)
+                .orElseThrow(() -> new NoSuchElementException("Pedido não encontrado"));
+        publicar(pedido.getId(), pedido.getCliente().getId(), pedido.getRestaurante().getId(), pedido.getStatus());
+        return pedido;
     }
 
     @Override
+    @Transactional
     public void cancelar(Long id) {
-        pedidoRepository.findById(id).ifPresent(p -> {
-            p.setStatus(StatusPedido.CANCELADO);
-            pedidoRepository.save(p);
-        });
+        try {
+            transicionar(id, StatusPedido.CANCELADO);
+        } catch (NoSuchElementException e) {
+            // Pedido inexistente: não há o que cancelar
+            return;
+        }
+        pedidoRepository.buscarStatusPorIds(List.of(id))
+                .forEach(v -> publicar(v.getId(), v.getClienteId(), v.getRestauranteId(), v.getStatus()));
+    }
+
+    // Transição em lote para as telas da cozinha: uma consulta classifica e trava os
+    // pedidos e um único UPDATE condicional aplica a transição aos elegíveis. Com as
+    // linhas travadas ninguém muda o status entre as duas, então APLICADO é sempre uma
+    // transição feita por esta chamada, e não por outra que chegou antes ao mesmo destino.
+    @Override
+    @Transactional
+    public Map<Long, ResultadoTransicao> atualizarStatusEmLote(Collection<Long> ids, StatusPedido status) {
+        Set<Long> unicos = new LinkedHashSet<>(ids);
+        Map<Long, ResultadoTransicao> resultados = new LinkedHashMap<>();
+        unicos.forEach(id -> resultados.put(id, ResultadoTransicao.NAO_ENCONTRADO));
+
+        Map<Long, PedidoStatusView> elegiveis = new LinkedHashMap<>();
+        for (PedidoStatusView view : pedidoRepository.travarStatusPorIds(unicos)) {
+            if (view.getStatus() != null && view.getStatus().podeTransicionarPara(status)) {
+                elegiveis.put(view.getId(), view);
+                resultados.put(view.getId(), ResultadoTransicao.APLICADO);
+            } else {
+                resultados.put(view.getId(), ResultadoTransicao.TRANSICAO_INVALIDA);
+            }
+        }
+        if (elegiveis.isEmpty()) {
+            return resultados;
+        }
+
+        int alterados = pedidoRepository.atualizarStatusEmLoteSe(elegiveis.keySet(), status.anteriores(), status);
+        if (alterados != elegiveis.size()) {
+            throw new IllegalStateException("Pedidos alterados durante a transição em lote: "
+                    + alterados + " de " + elegiveis.size());
+        }
+        elegiveis.values().forEach(v -> publicar(v.getId(), v.getClienteId(), v.getRestauranteId(), status));
+        return resultados;
+    }
+
+    private void transicionar(Long id, StatusPedido destino) {
+        if (pedidoRepository.atualizarStatusSe(id, destino.anteriores(), destino) == 0) {
+            StatusPedido atual = pedidoRepository.buscarStatus(id)
+                    .orElseThrow(() -> new NoSuchElementException("Pedido não encontrado"));
+            throw new IllegalStateException("Transição de status inválida: " + atual + " -> " + destino);
+        }
+    }
+
+    private void publicar(Long pedidoId, Long clienteId, Long restauranteId, StatusPedido status) {
+        eventPublisher.publishEvent(new PedidoStatusEvent(pedidoId, clienteId, restauranteId, status, LocalDateTime.now()));
     }
 }
@@ -1,52 +1,133 @@
 package com.deliverytech.delivery.service.impl;
 
+import com.deliverytech.delivery.config.CacheConfig;
+import com.deliverytech.delivery.dto.response.ProdutoResponse;
+import com.deliverytech.delivery.event.CatalogoAlteradoEvent;
 import com.deliverytech.delivery.model.Produto;
 import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.ProdutoRepository.ProdutoRestaurante;
+import com.deliverytech.delivery.service.CatalogoVersaoService;
 import com.deliverytech.delivery.service.ProdutoService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class ProdutoServiceImpl implements ProdutoService {
 
     private final ProdutoRepository produtoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogoVersaoService catalogoVersaoService;
 
     @Override
+    @Transactional
     public Produto cadastrar(Produto produto) {
-        return produtoRepository.save(produto);
+        versionar(produto);
+        Produto salvo = produtoRepository.save(produto);
+        publicar(salvo);
+        return salvo;
     }
 
     @Override
-    public Optional<Produto> buscarPorId(Long id) {
-        return produtoRepository.findById(id);
+    @Cacheable(cacheNames = CacheConfig.PRODUTOS, unless = "#result == null")
+    public Optional<ProdutoResponse> buscarPorId(Long id) {
+        return produtoRepository.findById(id).map(this::paraResponse);
     }
 
     @Override
-    public List<Produto> buscarPorRestaurante(Long restauranteId) {
-        return produtoRepository.findByRestauranteId(restauranteId);
+    @Cacheable(cacheNames = CacheConfig.PRODUTOS_POR_RESTAURANTE)
+    public List<ProdutoResponse> buscarPorRestaurante(Long restauranteId) {
+        // Imutável, já que a mesma lista é devolvida a todos enquanto estiver no cache
+        return produtoRepository.findByRestauranteId(restauranteId).stream()
+                .map(this::paraResponse)
+                .toList();
     }
 
     @Override
+    @Transactional
     public Produto atualizar(Long id, Produto atualizado) {
-        return produtoRepository.findById(id)
+        Produto salvo = produtoRepository.findById(id)
             .map(p -> {
                 p.setNome(atualizado.getNome());
                 p.setDescricao(atualizado.getDescricao());
                 p.setCategoria(atualizado.getCategoria());
                 p.setPreco(atualizado.getPreco());
+                versionar(p);
                 return produtoRepository.save(p);
             }).orElseThrow(() -> new RuntimeException("Produto não encontrado"));
+        publicar(salvo);
+        return salvo;
     }
 
     @Override
+    @Transactional
     public void alterarDisponibilidade(Long id, boolean disponivel) {
-        produtoRepository.findById(id).ifPresent(p -> {
-            p.setDisponivel(disponivel);
-            produtoRepository.save(p);
-        });
+        Produto produto = produtoRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Produto não encontrado"));
+        produto.setDisponivel(disponivel);
+        versionar(produto);
+        publicar(produtoRepository.save(produto));
+    }
+
+    @Override
+    @Transactional
+    public int alterarDisponibilidade(Collection<Long> ids, boolean disponivel) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return alterarEmLote(produtoRepository.findAlteraveisPorId(ids, disponivel), disponivel);
+    }
+
+    @Override
+    @Transactional
+    public int alterarDisponibilidadePorCategoria(Long restauranteId, String categoria, boolean disponivel) {
+        return alterarEmLote(produtoRepository.findAlteraveisPorCategoria(restauranteId, categoria, disponivel), disponivel);
+    }
+
+    // Um UPDATE e um evento por restaurante, em vez de um load/save e um evento por produto
+    private int alterarEmLote(List<ProdutoRestaurante> alvos, boolean disponivel) {
+        Map<Long, Set<Long>> porRestaurante = new HashMap<>();
+        for (ProdutoRestaurante alvo : alvos) {
+            porRestaurante.computeIfAbsent(alvo.getRestauranteId(), r -> new HashSet<>()).add(alvo.getId());
+        }
+        int alterados = 0;
+        for (Map.Entry<Long, Set<Long>> entrada : porRestaurante.entrySet()) {
+            Long restauranteId = entrada.getKey();
+            long versao = restauranteId != null ? catalogoVersaoService.incrementar(restauranteId) : 0L;
+            alterados += produtoRepository.alterarDisponibilidade(entrada.getValue(), disponivel, versao);
+            eventPublisher.publishEvent(new CatalogoAlteradoEvent(restauranteId, entrada.getValue()));
+        }
+        return alterados;
+    }
+
+    // O cache guarda DTOs imutáveis, nunca a entidade gerenciada
+    private ProdutoResponse paraResponse(Produto p) {
+        return new ProdutoResponse(p.getId(), p.getNome(), p.getCategoria(), p.getDescricao(), p.getPreco(), p.getDisponivel());
+    }
+
+    private void versionar(Produto produto) {
+        if (produto.getRestaurante() != null && produto.getRestaurante().getId() != null) {
+            produto.setVersaoCatalogo(catalogoVersaoService.incrementar(produto.getRestaurante().getId()));
+        }
+    }
+
+    private void publicar(Produto produto) {
+        if (produto == null) {
+            return;
+        }
+        Long restauranteId = produto.getRestaurante() != null ? produto.getRestaurante().getId() : null;
+        eventPublisher.publishEvent(new CatalogoAlteradoEvent(restauranteId, Collections.singleton(produto.getId())));
     }
 }
@@ -1,9 +1,16 @@
 package com.deliverytech.delivery.service.impl;
 
+import com.deliverytech.delivery.config.CacheConfig;
+import com.deliverytech.delivery.dto.response.RestauranteResponse;
+import com.deliverytech.delivery.event.RestauranteAlteradoEvent;
 import com.deliverytech.delivery.model.Restaurante;
 import com.deliverytech.delivery.repository.RestauranteRepository;
 import com.deliverytech.delivery.service.RestauranteService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -14,15 +21,22 @@ import java.util.Optional;
 public class RestauranteServiceImpl implements RestauranteService {
 
     private final RestauranteRepository restauranteRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Restaurante cadastrar(Restaurante restaurante) {
-        return restauranteRepository.save(restaurante);
+        Restaurante salvo = restauranteRepository.save(restaurante);
+        eventPublisher.publishEvent(new RestauranteAlteradoEvent(salvo.getId()));
+        return salvo;
     }
 
     @Override
-    public Optional<Restaurante> buscarPorId(Long id) {
-        return restauranteRepository.findById(id);
+    @Cacheable(cacheNames = CacheConfig.RESTAURANTES, unless = "#result == null")
+    public Optional<RestauranteResponse> buscarPorId(Long id) {
+        // O cache guarda DTOs imutáveis, nunca a entidade gerenciada
+        return restauranteRepository.findById(id)
+                .map(r -> new RestauranteResponse(r.getId(), r.getNome(), r.getCategoria(), r.getTelefone(),
+                        r.getTaxaEntrega(), r.getTempoEntregaMinutos(), r.getAtivo()));
     }
 
     @Override
@@ -30,6 +44,11 @@ public class RestauranteServiceImpl implements RestauranteService {
         return restauranteRepository.findAll();
     }
 
+    @Override
+    public Slice<RestauranteResponse> listarTodos(Pageable pageable) {
+        return restauranteRepository.listarResumo(pageable);
+    }
+
     @Override
     public List<Restaurante> buscarPorCategoria(String categoria) {
         return restauranteRepository.findByCategoria(categoria);
@@ -37,7 +56,7 @@ public class RestauranteServiceImpl implements RestauranteService {
 
     @Override
     public Restaurante atualizar(Long id, Restaurante atualizado) {
-        return restauranteRepository.findById(id)
+        Restaurante salvo = restauranteRepository.findById(id)
             .map(r -> {
                 r.setNome(atualizado.getNome());
                 r.setTelefone(atualizado.getTelefone());
@@ -46,5 +65,7 @@ public class RestauranteServiceImpl implements RestauranteService {
                 r.setTempoEntregaMinutos(atualizado.getTempoEntregaMinutos());
                 return restauranteRepository.save(r);
             }).orElseThrow(() -> new RuntimeException("Restaurante não encontrado"));
+        eventPublisher.publishEvent(new RestauranteAlteradoEvent(id));
+        return salvo;
     }
 }
@@ -0,0 +1,66 @@
+package com.deliverytech.delivery.service.impl;
+
+import com.deliverytech.delivery.config.CacheConfig;
+import com.deliverytech.delivery.event.UsuarioAlteradoEvent;
+import com.deliverytech.delivery.model.Usuario;
+import com.deliverytech.delivery.repository.UsuarioRepository;
+import com.deliverytech.delivery.security.RevogacaoTokens;
+import com.deliverytech.delivery.service.UsuarioService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+// Login e cadastro consultam o usuário por email várias vezes na mesma requisição;
+// as leituras passam pelos caches usuarios/usuariosPorId, limpos pelo UsuarioCacheListener.
+// O Usuario em cache é compartilhado: alterações sempre partem do repositório.
+@Service
+@RequiredArgsConstructor
+public class UsuarioServiceImpl implements UsuarioService {
+
+    private final UsuarioRepository usuarioRepository;
+    private final RevogacaoTokens revogacaoTokens;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public Usuario cadastrar(Usuario usuario) {
+        return usuarioRepository.save(usuario);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.USUARIOS, unless = "#result == null")
+    public Optional<Usuario> buscarPorEmail(String email) {
+        return usuarioRepository.findByEmail(email);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.USUARIOS_POR_ID, unless = "#result == null")
+    public Optional<Usuario> buscarPorId(Long id) {
+        return usuarioRepository.findById(id);
+    }
+
+    @Override
+    public void alterarStatus(Long id, boolean ativo) {
+        Usuario usuario = usuarioRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        usuario.setAtivo(ativo);
+        usuarioRepository.save(usuario);
+        if (!ativo) {
+            // Os tokens já emitidos continuariam válidos até expirar
+            revogacaoTokens.revogar(id);
+        }
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent(id, usuario.getEmail()));
+    }
+
+    @Override
+    @Transactional
+    public void atualizarSenha(String email, String hash) {
+        Usuario usuario = usuarioRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        usuario.setSenha(hash);
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent(usuario.getId(), email));
+    }
+}
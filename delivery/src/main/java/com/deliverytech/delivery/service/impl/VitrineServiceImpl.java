@@ -0,0 +1,53 @@
+package com.deliverytech.delivery.service.impl;
+
+import com.deliverytech.delivery.dto.response.RestauranteResponse;
+import com.deliverytech.delivery.event.RestauranteAlteradoEvent;
+import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.search.VitrineRestaurantes;
+import com.deliverytech.delivery.search.VitrineRestaurantes.Ordenacao;
+import com.deliverytech.delivery.service.VitrineService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Vitrine carregada na subida e mantida a partir das escritas do RestauranteService,
+// então as consultas da tela inicial não vão ao banco
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VitrineServiceImpl implements VitrineService {
+
+    private final RestauranteRepository restauranteRepository;
+    private final VitrineRestaurantes vitrine = new VitrineRestaurantes();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        restauranteRepository.findAll().forEach(r -> vitrine.atualizar(paraResponse(r)));
+        log.info("Vitrine montada com {} restaurantes", vitrine.tamanho());
+    }
+
+    @Override
+    public List<RestauranteResponse> consultar(String categoria, Boolean ativo, BigDecimal taxaMaxima,
+            Integer tempoMaximo, Ordenacao ordenacao, int limite) {
+        return vitrine.consultar(categoria, ativo, taxaMaxima, tempoMaximo, ordenacao, limite);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void restauranteAlterado(RestauranteAlteradoEvent evento) {
+        restauranteRepository.findById(evento.restauranteId()).ifPresentOrElse(
+                r -> vitrine.atualizar(paraResponse(r)),
+                () -> vitrine.remover(evento.restauranteId()));
+    }
+
+    private static RestauranteResponse paraResponse(Restaurante r) {
+        return new RestauranteResponse(r.getId(), r.getNome(), r.getCategoria(), r.getTelefone(),
+                r.getTaxaEntrega(), r.getTempoEntregaMinutos(), r.getAtivo());
+    }
+}
@@ -0,0 +1,97 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.deliverytech.delivery.model.Role;
+import com.deliverytech.delivery.security.LimiteRequisicoes;
+import com.deliverytech.delivery.security.LimiteRequisicoesFilter;
+import com.deliverytech.delivery.security.UsuarioAutenticado;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Custo do LimiteRequisicoesFilter por requisição: cadeia vazia sem filtro x usuário autenticado
+// (sempre o mesmo balde) x anônimo vindo de 100 mil IPs diferentes x 4 threads no mesmo balde.
+// O relógio avança 1 ms por leitura para que nenhuma requisição seja recusada.
+// Executar com: mvn test-compile exec:java -Dexec.classpathScope=test
+//   -Dexec.mainClass=com.deliverytech.delivery.benchmark.LimiteRequisicoesBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LimiteRequisicoesBenchmark {
+
+    private static final int IPS = 100_000;
+    private static final FilterChain CADEIA_VAZIA = (request, response) -> { };
+
+    private LimiteRequisicoesFilter filtro;
+    private String[] ips;
+
+    @State(Scope.Thread)
+    public static class Requisicao {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/restaurantes/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        int proximoIp;
+    }
+
+    @Setup
+    public void setUp() {
+        AtomicLong relogio = new AtomicLong();
+        LimiteRequisicoes limite = new LimiteRequisicoes(true, new int[] {16_000, 16_000, 16_000},
+                new int[] {16_000, 16_000, 16_000}, 1_000_000, relogio::incrementAndGet);
+        filtro = new LimiteRequisicoesFilter(limite);
+        ips = new String[IPS];
+        for (int i = 0; i < IPS; i++) {
+            ips[i] = "10." + (i >> 16) + "." + ((i >> 8) & 0xff) + "." + (i & 0xff);
+        }
+    }
+
+    private static void autenticar() {
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    new UsuarioAutenticado(42L, "cliente@email.com", Role.CLIENTE, null), null, List.of()));
+        }
+    }
+
+    @Benchmark
+    public void semFiltro(Requisicao r) throws Exception {
+        CADEIA_VAZIA.doFilter(r.request, r.response);
+    }
+
+    @Benchmark
+    public void usuarioAutenticado(Requisicao r) throws Exception {
+        autenticar();
+        filtro.doFilter(r.request, r.response, CADEIA_VAZIA);
+    }
+
+    @Benchmark
+    public void anonimoMuitosIps(Requisicao r) throws Exception {
+        SecurityContextHolder.clearContext();
+        r.request.setRemoteAddr(ips[r.proximoIp++ % IPS]);
+        filtro.doFilter(r.request, r.response, CADEIA_VAZIA);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void mesmoUsuario4Threads(Requisicao r) throws Exception {
+        autenticar();
+        filtro.doFilter(r.request, r.response, CADEIA_VAZIA);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LimiteRequisicoesBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,103 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.deliverytech.delivery.model.Dinheiro;
+import com.deliverytech.delivery.model.ItemPedido;
+import com.deliverytech.delivery.model.Pedido;
+import com.deliverytech.delivery.model.Produto;
+import com.deliverytech.delivery.model.Restaurante;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Cálculo do total de um pedido: pipeline antigo com BigDecimal em stream x o laço de
+// PedidoServiceImpl.montarPedido sobre entidades Produto, convertendo o preço a cada item
+// (como era) ou somando em long os centavos gravados no produto (como é hoje).
+// Executar com: mvn test-compile exec:java -Dexec.classpathScope=test
+//   -Dexec.mainClass=com.deliverytech.delivery.benchmark.TotalPedidoBenchmark
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TotalPedidoBenchmark {
+
+    @Param({"3", "20"})
+    private int itens;
+
+    private Produto[] produtos;
+    private int[] quantidades;
+    private Restaurante restaurante;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        restaurante = Restaurante.builder().id(1L).taxaEntrega(new BigDecimal("7.90")).build();
+        produtos = new Produto[itens];
+        quantidades = new int[itens];
+        for (int i = 0; i < itens; i++) {
+            // Como carregado do banco: preço e centavos preenchidos
+            Produto produto = Produto.builder().id((long) i).restaurante(restaurante).build();
+            produto.setPreco(BigDecimal.valueOf(500 + random.nextInt(10_000), 2));
+            produtos[i] = produto;
+            quantidades[i] = 1 + random.nextInt(4);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalStream() {
+        return IntStream.range(0, itens)
+                .mapToObj(i -> produtos[i].getPreco().multiply(BigDecimal.valueOf(quantidades[i])))
+                .reduce(restaurante.getTaxaEntrega(), BigDecimal::add);
+    }
+
+    @Benchmark
+    public Pedido conversaoPorItem() {
+        return montar(true);
+    }
+
+    @Benchmark
+    public Pedido centavosDoProduto() {
+        return montar(false);
+    }
+
+    // Mesmo laço de montarPedido: monta os itens e soma o total
+    private Pedido montar(boolean converterPorItem) {
+        Pedido pedido = Pedido.builder().restaurante(restaurante).build();
+        List<ItemPedido> lista = new ArrayList<>(itens);
+        Dinheiro total = Dinheiro.de(restaurante.getTaxaEntrega());
+        long centavos = total.centavos();
+        for (int i = 0; i < itens; i++) {
+            Produto produto = produtos[i];
+            lista.add(ItemPedido.builder()
+                    .pedido(pedido)
+                    .produto(produto)
+                    .quantidade(quantidades[i])
+                    .precoUnitario(produto.getPreco())
+                    .build());
+            if (converterPorItem) {
+                total = total.mais(Dinheiro.de(produto.getPreco()).vezes(quantidades[i]));
+            } else {
+                centavos = Math.addExact(centavos, Math.multiplyExact(produto.precoEmCentavos(), quantidades[i]));
+            }
+        }
+        pedido.setItens(lista);
+        pedido.setTotal(converterPorItem ? total : Dinheiro.deCentavos(centavos));
+        return pedido;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TotalPedidoBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,76 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.deliverytech.delivery.security.VerificadorJwt;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// Verificação do Bearer a cada requisição: chave e parser montados por chamada (caminho antigo)
+// x parser reutilizado x cache de tokens já verificados.
+// Executar com: mvn test-compile exec:java -Dexec.classpathScope=test
+//   -Dexec.mainClass=com.deliverytech.delivery.benchmark.VerificacaoJwtBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VerificacaoJwtBenchmark {
+
+    private static final String SEGREDO = "super-secret-key-para-assinatura-jwt-muito-segura-e-grande-256bits";
+
+    private VerificadorJwt semCache;
+    private VerificadorJwt comCache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        semCache = new VerificadorJwt(SEGREDO, 0);
+        comCache = new VerificadorJwt(SEGREDO, 10_000);
+        long agora = System.currentTimeMillis();
+        token = Jwts.builder()
+                .claim("userId", 42L)
+                .claim("role", "CLIENTE")
+                .claim("restauranteId", null)
+                .setSubject("cliente@email.com")
+                .setIssuedAt(new Date(agora))
+                .setExpiration(new Date(agora + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(SEGREDO.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public Claims chaveEParserPorChamada() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SEGREDO.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    @Benchmark
+    public Claims parserReutilizado() {
+        return semCache.verificar(token);
+    }
+
+    @Benchmark
+    public Claims cacheVerificados() {
+        return comCache.verificar(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(VerificacaoJwtBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
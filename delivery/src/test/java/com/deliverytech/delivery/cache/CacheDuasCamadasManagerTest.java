@@ -0,0 +1,154 @@
+package com.deliverytech.delivery.cache;
+
+import com.deliverytech.delivery.config.CacheConfig;
+import com.deliverytech.delivery.event.RestauranteAlteradoEvent;
+import com.deliverytech.delivery.event.CatalogoCacheListener;
+import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.support.BarramentoInvalidacaoMemoria;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Dois nós compartilhando um "Redis" em memória (cache remoto + barramento)
+class CacheDuasCamadasManagerTest {
+
+    private ConcurrentMapCacheManager remoto;
+    private BarramentoInvalidacaoMemoria barramento;
+    private CacheDuasCamadasManager noA;
+    private CacheDuasCamadasManager noB;
+
+    private CacheDuasCamadasManager novoNo(BarramentoInvalidacao barramento) {
+        CaffeineCacheManager proximo = new CaffeineCacheManager();
+        proximo.setCacheSpecification("maximumSize=100,expireAfterWrite=1m");
+        return new CacheDuasCamadasManager(proximo, remoto, barramento, Set.of(CacheConfig.USUARIOS));
+    }
+
+    @BeforeEach
+    void setUp() {
+        remoto = new ConcurrentMapCacheManager();
+        barramento = new BarramentoInvalidacaoMemoria();
+        noA = novoNo(barramento);
+        noB = novoNo(barramento);
+    }
+
+    private Restaurante restaurante(String nome) {
+        return Restaurante.builder().id(1L).nome(nome).build();
+    }
+
+    @Test
+    void testLeituraEmOutroNoVemDoRemotoEFicaNoProximo() {
+        noA.getCache(CacheConfig.RESTAURANTES).put(1L, restaurante("A"));
+
+        Cache cacheB = noB.getCache(CacheConfig.RESTAURANTES);
+        assertEquals("A", cacheB.get(1L, Restaurante.class).getNome());
+
+        // Mesmo sem o remoto, o nó B responde pelo cache próximo
+        remoto.getCache(CacheConfig.RESTAURANTES).clear();
+        assertEquals("A", cacheB.get(1L, Restaurante.class).getNome());
+    }
+
+    @Test
+    void testEvictEmUmNoInvalidaOsOutros() {
+        Cache cacheA = noA.getCache(CacheConfig.RESTAURANTES);
+        Cache cacheB = noB.getCache(CacheConfig.RESTAURANTES);
+        cacheA.put(1L, restaurante("A"));
+        cacheB.get(1L);
+
+        cacheA.evict(1L);
+
+        assertNull(cacheB.get(1L));
+    }
+
+    @Test
+    void testPutDeLeituraNaoInvalidaOsOutrosNos() {
+        Cache cacheA = noA.getCache(CacheConfig.RESTAURANTES);
+        Cache cacheB = noB.getCache(CacheConfig.RESTAURANTES);
+        cacheA.put(1L, restaurante("A"));
+        cacheB.get(1L);
+        AtomicInteger invalidacoes = new AtomicInteger();
+        barramento.assinar(MensagemInvalidacao.class, m -> invalidacoes.incrementAndGet());
+
+        // Falta preenchida pelo @Cacheable: nenhuma mensagem para os outros nós
+        cacheA.put(2L, restaurante("Outro"));
+
+        assertEquals(0, invalidacoes.get());
+        assertEquals("A", cacheB.get(1L, Restaurante.class).getNome());
+    }
+
+    @Test
+    void testLeituraAntigaTerminadaDepoisDoEvictNaoVoltaAoRemoto() {
+        Cache cacheA = noA.getCache(CacheConfig.RESTAURANTES);
+        Cache cacheB = noB.getCache(CacheConfig.RESTAURANTES);
+        cacheA.put(1L, restaurante("A"));
+
+        // B começou a ler antes da alteração; A altera e invalida; só então B termina
+        cacheA.evict(1L);
+        cacheB.put(1L, restaurante("A"));
+
+        assertNull(cacheA.get(1L));
+        assertNull(cacheB.get(1L));
+
+        // Vencida a lápide (no Redis, pela validade), a chave volta a ser preenchida
+        remoto.getCache(CacheConfig.RESTAURANTES).evict(1L);
+        cacheB.put(1L, restaurante("B"));
+        assertEquals("B", cacheA.get(1L, Restaurante.class).getNome());
+    }
+
+    @Test
+    void testAtualizacaoDeRestauranteInvalidaTodosOsNos() {
+        Cache cacheB = noB.getCache(CacheConfig.RESTAURANTES);
+        cacheB.put(1L, restaurante("A"));
+        assertNotNull(cacheB.get(1L));
+
+        // O que o RestauranteServiceImpl.atualizar dispara no nó A
+        new CatalogoCacheListener(noA).restauranteAlterado(new RestauranteAlteradoEvent(1L));
+
+        assertNull(cacheB.get(1L));
+        assertNull(noA.getCache(CacheConfig.RESTAURANTES).get(1L));
+    }
+
+    @Test
+    void testCarregamentoUnicoComLoader() {
+        AtomicInteger carregamentos = new AtomicInteger();
+        Cache cacheA = noA.getCache(CacheConfig.PRODUTOS);
+        Cache cacheB = noB.getCache(CacheConfig.PRODUTOS);
+
+        assertEquals("x", cacheA.get(5L, () -> { carregamentos.incrementAndGet(); return "x"; }));
+        assertEquals("x", cacheB.get(5L, () -> { carregamentos.incrementAndGet(); return "y"; }));
+        assertEquals(1, carregamentos.get());
+    }
+
+    @Test
+    void testClearPropaga() {
+        Cache cacheA = noA.getCache(CacheConfig.PRODUTOS);
+        Cache cacheB = noB.getCache(CacheConfig.PRODUTOS);
+        cacheA.put(1L, "a");
+        cacheB.get(1L);
+
+        cacheA.clear();
+
+        assertNull(cacheB.get(1L));
+    }
+
+    @Test
+    void testCacheSomenteProximoNaoVaiParaORemotoMasInvalidaOsOutros() {
+        Cache cacheA = noA.getCache(CacheConfig.USUARIOS);
+        Cache cacheB = noB.getCache(CacheConfig.USUARIOS);
+        cacheA.put("ana@email.com", "usuario-a");
+        cacheB.put("ana@email.com", "usuario-b");
+
+        assertNull(remoto.getCache(CacheConfig.USUARIOS).get("ana@email.com"));
+        assertEquals("usuario-a", cacheA.get("ana@email.com").get());
+
+        cacheA.evict("ana@email.com");
+
+        assertNull(cacheB.get("ana@email.com"));
+    }
+}
@@ -0,0 +1,264 @@
+package com.deliverytech.delivery.cache;
+
+import com.deliverytech.delivery.DeliveryApplication;
+import com.deliverytech.delivery.config.CacheConfig;
+import com.deliverytech.delivery.dto.response.ProdutoResponse;
+import com.deliverytech.delivery.dto.response.RestauranteResponse;
+import com.deliverytech.delivery.model.Produto;
+import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.model.Role;
+import com.deliverytech.delivery.model.Usuario;
+import com.deliverytech.delivery.search.IndiceBusca;
+import com.deliverytech.delivery.search.VitrineRestaurantes;
+import com.deliverytech.delivery.security.RevogacaoTokens;
+import com.deliverytech.delivery.service.BuscaService;
+import com.deliverytech.delivery.service.CardapioService;
+import com.deliverytech.delivery.service.ProdutoService;
+import com.deliverytech.delivery.service.RestauranteService;
+import com.deliverytech.delivery.service.UsuarioService;
+import com.deliverytech.delivery.service.VitrineService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Dois nós da aplicação sobre um Redis em processo, com a configuração real do modo
+// duas-camadas: RedisCacheManager (serialização Java dos DTOs) e pub/sub de invalidação
+class CacheDuasCamadasRedisIntegrationTest {
+
+    private static RedisServer redis;
+    private static ConfigurableApplicationContext noA;
+    private static ConfigurableApplicationContext noB;
+
+    @BeforeAll
+    static void iniciar() throws IOException {
+        int porta;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            porta = socket.getLocalPort();
+        }
+        redis = new RedisServer(porta);
+        redis.start();
+        noA = iniciarNo(porta);
+        noB = iniciarNo(porta);
+    }
+
+    // Banco próprio, compartilhado pelos dois nós, para não mexer no dos outros testes.
+    // Argumentos de linha de comando para prevalecer sobre o application.properties
+    private static ConfigurableApplicationContext iniciarNo(int portaRedis) {
+        return new SpringApplicationBuilder(DeliveryApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:duascamadas;DB_CLOSE_DELAY=-1",
+                        "--delivery.cache.modo=duas-camadas",
+                        "--delivery.cache.remoto.ttl-lapide=100ms",
+                        "--spring.data.redis.port=" + portaRedis);
+    }
+
+    @AfterAll
+    static void encerrar() throws IOException {
+        if (noB != null) {
+            noB.close();
+        }
+        if (noA != null) {
+            noA.close();
+        }
+        if (redis != null) {
+            redis.stop();
+        }
+    }
+
+    // Só o cache próximo do nó: o remoto já é limpo pelo próprio nó que alterou
+    private static Cache proximo(ConfigurableApplicationContext no, String nome) {
+        return ((CacheDuasCamadas) no.getBean(CacheManager.class).getCache(nome)).getProximo();
+    }
+
+    // A invalidação chega pelo pub/sub, de forma assíncrona
+    private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condicao.getAsBoolean() && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        assertTrue(condicao.getAsBoolean());
+    }
+
+    // Depois de um evict, a chave só volta a ser gravada quando a lápide vence
+    private static void aguardarLapide(String cache, Long chave) throws InterruptedException {
+        StringRedisTemplate redisTemplate = noA.getBean(StringRedisTemplate.class);
+        aguardar(() -> !redisTemplate.hasKey("delivery:cache:" + cache + "::" + chave));
+    }
+
+    private static Restaurante cadastrarRestaurante(String nome) {
+        return noA.getBean(RestauranteService.class).cadastrar(Restaurante.builder()
+                .nome(nome)
+                .categoria("Pizza")
+                .telefone("11999999999")
+                .taxaEntrega(new BigDecimal("5.00"))
+                .tempoEntregaMinutos(30)
+                .build());
+    }
+
+    @Test
+    void testRestauranteAtualizadoEmUmNoSaiDoCacheDoOutro() throws InterruptedException {
+        Long id = cadastrarRestaurante("Pizzaria Redis").getId();
+        aguardarLapide(CacheConfig.RESTAURANTES, id);
+        RestauranteService servicoA = noA.getBean(RestauranteService.class);
+        RestauranteService servicoB = noB.getBean(RestauranteService.class);
+
+        // A preenche o Redis; B lê de lá (desserializa) e guarda no próprio cache próximo
+        servicoA.buscarPorId(id);
+        assertEquals("Pizzaria Redis", servicoB.buscarPorId(id).orElseThrow().getNome());
+        assertNotNull(proximo(noB, CacheConfig.RESTAURANTES).get(id));
+
+        RestauranteResponse lido = servicoA.buscarPorId(id).orElseThrow();
+        servicoA.atualizar(id, Restaurante.builder()
+                .nome("Pizzaria Redis Nova")
+                .categoria(lido.getCategoria())
+                .telefone(lido.getTelefone())
+                .taxaEntrega(lido.getTaxaEntrega())
+                .tempoEntregaMinutos(lido.getTempoEntregaMinutos())
+                .build());
+
+        aguardar(() -> proximo(noB, CacheConfig.RESTAURANTES).get(id) == null);
+        assertEquals("Pizzaria Redis Nova", servicoB.buscarPorId(id).orElseThrow().getNome());
+    }
+
+    @Test
+    void testProdutoAtualizadoEmUmNoSaiDoCacheDoOutro() throws InterruptedException {
+        Restaurante restaurante = cadastrarRestaurante("Cantina Redis");
+        ProdutoService servicoA = noA.getBean(ProdutoService.class);
+        ProdutoService servicoB = noB.getBean(ProdutoService.class);
+        Long id = servicoA.cadastrar(Produto.builder()
+                .nome("Lasanha")
+                .categoria("Massas")
+                .descricao("Lasanha à bolonhesa")
+                .preco(new BigDecimal("42.00"))
+                .restaurante(restaurante)
+                .build()).getId();
+        aguardarLapide(CacheConfig.PRODUTOS, id);
+        aguardarLapide(CacheConfig.PRODUTOS_POR_RESTAURANTE, restaurante.getId());
+
+        servicoA.buscarPorId(id);
+        servicoA.buscarPorRestaurante(restaurante.getId());
+        assertEquals("Lasanha", servicoB.buscarPorId(id).orElseThrow().getNome());
+        assertEquals(1, servicoB.buscarPorRestaurante(restaurante.getId()).size());
+
+        ProdutoResponse lido = servicoA.buscarPorId(id).orElseThrow();
+        servicoA.atualizar(id, Produto.builder()
+                .nome(lido.getNome())
+                .categoria(lido.getCategoria())
+                .descricao(lido.getDescricao())
+                .preco(new BigDecimal("45.00"))
+                .build());
+
+        aguardar(() -> proximo(noB, CacheConfig.PRODUTOS).get(id) == null
+                && proximo(noB, CacheConfig.PRODUTOS_POR_RESTAURANTE).get(restaurante.getId()) == null);
+        assertEquals(0, new BigDecimal("45.00").compareTo(servicoB.buscarPorId(id).orElseThrow().getPreco()));
+    }
+
+    @Test
+    void testUsuarioFicaSoNoCacheProximoEInvalidaOOutroNo() throws InterruptedException {
+        UsuarioService servicoA = noA.getBean(UsuarioService.class);
+        UsuarioService servicoB = noB.getBean(UsuarioService.class);
+        Usuario usuario = servicoA.cadastrar(Usuario.builder()
+                .email("redis-" + UUID.randomUUID() + "@email.com")
+                .senha("hash-da-senha")
+                .nome("Usuario Redis")
+                .role(Role.CLIENTE)
+                .build());
+
+        servicoA.buscarPorEmail(usuario.getEmail());
+        servicoA.buscarPorId(usuario.getId());
+        servicoB.buscarPorEmail(usuario.getEmail());
+        // O hash da senha não vai para o Redis compartilhado
+        assertTrue(noA.getBean(StringRedisTemplate.class).keys("delivery:cache:usuarios*").isEmpty());
+
+        servicoA.alterarStatus(usuario.getId(), false);
+
+        aguardar(() -> proximo(noB, CacheConfig.USUARIOS).get(usuario.getEmail()) == null);
+        assertFalse(servicoB.buscarPorEmail(usuario.getEmail()).orElseThrow().getAtivo());
+    }
+
+    @Test
+    void testTokenDeUsuarioDesativadoEmUmNoDeixaDeValerNoOutro() throws InterruptedException {
+        UsuarioService servicoA = noA.getBean(UsuarioService.class);
+        Usuario usuario = servicoA.cadastrar(Usuario.builder()
+                .email("revogado-" + UUID.randomUUID() + "@email.com")
+                .senha("hash-da-senha")
+                .nome("Usuario Revogado")
+                .role(Role.CLIENTE)
+                .build());
+        Date emitidoEm = new Date();
+        RevogacaoTokens revogacaoB = noB.getBean(RevogacaoTokens.class);
+        assertFalse(revogacaoB.revogado(usuario.getId(), emitidoEm));
+
+        servicoA.alterarStatus(usuario.getId(), false);
+
+        aguardar(() -> revogacaoB.revogado(usuario.getId(), emitidoEm));
+    }
+
+    @Test
+    void testAlteracaoEmUmNoAtualizaOEstadoEmMemoriaDoOutro() throws InterruptedException {
+        String categoria = "Replicada " + UUID.randomUUID();
+        Restaurante restaurante = noA.getBean(RestauranteService.class).cadastrar(Restaurante.builder()
+                .nome("Trattoria Replicada")
+                .categoria(categoria)
+                .telefone("11999999999")
+                .taxaEntrega(new BigDecimal("5.00"))
+                .tempoEntregaMinutos(30)
+                .build());
+        Long produtoId = noA.getBean(ProdutoService.class).cadastrar(Produto.builder()
+                .nome("Nhoque")
+                .categoria("Massas")
+                .descricao("Nhoque ao sugo")
+                .preco(new BigDecimal("38.00"))
+                .restaurante(restaurante)
+                .build()).getId();
+
+        VitrineService vitrineB = noB.getBean(VitrineService.class);
+        BuscaService buscaB = noB.getBean(BuscaService.class);
+        CardapioService cardapioB = noB.getBean(CardapioService.class);
+        // Cadastros feitos no nó A chegam à vitrine e ao índice de busca do nó B
+        aguardar(() -> vitrineB.consultar(categoria, null, null, null, VitrineRestaurantes.Ordenacao.NOME, 10).size() == 1
+                && buscaB.buscar("nhoque", IndiceBusca.Tipo.PRODUTO, 10).stream().anyMatch(r -> r.getId().equals(produtoId)));
+        String etagAntes = cardapioB.snapshot(restaurante.getId()).orElseThrow().etag();
+
+        ProdutoResponse lido = noA.getBean(ProdutoService.class).buscarPorId(produtoId).orElseThrow();
+        noA.getBean(ProdutoService.class).atualizar(produtoId, Produto.builder()
+                .nome("Nhoque Gratinado")
+                .categoria(lido.getCategoria())
+                .descricao(lido.getDescricao())
+                .preco(lido.getPreco())
+                .build());
+        RestauranteResponse restauranteLido = noA.getBean(RestauranteService.class).buscarPorId(restaurante.getId()).orElseThrow();
+        noA.getBean(RestauranteService.class).atualizar(restaurante.getId(), Restaurante.builder()
+                .nome("Trattoria Renomeada")
+                .categoria(categoria)
+                .telefone(restauranteLido.getTelefone())
+                .taxaEntrega(restauranteLido.getTaxaEntrega())
+                .tempoEntregaMinutos(restauranteLido.getTempoEntregaMinutos())
+                .build());
+
+        aguardar(() -> !cardapioB.snapshot(restaurante.getId()).orElseThrow().etag().equals(etagAntes)
+                && buscaB.buscar("gratinado", IndiceBusca.Tipo.PRODUTO, 10).stream().anyMatch(r -> r.getId().equals(produtoId))
+                && vitrineB.consultar(categoria, null, null, null, VitrineRestaurantes.Ordenacao.NOME, 10)
+                        .get(0).getNome().equals("Trattoria Renomeada"));
+        assertTrue(new String(cardapioB.snapshot(restaurante.getId()).orElseThrow().json(), StandardCharsets.UTF_8)
+                .contains("Nhoque Gratinado"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.deliverytech.delivery.controller;
+
+import com.deliverytech.delivery.dto.request.ProdutoRequest;
+import com.deliverytech.delivery.dto.request.RestauranteRequest;
+import com.deliverytech.delivery.dto.response.ProdutoResponse;
+import com.deliverytech.delivery.dto.response.RestauranteResponse;
+import com.deliverytech.delivery.dto.response.ResultadoBuscaResponse;
+import com.deliverytech.delivery.search.IndiceBusca.Tipo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class BuscaControllerIntegrationTest {
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private String getBaseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    private HttpHeaders authHeaders() {
+        String email = "buscaadmin@email.com";
+        String senha = "buscapass";
+        String json = String.format("{\"nome\":\"Busca Admin\",\"email\":\"%s\",\"senha\":\"%s\",\"role\":\"ADMIN\"}", email, senha);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        restTemplate.postForEntity(getBaseUrl() + "/api/auth/register", new HttpEntity<>(json, headers), String.class);
+        String loginJson = String.format("{\"email\":\"%s\",\"senha\":\"%s\"}", email, senha);
+        String token = restTemplate.postForEntity(getBaseUrl() + "/api/auth/login", new HttpEntity<>(loginJson, headers), String.class).getBody();
+        headers.setBearerAuth(token);
+        return headers;
+    }
+
+    @Test
+    void testBuscaEncontraProdutoCadastradoEAlterado() {
+        HttpHeaders headers = authHeaders();
+        RestauranteRequest restReq = new RestauranteRequest("Tacos Azteca", "Mexicana", "11999999999", new BigDecimal("6.0"), 30);
+        Long restauranteId = restTemplate.postForEntity(getBaseUrl() + "/api/restaurantes", new HttpEntity<>(restReq, headers), RestauranteResponse.class)
+                .getBody().getId();
+        ProdutoRequest prodReq = new ProdutoRequest("Quesadilla Jalapeño", "Mexicana", "Tortilha com queijo", new BigDecimal("28.0"), restauranteId);
+        Long produtoId = restTemplate.postForEntity(getBaseUrl() + "/api/produtos", new HttpEntity<>(prodReq, headers), ProdutoResponse.class)
+                .getBody().getId();
+
+        HttpEntity<Void> getEntity = new HttpEntity<>(headers);
+        ResponseEntity<ResultadoBuscaResponse[]> resp = restTemplate.exchange(getBaseUrl() + "/api/busca?q=quesad jalapeno",
+                HttpMethod.GET, getEntity, ResultadoBuscaResponse[].class);
+        assertEquals(HttpStatus.OK, resp.getStatusCode());
+        assertEquals(1, resp.getBody().length);
+        assertEquals(produtoId, resp.getBody()[0].getId());
+        assertEquals(Tipo.PRODUTO, resp.getBody()[0].getTipo());
+        assertEquals(restauranteId, resp.getBody()[0].getRestauranteId());
+
+        restTemplate.exchange(getBaseUrl() + "/api/produtos/" + produtoId + "/disponibilidade?disponivel=false",
+                HttpMethod.PATCH, getEntity, Void.class);
+        resp = restTemplate.exchange(getBaseUrl() + "/api/busca?q=quesadilla", HttpMethod.GET, getEntity, ResultadoBuscaResponse[].class);
+        assertEquals(0, resp.getBody().length);
+
+        resp = restTemplate.exchange(getBaseUrl() + "/api/busca?q=azteca&tipo=RESTAURANTE", HttpMethod.GET, getEntity, ResultadoBuscaResponse[].class);
+        assertEquals(restauranteId, resp.getBody()[0].getId());
+    }
+}
@@ -0,0 +1,106 @@
+package com.deliverytech.delivery.controller;
+
+import com.deliverytech.delivery.dto.request.ClienteRequest;
+import com.deliverytech.delivery.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery.dto.request.PedidoRequest;
+import com.deliverytech.delivery.dto.request.ProdutoRequest;
+import com.deliverytech.delivery.dto.request.RestauranteRequest;
+import com.deliverytech.delivery.dto.response.*;
+import com.deliverytech.delivery.model.Endereco;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "delivery.pedidos.ingestao.modo=assincrono")
+@ActiveProfiles("test")
+class PedidoControllerAssincronoIntegrationTest {
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private String getBaseUrl() {
+        return "http://localhost:" + port + "/api/pedidos";
+    }
+
+    private HttpHeaders authHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String json = "{\"nome\":\"Admin Fila\",\"email\":\"adminfila@email.com\",\"senha\":\"filapass\",\"role\":\"ADMIN\"}";
+        restTemplate.postForEntity("http://localhost:" + port + "/api/auth/register", new HttpEntity<>(json, headers), String.class);
+        String login = "{\"email\":\"adminfila@email.com\",\"senha\":\"filapass\"}";
+        headers.setBearerAuth(restTemplate.postForEntity("http://localhost:" + port + "/api/auth/login",
+                new HttpEntity<>(login, headers), String.class).getBody());
+        return headers;
+    }
+
+    private PedidoRequest novoPedidoRequest(HttpHeaders headers) {
+        String base = "http://localhost:" + port;
+        ClienteRequest clienteReq = new ClienteRequest("Cliente Fila", UUID.randomUUID() + "@email.com");
+        Long clienteId = restTemplate.postForEntity(base + "/api/clientes", new HttpEntity<>(clienteReq, headers), ClienteResponse.class)
+                .getBody().getId();
+        RestauranteRequest restReq = new RestauranteRequest("Restaurante Fila", "Italiana", "11999999999", new BigDecimal("5.0"), 30);
+        Long restauranteId = restTemplate.postForEntity(base + "/api/restaurantes", new HttpEntity<>(restReq, headers), RestauranteResponse.class)
+                .getBody().getId();
+        ProdutoRequest prodReq = new ProdutoRequest("Pizza", "Italiana", "Pizza de mussarela", new BigDecimal("40.0"), restauranteId);
+        Long produtoId = restTemplate.postForEntity(base + "/api/produtos", new HttpEntity<>(prodReq, headers), ProdutoResponse.class)
+                .getBody().getId();
+        Endereco endereco = new Endereco("Rua B", "20", "Centro", "São Paulo", "SP", "01000-000");
+        return new PedidoRequest(clienteId, restauranteId, endereco, List.of(new ItemPedidoRequest(produtoId, 1)));
+    }
+
+    @Test
+    void testRepeticaoComIdempotencyKeyDevolveOMesmoProtocolo() throws InterruptedException {
+        HttpHeaders headers = authHeaders();
+        PedidoRequest req = novoPedidoRequest(headers);
+        headers.set("Idempotency-Key", UUID.randomUUID().toString());
+
+        ResponseEntity<IngestaoPedidoResponse> primeira = restTemplate.postForEntity(getBaseUrl(), new HttpEntity<>(req, headers), IngestaoPedidoResponse.class);
+        ResponseEntity<IngestaoPedidoResponse> repetida = restTemplate.postForEntity(getBaseUrl(), new HttpEntity<>(req, headers), IngestaoPedidoResponse.class);
+        assertEquals(HttpStatus.ACCEPTED, primeira.getStatusCode());
+        assertEquals(HttpStatus.ACCEPTED, repetida.getStatusCode());
+        assertEquals(primeira.getBody().getProtocolo(), repetida.getBody().getProtocolo());
+        assertEquals("true", repetida.getHeaders().getFirst("Idempotent-Replayed"));
+
+        // Espera o worker gravar: só um pedido para o cliente
+        String protocolo = primeira.getBody().getProtocolo();
+        IngestaoPedidoResponse situacao = null;
+        for (int i = 0; i < 100; i++) {
+            situacao = restTemplate.exchange(getBaseUrl() + "/ingestao/" + protocolo, HttpMethod.GET,
+                    new HttpEntity<>(headers), IngestaoPedidoResponse.class).getBody();
+            if (situacao.getSituacao() != IngestaoPedidoResponse.Situacao.PENDENTE) {
+                break;
+            }
+            Thread.sleep(50);
+        }
+        assertEquals(IngestaoPedidoResponse.Situacao.CRIADO, situacao.getSituacao());
+
+        ResponseEntity<PaginaPedidosResponse> pagina = restTemplate.exchange(
+                getBaseUrl() + "?clienteId=" + req.getClienteId(), HttpMethod.GET, new HttpEntity<>(headers), PaginaPedidosResponse.class);
+        assertEquals(1, pagina.getBody().getPedidos().size());
+    }
+
+    @Test
+    void testIdempotencyKeyReutilizadaComOutroCorpoNaoEnfileira() {
+        HttpHeaders headers = authHeaders();
+        PedidoRequest req = novoPedidoRequest(headers);
+        headers.set("Idempotency-Key", UUID.randomUUID().toString());
+        restTemplate.postForEntity(getBaseUrl(), new HttpEntity<>(req, headers), IngestaoPedidoResponse.class);
+
+        req.getItens().get(0).setQuantidade(2);
+        ResponseEntity<String> resp = restTemplate.postForEntity(getBaseUrl(), new HttpEntity<>(req, headers), String.class);
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, resp.getStatusCode());
+    }
+}
@@ -0,0 +1,171 @@
+package com.deliverytech.delivery.controller;
+
+import com.deliverytech.delivery.dto.request.ClienteRequest;
+import com.deliverytech.delivery.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery.dto.request.PedidoRequest;
+import com.deliverytech.delivery.dto.request.ProdutoRequest;
+import com.deliverytech.delivery.dto.request.RestauranteRequest;
+import com.deliverytech.delivery.dto.response.*;
+import com.deliverytech.delivery.model.Endereco;
+import com.deliverytech.delivery.model.StatusPedido;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class PedidoControllerIntegrationTest {
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private String getBaseUrl() {
+        return "http://localhost:" + port + "/api/pedidos";
+    }
+
+    private String getJwtToken() {
+        String email = "pedidoadmin@email.com";
+        String senha = "pedidopass";
+        String registerUrl = "http://localhost:" + port + "/api/auth/register";
+        String loginUrl = "http://localhost:" + port + "/api/auth/login";
+        String json = String.format("{\"nome\":\"Pedido Admin\",\"email\":\"%s\",\"senha\":\"%s\",\"role\":\"ADMIN\"}", email, senha);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        restTemplate.postForEntity(registerUrl, new HttpEntity<>(json, headers), String.class);
+        String loginJson = String.format("{\"email\":\"%s\",\"senha\":\"%s\"}", email, senha);
+        return restTemplate.postForEntity(loginUrl, new HttpEntity<>(loginJson, headers), String.class).getBody();
+    }
+
+    private HttpHeaders authHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(getJwtToken());
+        return headers;
+    }
+
+    private PedidoRequest novoPedidoRequest(HttpHeaders headers) {
+        String base = "http://localhost:" + port;
+        ClienteRequest clienteReq = new ClienteRequest("Cliente Pedido", UUID.randomUUID() + "@email.com");
+        Long clienteId = restTemplate.postForEntity(base + "/api/clientes", new HttpEntity<>(clienteReq, headers), ClienteResponse.class)
+                .getBody().getId();
+        RestauranteRequest restReq = new RestauranteRequest("Restaurante Pedido", "Japonesa", "11999999999", new BigDecimal("5.0"), 45);
+        Long restauranteId = restTemplate.postForEntity(base + "/api/restaurantes", new HttpEntity<>(restReq, headers), RestauranteResponse.class)
+                .getBody().getId();
+        ProdutoRequest prodReq = new ProdutoRequest("Sushi", "Japonesa", "Sushi de salmão", new BigDecimal("25.0"), restauranteId);
+        Long produtoId = restTemplate.postForEntity(base + "/api/produtos", new HttpEntity<>(prodReq, headers), ProdutoResponse.class)
+                .getBody().getId();
+        Endereco endereco = new Endereco("Rua A", "10", "Centro", "São Paulo", "SP", "01000-000");
+        return new PedidoRequest(clienteId, restauranteId, endereco, List.of(new ItemPedidoRequest(produtoId, 2)));
+    }
+
+    @Test
+    void testStreamDeClienteSoParaAdmin() {
+        String base = "http://localhost:" + port;
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String json = "{\"nome\":\"Cliente Stream\",\"email\":\"clientestream@email.com\",\"senha\":\"streampass\",\"role\":\"CLIENTE\"}";
+        String token = restTemplate.postForEntity(base + "/api/auth/register", new HttpEntity<>(json, headers), String.class).getBody();
+
+        HttpHeaders cliente = new HttpHeaders();
+        cliente.setBearerAuth(token);
+        ResponseEntity<String> resp = restTemplate.exchange(getBaseUrl() + "/stream/cliente/1", HttpMethod.GET,
+                new HttpEntity<>(cliente), String.class);
+        assertEquals(HttpStatus.FORBIDDEN, resp.getStatusCode());
+    }
+
+    @Test
+    void testCriarPedido() {
+        HttpHeaders headers = authHeaders();
+        PedidoRequest req = novoPedidoRequest(headers);
+        ResponseEntity<PedidoResponse> resp = restTemplate.postForEntity(getBaseUrl(), new HttpEntity<>(req, headers), PedidoResponse.class);
+        assertEquals(HttpStatus.OK, resp.getStatusCode());
+        assertEquals(StatusPedido.CRIADO, resp.getBody().getStatus());
+        assertEquals(1, resp.getBody().getItens().size());
+        assertEquals(0, new BigDecimal("55.00").compareTo(resp.getBody().getTotal()));
+    }
+
+    @Test
+    void testBuscarPedidoPorId() {
+        HttpHeaders headers = authHeaders();
+        PedidoRequest req = novoPedidoRequest(headers);
+        Long id = restTemplate.postForEntity(getBaseUrl(), new HttpEntity<>(req, headers), PedidoResponse.class).getBody().getId();
+        ResponseEntity<PedidoResponse> resp = restTemplate.exchange(getBaseUrl() + "/" + id, HttpMethod.GET, new HttpEntity<>(headers), PedidoResponse.class);
+        assertEquals(HttpStatus.OK, resp.getStatusCode());
+        assertEquals("Sushi", resp.getBody().getItens().get(0).getNomeProduto());
+    }
+
+    @Test
+    void testListarPedidosPorClienteComCursor() {
+        HttpHeaders headers = authHeaders();
+        PedidoRequest req = novoPedidoRequest(headers);
+        for (int i = 0; i < 3; i++) {
+            restTemplate.postForEntity(getBaseUrl(), new HttpEntity<>(req, headers), PedidoResponse.class);
+        }
+
+        HttpEntity<Void> getEntity = new HttpEntity<>(headers);
+        ResponseEntity<PaginaPedidosResponse> primeira = restTemplate.exchange(
+                getBaseUrl() + "?clienteId=" + req.getClienteId() + "&tamanho=2", HttpMethod.GET, getEntity, PaginaPedidosResponse.class);
+        assertEquals(HttpStatus.OK, primeira.getStatusCode());
+        assertEquals(2, primeira.getBody().getPedidos().size());
+        assertNotNull(primeira.getBody().getProximoCursor());
+
+        ResponseEntity<PaginaPedidosResponse> segunda = restTemplate.exchange(
+                getBaseUrl() + "?clienteId=" + req.getClienteId() + "&tamanho=2&cursor=" + primeira.getBody().getProximoCursor(),
+                HttpMethod.GET, getEntity, PaginaPedidosResponse.class);
+        assertEquals(1, segunda.getBody().getPedidos().size());
+        assertNull(segunda.getBody().getProximoCursor());
+        assertTrue(segunda.getBody().getPedidos().get(0).getId() < primeira.getBody().getPedidos().get(1).getId());
+    }
+
+    @Test
+    void testCriarPedidoComIdempotencyKey() {
+        HttpHeaders headers = authHeaders();
+        PedidoRequest req = novoPedidoRequest(headers);
+        headers.set("Idempotency-Key", UUID.randomUUID().toString());
+
+        ResponseEntity<PedidoResponse> primeira = restTemplate.postForEntity(getBaseUrl(), new HttpEntity<>(req, headers), PedidoResponse.class);
+        ResponseEntity<PedidoResponse> repetida = restTemplate.postForEntity(getBaseUrl(), new HttpEntity<>(req, headers), PedidoResponse.class);
+        assertEquals(HttpStatus.OK, repetida.getStatusCode());
+        assertEquals(primeira.getBody().getId(), repetida.getBody().getId());
+        assertEquals("true", repetida.getHeaders().getFirst("Idempotent-Replayed"));
+
+        ResponseEntity<PaginaPedidosResponse> pagina = restTemplate.exchange(
+                getBaseUrl() + "?clienteId=" + req.getClienteId(), HttpMethod.GET, new HttpEntity<>(headers), PaginaPedidosResponse.class);
+        assertEquals(1, pagina.getBody().getPedidos().size());
+    }
+
+    @Test
+    void testIdempotencyKeyReutilizadaComOutroCorpo() {
+        HttpHeaders headers = authHeaders();
+        PedidoRequest req = novoPedidoRequest(headers);
+        headers.set("Idempotency-Key", UUID.randomUUID().toString());
+        restTemplate.postForEntity(getBaseUrl(), new HttpEntity<>(req, headers), PedidoResponse.class);
+
+        req.getItens().get(0).setQuantidade(3);
+        ResponseEntity<String> resp = restTemplate.postForEntity(getBaseUrl(), new HttpEntity<>(req, headers), String.class);
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, resp.getStatusCode());
+
+        ResponseEntity<PaginaPedidosResponse> pagina = restTemplate.exchange(
+                getBaseUrl() + "?clienteId=" + req.getClienteId(), HttpMethod.GET, new HttpEntity<>(headers), PaginaPedidosResponse.class);
+        assertEquals(1, pagina.getBody().getPedidos().size());
+    }
+
+    @Test
+    void testListarPedidosSemFiltro() {
+        HttpEntity<Void> getEntity = new HttpEntity<>(authHeaders());
+        ResponseEntity<String> resp = restTemplate.exchange(getBaseUrl(), HttpMethod.GET, getEntity, String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, resp.getStatusCode());
+    }
+}
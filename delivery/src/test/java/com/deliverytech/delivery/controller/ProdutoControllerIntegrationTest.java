@@ -1,6 +1,10 @@
 package com.deliverytech.delivery.controller;
 
+import com.deliverytech.delivery.dto.request.DisponibilidadeLoteRequest;
 import com.deliverytech.delivery.dto.request.ProdutoRequest;
+import com.deliverytech.delivery.dto.response.CardapioDeltaResponse;
+import com.deliverytech.delivery.dto.response.DisponibilidadeLoteResponse;
+import com.deliverytech.delivery.dto.response.ImportacaoProdutosResponse;
 import com.deliverytech.delivery.dto.response.ProdutoResponse;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -122,6 +126,73 @@ class ProdutoControllerIntegrationTest {
         assertEquals(HttpStatus.NO_CONTENT, respPatch.getStatusCode());
     }
 
+    @Test
+    void testCardapioComEtag() {
+        Long restauranteId = cadastrarRestauranteERetornarId();
+        HttpHeaders headers = authHeaders(restauranteId);
+        ProdutoRequest req = new ProdutoRequest("Gyoza", "Japonesa", "Gyoza de porco", new java.math.BigDecimal("18.0"), restauranteId);
+        Long id = restTemplate.postForEntity(getBaseUrl(), new HttpEntity<>(req, headers), ProdutoResponse.class).getBody().getId();
+
+        String url = getBaseUrl() + "/restaurante/" + restauranteId;
+        ResponseEntity<ProdutoResponse[]> primeira = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), ProdutoResponse[].class);
+        String etag = primeira.getHeaders().getETag();
+        assertNotNull(etag);
+        assertEquals(1, primeira.getBody().length);
+
+        HttpHeaders condicional = authHeaders(restauranteId);
+        condicional.setIfNoneMatch(etag);
+        ResponseEntity<byte[]> naoModificado = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(condicional), byte[].class);
+        assertEquals(HttpStatus.NOT_MODIFIED, naoModificado.getStatusCode());
+
+        restTemplate.exchange(getBaseUrl() + "/" + id + "/disponibilidade?disponivel=false", HttpMethod.PATCH, new HttpEntity<>(headers), Void.class);
+        ResponseEntity<ProdutoResponse[]> alterado = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(condicional), ProdutoResponse[].class);
+        assertEquals(HttpStatus.OK, alterado.getStatusCode());
+        assertNotEquals(etag, alterado.getHeaders().getETag());
+        assertFalse(alterado.getBody()[0].getDisponivel());
+    }
+
+    @Test
+    void testCardapioGzipComETagPropria() {
+        Long restauranteId = cadastrarRestauranteERetornarId();
+        HttpHeaders headers = authHeaders(restauranteId);
+        headers.setContentType(MediaType.parseMediaType("application/x-ndjson"));
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            ndjson.append(String.format("{\"nome\":\"Prato %d\",\"categoria\":\"Japonesa\",\"descricao\":\"Prato da casa número %d\",\"preco\":20.0,\"restauranteId\":%d}%n",
+                    i, i, restauranteId));
+        }
+        restTemplate.postForEntity(getBaseUrl() + "/importacao", new HttpEntity<>(ndjson.toString(), headers), ImportacaoProdutosResponse.class);
+        String url = getBaseUrl() + "/restaurante/" + restauranteId;
+
+        HttpHeaders gzip = authHeaders(restauranteId);
+        gzip.set(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+        ResponseEntity<byte[]> compactado = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(gzip), byte[].class);
+        assertEquals("gzip", compactado.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(compactado.getHeaders().getETag().endsWith("-gz\""));
+        assertTrue(compactado.getHeaders().getVary().contains(HttpHeaders.ACCEPT_ENCODING));
+
+        // q=0 é recusa: corpo sem compressão e ETag da representação identity
+        HttpHeaders recusa = authHeaders(restauranteId);
+        recusa.set(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity");
+        ResponseEntity<byte[]> identity = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(recusa), byte[].class);
+        assertNull(identity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertNotEquals(compactado.getHeaders().getETag(), identity.getHeaders().getETag());
+
+        // O ETag do gzip não valida a representação identity
+        recusa.setIfNoneMatch(compactado.getHeaders().getETag());
+        assertEquals(HttpStatus.OK, restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(recusa), byte[].class).getStatusCode());
+        gzip.setIfNoneMatch(compactado.getHeaders().getETag());
+        assertEquals(HttpStatus.NOT_MODIFIED, restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(gzip), byte[].class).getStatusCode());
+    }
+
+    @Test
+    void testCardapioDeRestauranteInexistente() {
+        Long restauranteId = cadastrarRestauranteERetornarId();
+        ResponseEntity<byte[]> resp = restTemplate.exchange(getBaseUrl() + "/restaurante/999999", HttpMethod.GET,
+                new HttpEntity<>(authHeaders(restauranteId)), byte[].class);
+        assertEquals(HttpStatus.NOT_FOUND, resp.getStatusCode());
+    }
+
     @Test
     void testProdutoNaoEncontrado() {
         Long restauranteId = cadastrarRestauranteERetornarId();
@@ -129,4 +200,95 @@ class ProdutoControllerIntegrationTest {
         ResponseEntity<ProdutoResponse> resp = restTemplate.exchange(getBaseUrl() + "/9999", HttpMethod.GET, getEntity, ProdutoResponse.class);
         assertEquals(HttpStatus.NOT_FOUND.value(), resp.getStatusCode().value());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testImportarProdutosNdjsonECsv() {
+        Long restauranteId = cadastrarRestauranteERetornarId();
+        HttpHeaders headers = authHeaders(restauranteId);
+        headers.setContentType(MediaType.parseMediaType("application/x-ndjson"));
+        String ndjson = String.format("""
+                {"nome":"Temaki Salmão","categoria":"Japonesa","descricao":"Salmão e cream cheese","preco":32.5,"restauranteId":%d}
+                {"nome":"","categoria":"Japonesa","descricao":"Sem nome","preco":10,"restauranteId":%d}
+                {"nome":"Guioza","categoria":"Japonesa","descricao":"Seis unidades","preco":22,"restauranteId":9999}
+                não é json
+                {"nome":"Missoshiru","categoria":"Japonesa","descricao":"Sopa de missô","preco":12,"restauranteId":%d}
+                """, restauranteId, restauranteId, restauranteId);
+        ResponseEntity<ImportacaoProdutosResponse> resp = restTemplate.postForEntity(getBaseUrl() + "/importacao",
+                new HttpEntity<>(ndjson, headers), ImportacaoProdutosResponse.class);
+        assertEquals(HttpStatus.OK, resp.getStatusCode());
+        assertEquals(5, resp.getBody().getLinhasLidas());
+        assertEquals(2, resp.getBody().getImportados());
+        assertEquals(3, resp.getBody().getRejeitados());
+        assertEquals(java.util.List.of(2L, 3L, 4L), resp.getBody().getErros().stream().map(ImportacaoProdutosResponse.ErroLinha::getLinha).toList());
+        assertTrue(resp.getBody().getErros().get(1).getMensagem().contains("Restaurante não encontrado"));
+
+        headers.setContentType(MediaType.parseMediaType("text/csv"));
+        String csv = "nome,categoria,descricao,preco,restauranteId\n"
+                + "\"Combo, 20 peças\",Japonesa,\"Sushi \"\"variado\"\"\",89.90," + restauranteId + "\n"
+                + "Sunomono,Japonesa,Pepino agridoce,abc," + restauranteId + "\n";
+        resp = restTemplate.postForEntity(getBaseUrl() + "/importacao", new HttpEntity<>(csv, headers), ImportacaoProdutosResponse.class);
+        assertEquals(1, resp.getBody().getImportados());
+        assertEquals(1, resp.getBody().getRejeitados());
+        assertEquals(3L, resp.getBody().getErros().get(0).getLinha());
+
+        // Importados aparecem no cardápio, que é atualizado pelos eventos de catálogo
+        ResponseEntity<ProdutoResponse[]> cardapio = restTemplate.exchange(getBaseUrl() + "/restaurante/" + restauranteId,
+                HttpMethod.GET, new HttpEntity<>(authHeaders(restauranteId)), ProdutoResponse[].class);
+        java.util.List<String> nomes = java.util.Arrays.stream(cardapio.getBody()).map(ProdutoResponse::getNome).toList();
+        assertTrue(nomes.containsAll(java.util.List.of("Temaki Salmão", "Missoshiru", "Combo, 20 peças")));
+        assertFalse(nomes.contains("Sunomono"));
+    }
+
+    @Test
+    void testSincronizacaoIncrementalDoCardapio() {
+        Long restauranteId = cadastrarRestauranteERetornarId();
+        HttpHeaders headers = authHeaders(restauranteId);
+        HttpEntity<Void> getEntity = new HttpEntity<>(headers);
+        Long primeiro = restTemplate.postForEntity(getBaseUrl(), new HttpEntity<>(new ProdutoRequest("Delta Um", "Japonesa", "Primeiro", new BigDecimal("10.0"), restauranteId), headers), ProdutoResponse.class).getBody().getId();
+        restTemplate.postForEntity(getBaseUrl(), new HttpEntity<>(new ProdutoRequest("Delta Dois", "Japonesa", "Segundo", new BigDecimal("12.0"), restauranteId), headers), ProdutoResponse.class);
+
+        String url = getBaseUrl() + "/restaurante/" + restauranteId + "/changes?since=";
+        CardapioDeltaResponse completo = restTemplate.exchange(url + "0", HttpMethod.GET, getEntity, CardapioDeltaResponse.class).getBody();
+        assertTrue(completo.isCompleto());
+        assertTrue(completo.getProdutos().size() >= 2);
+        long versao = completo.getVersao();
+
+        CardapioDeltaResponse vazio = restTemplate.exchange(url + versao, HttpMethod.GET, getEntity, CardapioDeltaResponse.class).getBody();
+        assertFalse(vazio.isCompleto());
+        assertEquals(0, vazio.getProdutos().size());
+
+        restTemplate.exchange(getBaseUrl() + "/" + primeiro + "/disponibilidade?disponivel=false", HttpMethod.PATCH, getEntity, Void.class);
+        CardapioDeltaResponse delta = restTemplate.exchange(url + versao, HttpMethod.GET, getEntity, CardapioDeltaResponse.class).getBody();
+        assertFalse(delta.isCompleto());
+        assertEquals(versao + 1, delta.getVersao());
+        assertEquals(1, delta.getProdutos().size());
+        assertEquals(primeiro, delta.getProdutos().get(0).getId());
+        assertFalse(delta.getProdutos().get(0).getDisponivel());
+    }
+
+    @Test
+    void testDisponibilidadeEmLote() {
+        Long restauranteId = cadastrarRestauranteERetornarId();
+        HttpHeaders headers = authHeaders(restauranteId);
+        Long id = restTemplate.postForEntity(getBaseUrl(), new HttpEntity<>(new ProdutoRequest("Lote Um", "Sobremesas", "Pudim", new BigDecimal("8.0"), restauranteId), headers), ProdutoResponse.class).getBody().getId();
+        restTemplate.postForEntity(getBaseUrl(), new HttpEntity<>(new ProdutoRequest("Lote Dois", "Sobremesas", "Mousse", new BigDecimal("9.0"), restauranteId), headers), ProdutoResponse.class);
+
+        DisponibilidadeLoteRequest porCategoria = new DisponibilidadeLoteRequest(null, restauranteId, "Sobremesas", false);
+        ResponseEntity<DisponibilidadeLoteResponse> resp = restTemplate.exchange(getBaseUrl() + "/disponibilidade", HttpMethod.PATCH,
+                new HttpEntity<>(porCategoria, headers), DisponibilidadeLoteResponse.class);
+        assertEquals(HttpStatus.OK, resp.getStatusCode());
+        assertEquals(2, resp.getBody().getAlterados());
+
+        ResponseEntity<ProdutoResponse[]> cardapio = restTemplate.exchange(getBaseUrl() + "/restaurante/" + restauranteId,
+                HttpMethod.GET, new HttpEntity<>(headers), ProdutoResponse[].class);
+        assertTrue(java.util.Arrays.stream(cardapio.getBody()).filter(p -> "Sobremesas".equals(p.getCategoria())).noneMatch(ProdutoResponse::getDisponivel));
+
+        DisponibilidadeLoteRequest porIds = new DisponibilidadeLoteRequest(java.util.List.of(id), null, null, true);
+        resp = restTemplate.exchange(getBaseUrl() + "/disponibilidade", HttpMethod.PATCH, new HttpEntity<>(porIds, headers), DisponibilidadeLoteResponse.class);
+        assertEquals(1, resp.getBody().getAlterados());
+
+        DisponibilidadeLoteRequest semAlvo = new DisponibilidadeLoteRequest(null, restauranteId, null, true);
+        resp = restTemplate.exchange(getBaseUrl() + "/disponibilidade", HttpMethod.PATCH, new HttpEntity<>(semAlvo, headers), DisponibilidadeLoteResponse.class);
+        assertEquals(HttpStatus.BAD_REQUEST, resp.getStatusCode());
+    }
+}
@@ -103,4 +103,50 @@ class RestauranteControllerIntegrationTest {
         ResponseEntity<RestauranteResponse> resp = restTemplate.exchange(getBaseUrl() + "/9999", HttpMethod.GET, getEntity, RestauranteResponse.class);
         assertEquals(HttpStatus.NOT_FOUND.value(), resp.getStatusCode().value());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testVitrineFiltraOrdenaERefleteAtualizacao() {
+        HttpHeaders headers = authHeaders();
+        Long barato = restTemplate.postForEntity(getBaseUrl(), new HttpEntity<>(new RestauranteRequest("Vitrine Barato", "Vitrine", "11911111111", new BigDecimal("3.0"), 50), headers), RestauranteResponse.class).getBody().getId();
+        Long rapido = restTemplate.postForEntity(getBaseUrl(), new HttpEntity<>(new RestauranteRequest("Vitrine Rapido", "Vitrine", "11922222222", new BigDecimal("9.0"), 20), headers), RestauranteResponse.class).getBody().getId();
+        restTemplate.postForEntity(getBaseUrl(), new HttpEntity<>(new RestauranteRequest("Vitrine Caro", "Vitrine", "11933333333", new BigDecimal("15.0"), 30), headers), RestauranteResponse.class);
+
+        HttpEntity<Void> getEntity = new HttpEntity<>(headers);
+        ResponseEntity<RestauranteResponse[]> resp = restTemplate.exchange(getBaseUrl() + "/vitrine?categoria=Vitrine&taxaMaxima=10&ordenarPor=TEMPO",
+                HttpMethod.GET, getEntity, RestauranteResponse[].class);
+        assertEquals(HttpStatus.OK, resp.getStatusCode());
+        assertEquals(2, resp.getBody().length);
+        assertEquals(rapido, resp.getBody()[0].getId());
+        assertEquals(barato, resp.getBody()[1].getId());
+
+        RestauranteRequest update = new RestauranteRequest("Vitrine Barato", "Vitrine", "11911111111", new BigDecimal("3.0"), 10);
+        restTemplate.exchange(getBaseUrl() + "/" + barato, HttpMethod.PUT, new HttpEntity<>(update, headers), RestauranteResponse.class);
+        resp = restTemplate.exchange(getBaseUrl() + "/vitrine?categoria=Vitrine&tempoMaximo=25&ordenarPor=TEMPO&limite=1",
+                HttpMethod.GET, getEntity, RestauranteResponse[].class);
+        assertEquals(1, resp.getBody().length);
+        assertEquals(barato, resp.getBody()[0].getId());
+    }
+
+    @Test
+    void testListarPaginadoEOrdenado() {
+        HttpHeaders headers = authHeaders();
+        for (String nome : new String[] {"Pagina C", "Pagina A", "Pagina B"}) {
+            restTemplate.postForEntity(getBaseUrl(), new HttpEntity<>(new RestauranteRequest(nome, "Paginacao", "11900000000", new BigDecimal("4.0"), 30), headers), RestauranteResponse.class);
+        }
+        HttpEntity<Void> getEntity = new HttpEntity<>(headers);
+        ResponseEntity<RestauranteResponse[]> resp = restTemplate.exchange(getBaseUrl() + "?size=2&sort=nome,desc",
+                HttpMethod.GET, getEntity, RestauranteResponse[].class);
+        assertEquals(HttpStatus.OK, resp.getStatusCode());
+        assertEquals(2, resp.getBody().length);
+        assertTrue(resp.getBody()[0].getNome().compareTo(resp.getBody()[1].getNome()) >= 0);
+        assertEquals("true", resp.getHeaders().getFirst("X-Has-Next"));
+        assertEquals("0", resp.getHeaders().getFirst("X-Page"));
+        assertTrue(resp.getHeaders().getFirst(HttpHeaders.LINK).contains("page=1"));
+
+        // Última página: sem próxima e sem Link
+        resp = restTemplate.exchange(getBaseUrl() + "?size=100&page=0&sort=produtos", HttpMethod.GET, getEntity, RestauranteResponse[].class);
+        assertEquals(HttpStatus.OK, resp.getStatusCode());
+        assertEquals("false", resp.getHeaders().getFirst("X-Has-Next"));
+        assertNull(resp.getHeaders().getFirst(HttpHeaders.LINK));
+    }
+}
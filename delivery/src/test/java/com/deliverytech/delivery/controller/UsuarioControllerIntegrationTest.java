@@ -0,0 +1,81 @@
+package com.deliverytech.delivery.controller;
+
+import com.deliverytech.delivery.repository.UsuarioRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class UsuarioControllerIntegrationTest {
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    private String getBaseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    private ResponseEntity<String> login(String email, String senha) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String loginJson = String.format("{\"email\":\"%s\",\"senha\":\"%s\"}", email, senha);
+        return restTemplate.postForEntity(getBaseUrl() + "/api/auth/login", new HttpEntity<>(loginJson, headers), String.class);
+    }
+
+    private String registrarELogar(String email, String senha, String role) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String json = String.format("{\"nome\":\"Usuario\",\"email\":\"%s\",\"senha\":\"%s\",\"role\":\"%s\"}", email, senha, role);
+        restTemplate.postForEntity(getBaseUrl() + "/api/auth/register", new HttpEntity<>(json, headers), String.class);
+        return login(email, senha).getBody();
+    }
+
+    private HttpEntity<Void> comToken(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return new HttpEntity<>(headers);
+    }
+
+    @Test
+    void testDesativarUsuarioRevogaTokensEmitidos() {
+        String admin = registrarELogar("usuarioadmin@email.com", "adminpass", "ADMIN");
+        String cliente = registrarELogar("usuariocliente@email.com", "clientepass", "CLIENTE");
+        Long clienteId = usuarioRepository.findByEmail("usuariocliente@email.com").orElseThrow().getId();
+
+        assertEquals(HttpStatus.OK, restTemplate.exchange(getBaseUrl() + "/api/restaurantes", HttpMethod.GET, comToken(cliente), String.class).getStatusCode());
+        ResponseEntity<String> antes = restTemplate.exchange(getBaseUrl() + "/api/usuarios/" + clienteId, HttpMethod.GET, comToken(admin), String.class);
+        assertTrue(antes.getBody().contains("\"ativo\":true"));
+
+        // Só ADMIN altera status de usuário
+        ResponseEntity<Void> negado = restTemplate.exchange(getBaseUrl() + "/api/usuarios/" + clienteId + "/status?ativo=false",
+                HttpMethod.PATCH, comToken(cliente), Void.class);
+        assertEquals(HttpStatus.FORBIDDEN, negado.getStatusCode());
+
+        ResponseEntity<Void> resp = restTemplate.exchange(getBaseUrl() + "/api/usuarios/" + clienteId + "/status?ativo=false",
+                HttpMethod.PATCH, comToken(admin), Void.class);
+        assertEquals(HttpStatus.NO_CONTENT, resp.getStatusCode());
+        ResponseEntity<String> depois = restTemplate.exchange(getBaseUrl() + "/api/usuarios/" + clienteId, HttpMethod.GET, comToken(admin), String.class);
+        assertTrue(depois.getBody().contains("\"ativo\":false"));
+
+        assertEquals(HttpStatus.FORBIDDEN, restTemplate.exchange(getBaseUrl() + "/api/restaurantes", HttpMethod.GET, comToken(cliente), String.class).getStatusCode());
+        assertNotEquals(HttpStatus.OK, login("usuariocliente@email.com", "clientepass").getStatusCode());
+    }
+
+    @Test
+    void testTokenInvalidoNaoAutentica() {
+        ResponseEntity<String> resp = restTemplate.exchange(getBaseUrl() + "/api/restaurantes", HttpMethod.GET, comToken("nao.e.um.token"), String.class);
+        assertEquals(HttpStatus.FORBIDDEN, resp.getStatusCode());
+    }
+}
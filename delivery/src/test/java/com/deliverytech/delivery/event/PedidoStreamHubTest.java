@@ -0,0 +1,95 @@
+package com.deliverytech.delivery.event;
+
+import com.deliverytech.delivery.model.StatusPedido;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PedidoStreamHubTest {
+
+    // Guarda o nome de cada evento enviado; opcionalmente segura o primeiro envio
+    // para simular um consumidor lento.
+    private static class EmitterCapturador extends SseEmitter {
+        private final List<String> eventos = new CopyOnWriteArrayList<>();
+        private final CountDownLatch liberar;
+
+        EmitterCapturador(CountDownLatch liberar) {
+            this.liberar = liberar;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                liberar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            String texto = builder.build().stream()
+                    .map(d -> String.valueOf(d.getData()))
+                    .reduce("", String::concat);
+            eventos.add(texto.contains("event:" + PedidoStreamHub.EVENTO_RESYNC) ? PedidoStreamHub.EVENTO_RESYNC
+                    : texto.contains("event:" + PedidoStreamHub.EVENTO_STATUS) ? PedidoStreamHub.EVENTO_STATUS : "outro");
+        }
+    }
+
+    private final PedidoStreamHub hub = new PedidoStreamHub(4, 3600);
+
+    @AfterEach
+    void tearDown() {
+        hub.encerrar();
+    }
+
+    private PedidoStatusEvent evento(long pedidoId, long clienteId, long restauranteId) {
+        return new PedidoStatusEvent(pedidoId, clienteId, restauranteId, StatusPedido.CONFIRMADO, LocalDateTime.now());
+    }
+
+    private void aguardar(EmitterCapturador emitter, int quantidade) throws InterruptedException {
+        for (int i = 0; i < 200 && emitter.eventos.size() < quantidade; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void testEntregaPorRestauranteECliente() throws InterruptedException {
+        EmitterCapturador restaurante = new EmitterCapturador(new CountDownLatch(0));
+        EmitterCapturador cliente = new EmitterCapturador(new CountDownLatch(0));
+        EmitterCapturador outroRestaurante = new EmitterCapturador(new CountDownLatch(0));
+        hub.assinarRestaurante(10L, restaurante);
+        hub.assinarCliente(20L, cliente);
+        hub.assinarRestaurante(99L, outroRestaurante);
+
+        hub.publicar(evento(1L, 20L, 10L));
+        aguardar(restaurante, 1);
+        aguardar(cliente, 1);
+
+        assertEquals(List.of(PedidoStreamHub.EVENTO_STATUS), restaurante.eventos);
+        assertEquals(List.of(PedidoStreamHub.EVENTO_STATUS), cliente.eventos);
+        assertTrue(outroRestaurante.eventos.isEmpty());
+    }
+
+    @Test
+    void testConsumidorLentoRecebeResync() throws InterruptedException {
+        CountDownLatch liberar = new CountDownLatch(1);
+        EmitterCapturador lento = new EmitterCapturador(liberar);
+        hub.assinarRestaurante(10L, lento);
+
+        for (long i = 0; i < 20; i++) {
+            hub.publicar(evento(i, 20L, 10L));
+        }
+        liberar.countDown();
+        aguardar(lento, 2);
+        Thread.sleep(50);
+
+        assertTrue(lento.eventos.contains(PedidoStreamHub.EVENTO_RESYNC));
+        assertTrue(lento.eventos.size() < 20, "eventos descartados deveriam ser substituídos pelo resync");
+    }
+}
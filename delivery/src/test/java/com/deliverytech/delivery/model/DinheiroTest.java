@@ -0,0 +1,31 @@
+package com.deliverytech.delivery.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DinheiroTest {
+
+    @Test
+    void testConversaoArredondaHalfEven() {
+        assertEquals(1002, Dinheiro.de(new BigDecimal("10.025")).centavos());
+        assertEquals(1004, Dinheiro.de(new BigDecimal("10.035")).centavos());
+        assertEquals(1000, Dinheiro.de(new BigDecimal("10")).centavos());
+        assertEquals(Dinheiro.ZERO, Dinheiro.de(null));
+    }
+
+    @Test
+    void testOperacoes() {
+        Dinheiro total = Dinheiro.de(new BigDecimal("5.00"))
+                .mais(Dinheiro.de(new BigDecimal("12.90")).vezes(3));
+        assertEquals(new BigDecimal("43.70"), total.toBigDecimal());
+        assertEquals("43.70", total.toString());
+    }
+
+    @Test
+    void testEstouroLancaExcecao() {
+        assertThrows(ArithmeticException.class, () -> Dinheiro.deCentavos(Long.MAX_VALUE).vezes(2));
+    }
+}
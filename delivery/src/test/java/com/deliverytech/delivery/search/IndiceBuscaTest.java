@@ -0,0 +1,111 @@
+package com.deliverytech.delivery.search;
+
+import com.deliverytech.delivery.search.IndiceBusca.Resultado;
+import com.deliverytech.delivery.search.IndiceBusca.Tipo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndiceBuscaTest {
+
+    private IndiceBusca indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceBusca();
+        indice.indexarRestaurante(1L, "Cantina da Nonna", "Italiana");
+        indice.indexarRestaurante(2L, "Sabor do Sertão", "Nordestina");
+        indice.indexarProduto(10L, "Pizza Margherita", "Pizza", "Molho de tomate e manjericão", 1L);
+        indice.indexarProduto(11L, "Lasanha à Bolonhesa", "Massas", "Massa fresca com molho de carne", 1L);
+        indice.indexarProduto(20L, "Baião de Dois", "Nordestina", "Arroz, feijão e queijo coalho", 2L);
+        indice.indexarProduto(21L, "Carne de Sol", "Nordestina", "Acompanha mandioca e manteiga de garrafa", 2L);
+    }
+
+    private List<Long> ids(List<Resultado> resultados) {
+        return resultados.stream().map(r -> r.documento().getId()).toList();
+    }
+
+    @Test
+    void testIgnoraAcentosEMaiusculas() {
+        assertEquals(List.of(11L), ids(indice.buscar("LASANHA BOLONHESA", Tipo.PRODUTO, 10)));
+        assertEquals(List.of(20L), ids(indice.buscar("baiao feijao", Tipo.PRODUTO, 10)));
+        assertEquals(List.of(2L), ids(indice.buscar("sertao", null, 10)));
+    }
+
+    @Test
+    void testPrefixo() {
+        assertEquals(List.of(10L), ids(indice.buscar("marg", Tipo.PRODUTO, 10)));
+        assertEquals(List.of(11L), ids(indice.buscar("bolo", null, 10)));
+    }
+
+    @Test
+    void testTodosOsTermosPrecisamCasar() {
+        assertTrue(indice.buscar("pizza feijao", null, 10).isEmpty());
+    }
+
+    @Test
+    void testNomePesaMaisQueDescricao() {
+        // "carne" está no nome do 21 e só na descrição do 11
+        assertEquals(List.of(21L, 11L), ids(indice.buscar("carne", Tipo.PRODUTO, 10)));
+    }
+
+    @Test
+    void testExatoPesaMaisQuePrefixo() {
+        indice.indexarProduto(30L, "Pizzas Doces", "Sobremesa", null, 1L);
+        List<Long> resultado = ids(indice.buscar("pizza", Tipo.PRODUTO, 10));
+        assertEquals(10L, resultado.get(0));
+        assertTrue(resultado.contains(30L));
+    }
+
+    @Test
+    void testFiltroPorTipoELimite() {
+        List<Resultado> nordestina = indice.buscar("nordestina", null, 10);
+        assertEquals(3, nordestina.size());
+        assertEquals(1, indice.buscar("nordestina", null, 1).size());
+        assertEquals(List.of(2L), ids(indice.buscar("nordestina", Tipo.RESTAURANTE, 10)));
+    }
+
+    @Test
+    void testAtualizacaoIncremental() {
+        indice.indexarProduto(10L, "Calzone", "Pizza", "Recheado", 1L);
+        assertTrue(indice.buscar("margherita", null, 10).isEmpty());
+        assertEquals(List.of(10L), ids(indice.buscar("calzone", null, 10)));
+
+        indice.removerProduto(10L);
+        assertTrue(indice.buscar("calzone", null, 10).isEmpty());
+        assertEquals(5, indice.tamanho());
+    }
+
+    @Test
+    void testPrefixoExpandeNoMaximo64Termos() {
+        for (long i = 0; i < 70; i++) {
+            indice.indexarProduto(100L + i, "Combo" + i, "Lanches", null, 1L);
+        }
+        assertEquals(64, indice.buscar("combo", Tipo.PRODUTO, 100).size());
+    }
+
+    @Test
+    void testDisponibilidadeAlternadaReaproveitaNumeros() {
+        int numeros = indice.numerosDistribuidos();
+        for (int i = 0; i < 1000; i++) {
+            indice.removerProduto(10L);
+            indice.indexarProduto(10L, "Pizza Margherita", "Pizza", "Molho de tomate e manjericão", 1L);
+        }
+        assertEquals(numeros, indice.numerosDistribuidos());
+        assertEquals(List.of(10L), ids(indice.buscar("margherita", null, 10)));
+
+        // Número livre no meio das listas: a ordem das postagens continua valendo
+        indice.removerProduto(11L);
+        indice.indexarProduto(12L, "Lasanha de Berinjela", "Massas", "Massa fresca", 1L);
+        assertEquals(numeros, indice.numerosDistribuidos());
+        assertEquals(List.of(12L), ids(indice.buscar("massa fresca", Tipo.PRODUTO, 10)));
+    }
+
+    @Test
+    void testConsultaSoComStopwords() {
+        assertTrue(indice.buscar("de da do", null, 10).isEmpty());
+    }
+}
@@ -0,0 +1,71 @@
+package com.deliverytech.delivery.search;
+
+import com.deliverytech.delivery.dto.response.RestauranteResponse;
+import com.deliverytech.delivery.search.VitrineRestaurantes.Ordenacao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VitrineRestaurantesTest {
+
+    private VitrineRestaurantes vitrine;
+
+    @BeforeEach
+    void setUp() {
+        vitrine = new VitrineRestaurantes();
+        vitrine.atualizar(new RestauranteResponse(1L, "Cantina da Nonna", "Italiana", "1", new BigDecimal("8.00"), 40, true));
+        vitrine.atualizar(new RestauranteResponse(2L, "Bella Napoli", "Italiana", "2", new BigDecimal("5.50"), 55, true));
+        vitrine.atualizar(new RestauranteResponse(3L, "Trattoria Fechada", "Italiana", "3", new BigDecimal("3.00"), 30, false));
+        vitrine.atualizar(new RestauranteResponse(4L, "Sushi Kento", "Japonesa", "4", new BigDecimal("6.00"), 35, true));
+        vitrine.atualizar(new RestauranteResponse(5L, "Sem Taxa Informada", "Japonesa", "5", null, null, true));
+    }
+
+    private List<Long> ids(List<RestauranteResponse> restaurantes) {
+        return restaurantes.stream().map(RestauranteResponse::getId).toList();
+    }
+
+    @Test
+    void testFiltraCategoriaEAtivos() {
+        assertEquals(List.of(2L, 1L), ids(vitrine.consultar("italiana", true, null, null, Ordenacao.NOME, 10)));
+        assertEquals(List.of(3L), ids(vitrine.consultar("Italiana", false, null, null, Ordenacao.NOME, 10)));
+        assertEquals(3, vitrine.consultar("Italiana", null, null, null, Ordenacao.NOME, 10).size());
+        assertTrue(vitrine.consultar("Mexicana", true, null, null, Ordenacao.NOME, 10).isEmpty());
+    }
+
+    @Test
+    void testFiltraTaxaETempoMaximos() {
+        assertEquals(List.of(2L, 4L), ids(vitrine.consultar(null, true, new BigDecimal("6.00"), null, Ordenacao.TAXA, 10)));
+        assertEquals(List.of(4L, 1L), ids(vitrine.consultar(null, true, null, 40, Ordenacao.TEMPO, 10)));
+    }
+
+    @Test
+    void testOrdenaELimita() {
+        assertEquals(List.of(2L, 4L, 1L, 5L), ids(vitrine.consultar(null, true, null, null, Ordenacao.TAXA, 10)));
+        assertEquals(List.of(2L, 4L), ids(vitrine.consultar(null, true, null, null, Ordenacao.TAXA, 2)));
+        assertEquals(List.of(4L, 1L), ids(vitrine.consultar(null, true, null, null, Ordenacao.TEMPO, 2)));
+    }
+
+    @Test
+    void testAtualizacaoMoveCategoriaEStatus() {
+        vitrine.atualizar(new RestauranteResponse(1L, "Cantina da Nonna", "Japonesa", "1", new BigDecimal("8.00"), 40, true));
+        assertEquals(List.of(2L), ids(vitrine.consultar("Italiana", true, null, null, Ordenacao.NOME, 10)));
+        assertTrue(ids(vitrine.consultar("Japonesa", true, null, null, Ordenacao.NOME, 10)).contains(1L));
+
+        vitrine.atualizar(new RestauranteResponse(3L, "Trattoria Fechada", "Italiana", "3", new BigDecimal("3.00"), 30, true));
+        assertEquals(List.of(3L, 2L), ids(vitrine.consultar("Italiana", true, null, null, Ordenacao.TAXA, 10)));
+    }
+
+    @Test
+    void testRemoverLiberaPosicao() {
+        vitrine.remover(2L);
+        assertEquals(4, vitrine.tamanho());
+        assertEquals(List.of(1L), ids(vitrine.consultar("Italiana", true, null, null, Ordenacao.NOME, 10)));
+
+        vitrine.atualizar(new RestauranteResponse(6L, "Pizzaria Nova", "Italiana", "6", new BigDecimal("4.00"), 25, true));
+        assertEquals(List.of(6L, 1L), ids(vitrine.consultar("Italiana", true, null, null, Ordenacao.TAXA, 10)));
+    }
+}
@@ -0,0 +1,57 @@
+package com.deliverytech.delivery.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ActuatorIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private String url(String caminho) {
+        return "http://localhost:" + port + caminho;
+    }
+
+    private HttpHeaders autenticado(String email, String role) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String json = String.format("{\"nome\":\"Actuator\",\"email\":\"%s\",\"senha\":\"actuatorpass\",\"role\":\"%s\"}", email, role);
+        restTemplate.postForEntity(url("/api/auth/register"), new HttpEntity<>(json, headers), String.class);
+        String login = String.format("{\"email\":\"%s\",\"senha\":\"actuatorpass\"}", email);
+        headers.setBearerAuth(restTemplate.postForEntity(url("/api/auth/login"), new HttpEntity<>(login, headers), String.class).getBody());
+        return headers;
+    }
+
+    @Test
+    void testHealthSemAutenticacao() {
+        assertEquals(HttpStatus.OK, restTemplate.getForEntity(url("/actuator/health"), String.class).getStatusCode());
+    }
+
+    @Test
+    void testClienteNaoLimpaCachesNemLeMetricas() {
+        HttpEntity<Void> cliente = new HttpEntity<>(autenticado("actuatorcliente@email.com", "CLIENTE"));
+        assertEquals(HttpStatus.FORBIDDEN,
+                restTemplate.exchange(url("/actuator/caches"), HttpMethod.DELETE, cliente, String.class).getStatusCode());
+        assertEquals(HttpStatus.FORBIDDEN,
+                restTemplate.exchange(url("/actuator/metrics"), HttpMethod.GET, cliente, String.class).getStatusCode());
+    }
+
+    @Test
+    void testAdminLeMetricas() {
+        HttpEntity<Void> admin = new HttpEntity<>(autenticado("actuatoradmin@email.com", "ADMIN"));
+        assertEquals(HttpStatus.OK,
+                restTemplate.exchange(url("/actuator/metrics"), HttpMethod.GET, admin, String.class).getStatusCode());
+    }
+}
@@ -0,0 +1,82 @@
+package com.deliverytech.delivery.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CodificadorSenhasTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private CodificadorSenhas codificador;
+
+    @AfterEach
+    void tearDown() {
+        codificador.close();
+    }
+
+    @Test
+    void testCodificaEVerificaNoPool() {
+        codificador = new CodificadorSenhas(new BCryptPasswordEncoder(4), 2, 4, registry);
+
+        String hash = codificador.encode("123456");
+
+        assertTrue(codificador.matches("123456", hash));
+        assertFalse(codificador.matches("654321", hash));
+        assertEquals(1, registry.get("delivery.senhas.hash").tag("operacao", "codificar").timer().count());
+        assertEquals(2, registry.get("delivery.senhas.hash").tag("operacao", "verificar").timer().count());
+    }
+
+    @Test
+    void testFilaCheiaRecusaNaHora() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        PasswordEncoder lento = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence senha) {
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return senha.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence senha, String hash) {
+                return senha.toString().equals(hash);
+            }
+        };
+        codificador = new CodificadorSenhas(lento, 1, 1, registry);
+
+        CompletableFuture<String> emExecucao = CompletableFuture.supplyAsync(() -> codificador.encode("a"));
+        CompletableFuture<String> naFila = CompletableFuture.supplyAsync(() -> codificador.encode("b"));
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("delivery.senhas.fila").gauge().value() < 1 && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+
+        assertThrows(SenhasSobrecarregadasException.class, () -> codificador.matches("c", "c"));
+        assertEquals(1, registry.get("delivery.senhas.recusadas").counter().count());
+
+        liberar.countDown();
+        assertEquals("a", emExecucao.get(5, TimeUnit.SECONDS));
+        assertEquals("b", naFila.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testRehashQuandoCustoSobe() {
+        String hashCusto4 = new BCryptPasswordEncoder(4).encode("123456");
+        codificador = new CodificadorSenhas(new BCryptPasswordEncoder(5), 1, 4, registry);
+
+        assertTrue(codificador.upgradeEncoding(hashCusto4));
+        assertTrue(codificador.matches("123456", hashCusto4));
+        assertFalse(codificador.upgradeEncoding(codificador.encode("123456")));
+    }
+}
@@ -0,0 +1,65 @@
+package com.deliverytech.delivery.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Limite ligado na cadeia de segurança real, atrás de um "balanceador" (o teste chega por
+// loopback, que é proxy confiável, e informa o IP do cliente no X-Forwarded-For)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "delivery.limite.habilitado=true",
+        "delivery.limite.auth.capacidade=2",
+        "delivery.limite.auth.por-segundo=1"
+})
+@ActiveProfiles("test")
+class LimiteRequisicoesIntegrationTest {
+
+    // Capacidade mais folga para a recarga de 1/s durante o teste
+    private static final int TENTATIVAS = 10;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private ResponseEntity<String> login(String ipCliente) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Forwarded-For", ipCliente);
+        String loginJson = "{\"email\":\"ninguem@email.com\",\"senha\":\"123456\"}";
+        return restTemplate.postForEntity("http://localhost:" + port + "/api/auth/login",
+                new HttpEntity<>(loginJson, headers), String.class);
+    }
+
+    private ResponseEntity<String> loginAteLimitar(String ipCliente) {
+        ResponseEntity<String> resposta = login(ipCliente);
+        for (int i = 1; i < TENTATIVAS && resposta.getStatusCode() != HttpStatus.TOO_MANY_REQUESTS; i++) {
+            resposta = login(ipCliente);
+        }
+        return resposta;
+    }
+
+    @Test
+    void testLoginAlemDoLimiteRecebe429ComRetryAfter() {
+        assertNotEquals(HttpStatus.TOO_MANY_REQUESTS, login("203.0.113.10").getStatusCode());
+
+        ResponseEntity<String> limitada = loginAteLimitar("203.0.113.10");
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, limitada.getStatusCode());
+        assertEquals("1", limitada.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void testClientesAtrasDoBalanceadorTemBaldesProprios() {
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, loginAteLimitar("203.0.113.20").getStatusCode());
+
+        assertNotEquals(HttpStatus.TOO_MANY_REQUESTS, login("203.0.113.21").getStatusCode());
+    }
+}
@@ -0,0 +1,146 @@
+package com.deliverytech.delivery.security;
+
+import com.deliverytech.delivery.model.Role;
+import com.deliverytech.delivery.security.LimiteRequisicoes.Grupo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimiteRequisicoesTest {
+
+    // AUTH: rajada 3, 1/s; PEDIDOS: rajada 2, 1/s; GERAL: rajada 5, 10/s
+    private final AtomicLong relogio = new AtomicLong(1_000);
+    private LimiteRequisicoes limite;
+
+    @BeforeEach
+    void setUp() {
+        limite = new LimiteRequisicoes(true, new int[] {3, 2, 5}, new int[] {1, 1, 10}, 100, relogio::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        limite.encerrar();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testRajadaERecarga() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limite.consumir(Grupo.AUTH, "10.0.0.1"));
+        }
+        assertEquals(1_000, limite.consumir(Grupo.AUTH, "10.0.0.1"));
+        // Outra chave e outro grupo têm baldes próprios
+        assertEquals(0, limite.consumir(Grupo.AUTH, "10.0.0.2"));
+        assertEquals(0, limite.consumir(Grupo.GERAL, "10.0.0.1"));
+
+        relogio.addAndGet(400);
+        assertEquals(600, limite.consumir(Grupo.AUTH, "10.0.0.1"));
+        relogio.addAndGet(600);
+        assertEquals(0, limite.consumir(Grupo.AUTH, "10.0.0.1"));
+        assertTrue(limite.consumir(Grupo.AUTH, "10.0.0.1") > 0);
+
+        // Ocioso por muito tempo: volta só até a capacidade
+        relogio.addAndGet(3_600_000);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limite.consumir(Grupo.AUTH, "10.0.0.1"));
+        }
+        assertTrue(limite.consumir(Grupo.AUTH, "10.0.0.1") > 0);
+    }
+
+    @Test
+    void testLimpezaRemoveSoBaldesCheios() {
+        limite.consumir(Grupo.AUTH, "10.0.0.1");
+        limite.consumir(Grupo.AUTH, "10.0.0.2");
+        relogio.addAndGet(500);
+        limite.consumir(Grupo.AUTH, "10.0.0.2");
+
+        relogio.addAndGet(600);
+        limite.limparOciosos();
+
+        assertEquals(1, limite.totalChaves(Grupo.AUTH));
+    }
+
+    @Test
+    void testAcimaDoMaximoDeChavesDividemExcedente() {
+        LimiteRequisicoes pequeno = new LimiteRequisicoes(true, new int[] {1, 1, 1}, new int[] {1, 1, 1}, 2, relogio::get);
+        try {
+            assertEquals(0, pequeno.consumir(Grupo.GERAL, "a"));
+            assertEquals(0, pequeno.consumir(Grupo.GERAL, "b"));
+            assertEquals(0, pequeno.consumir(Grupo.GERAL, "c"));
+            assertTrue(pequeno.consumir(Grupo.GERAL, "d") > 0);
+            assertEquals(2, pequeno.totalChaves(Grupo.GERAL));
+        } finally {
+            pequeno.encerrar();
+        }
+    }
+
+    @Test
+    void testConcorrenciaNaoConcedeMaisQueACapacidade() throws Exception {
+        LimiteRequisicoes grande = new LimiteRequisicoes(true, new int[] {1, 1, 10_000}, new int[] {1, 1, 1}, 10, relogio::get);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger concedidos = new AtomicInteger();
+        CountDownLatch fim = new CountDownLatch(8);
+        try {
+            for (int t = 0; t < 8; t++) {
+                executor.execute(() -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        if (grande.consumir(Grupo.GERAL, "u1") == 0) {
+                            concedidos.incrementAndGet();
+                        }
+                    }
+                    fim.countDown();
+                });
+            }
+            fim.await();
+            assertEquals(10_000, concedidos.get());
+        } finally {
+            executor.shutdownNow();
+            grande.encerrar();
+        }
+    }
+
+    @Test
+    void testFiltroResponde429ComRetryAfter() throws Exception {
+        LimiteRequisicoesFilter filtro = new LimiteRequisicoesFilter(limite);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new UsuarioAutenticado(7L, "ana@email.com", Role.CLIENTE, null), null, List.of()));
+
+        MockHttpServletResponse resposta = null;
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest pedido = new MockHttpServletRequest("POST", "/api/pedidos");
+            resposta = new MockHttpServletResponse();
+            filtro.doFilter(pedido, resposta, new MockFilterChain());
+        }
+        assertEquals(429, resposta.getStatus());
+        assertEquals("1", resposta.getHeader("Retry-After"));
+
+        // GET conta no grupo geral, com balde próprio para o mesmo usuário
+        MockHttpServletResponse leitura = new MockHttpServletResponse();
+        filtro.doFilter(new MockHttpServletRequest("GET", "/api/pedidos/1"), leitura, new MockFilterChain());
+        assertEquals(200, leitura.getStatus());
+    }
+
+    @Test
+    void testFiltroIgnoraRotasForaDaApi() throws Exception {
+        LimiteRequisicoesFilter filtro = new LimiteRequisicoesFilter(limite);
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletResponse resposta = new MockHttpServletResponse();
+            filtro.doFilter(new MockHttpServletRequest("GET", "/swagger-ui/index.html"), resposta, new MockFilterChain());
+            assertEquals(200, resposta.getStatus());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.deliverytech.delivery.security;
+
+import com.deliverytech.delivery.event.TokensRevogadosEvent;
+import com.deliverytech.delivery.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RevogacaoTokensTest {
+
+    private UsuarioRepository usuarioRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private RevogacaoTokens revogacaoTokens;
+
+    @BeforeEach
+    void setUp() {
+        usuarioRepository = mock(UsuarioRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        revogacaoTokens = new RevogacaoTokens(usuarioRepository, eventPublisher);
+    }
+
+    @Test
+    void testTokensEmitidosAntesDaRevogacaoNaoValem() {
+        Date antes = new Date(System.currentTimeMillis() - 60_000);
+        assertFalse(revogacaoTokens.revogado(1L, antes));
+
+        revogacaoTokens.revogar(1L);
+
+        assertTrue(revogacaoTokens.revogado(1L, antes));
+        assertTrue(revogacaoTokens.revogado(1L, new Date()));
+        assertFalse(revogacaoTokens.revogado(1L, new Date(System.currentTimeMillis() + 2_000)));
+        assertFalse(revogacaoTokens.revogado(2L, antes));
+    }
+
+    @Test
+    void testUsuariosInativosCarregadosNaSubida() {
+        when(usuarioRepository.findIdByAtivoFalse()).thenReturn(List.of(5L, 6L));
+
+        revogacaoTokens.carregar();
+
+        assertTrue(revogacaoTokens.revogado(5L, new Date()));
+        assertTrue(revogacaoTokens.revogado(6L, new Date()));
+        assertFalse(revogacaoTokens.revogado(7L, new Date()));
+    }
+
+    @Test
+    void testRevogacaoPublicaEventoParaOsOutrosNos() {
+        revogacaoTokens.revogar(3L);
+
+        verify(eventPublisher).publishEvent(argThat((Object evento) ->
+                evento instanceof TokensRevogadosEvent revogados && revogados.usuarioId().equals(3L)));
+    }
+
+    @Test
+    void testRevogacaoRecebidaDeOutroNo() {
+        long agora = System.currentTimeMillis() / 1000;
+
+        revogacaoTokens.tokensRevogados(new TokensRevogadosEvent(4L, agora + 1));
+
+        assertTrue(revogacaoTokens.revogado(4L, new Date(agora * 1000)));
+        assertFalse(revogacaoTokens.revogado(4L, new Date((agora + 2) * 1000)));
+        verifyNoInteractions(eventPublisher);
+    }
+}
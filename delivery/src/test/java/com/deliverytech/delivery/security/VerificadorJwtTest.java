@@ -0,0 +1,134 @@
+package com.deliverytech.delivery.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerificadorJwtTest {
+
+    private static final String SEGREDO = "segredo-de-teste-com-pelo-menos-trinta-e-dois-bytes";
+
+    private final AtomicLong tempo = new AtomicLong();
+    private VerificadorJwt verificador;
+
+    @BeforeEach
+    void setUp() {
+        verificador = new VerificadorJwt(SEGREDO, 100, tempo::get);
+    }
+
+    private String token(String subject, long validadeMillis) {
+        long agora = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject(subject)
+                .claim("userId", 7L)
+                .setIssuedAt(new Date(agora))
+                .setExpiration(new Date(agora + validadeMillis))
+                .signWith(verificador.chave(), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Test
+    void testTokenValidoVemDoCacheNaSegundaVerificacao() {
+        String token = token("ana@email.com", 60_000);
+
+        Claims primeira = verificador.verificar(token);
+        Claims segunda = verificador.verificar(token);
+
+        assertEquals(1, verificador.emCache());
+        assertEquals("ana@email.com", segunda.getSubject());
+        assertEquals(7L, segunda.get("userId", Long.class));
+        assertEquals(primeira.getExpiration(), segunda.getExpiration());
+    }
+
+    @Test
+    void testClaimsAlteradasNaoVazamParaOutraRequisicao() {
+        String token = token("ana@email.com", 60_000);
+        verificador.verificar(token);
+
+        Claims claims = verificador.verificar(token);
+        claims.setSubject("admin@email.com");
+        claims.put("userId", 1L);
+
+        assertEquals("ana@email.com", verificador.verificar(token).getSubject());
+        assertEquals(7L, verificador.verificar(token).get("userId", Long.class));
+    }
+
+    @Test
+    void testAssinaturaAlteradaNaoAproveitaCache() {
+        String token = token("ana@email.com", 60_000);
+        verificador.verificar(token);
+
+        String[] partes = token.split("\\.");
+        String payloadAlterado = Jwts.builder().setSubject("admin@email.com").compact().split("\\.")[1];
+        String forjado = partes[0] + "." + payloadAlterado + "." + partes[2];
+
+        assertThrows(JwtException.class, () -> verificador.verificar(forjado));
+    }
+
+    @Test
+    void testOutraChaveNaoValida() {
+        String token = token("ana@email.com", 60_000);
+        VerificadorJwt outro = new VerificadorJwt("outro-segredo-de-teste-com-trinta-e-dois-bytes", 100);
+
+        assertThrows(JwtException.class, () -> outro.verificar(token));
+    }
+
+    @Test
+    void testTokenSaiDoCacheNoExp() {
+        String token = token("ana@email.com", 60_000);
+        assertNotNull(verificador.verificar(token));
+
+        tempo.addAndGet(TimeUnit.SECONDS.toNanos(55));
+        assertEquals(1, verificador.emCache());
+
+        tempo.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertEquals(0, verificador.emCache());
+    }
+
+    @Test
+    void testTokenExpiradoNaoEntraNoCache() {
+        String token = token("ana@email.com", -1_000);
+
+        assertThrows(ExpiredJwtException.class, () -> verificador.verificar(token));
+        assertEquals(0, verificador.emCache());
+    }
+
+    @Test
+    void testTokenVerificadoDepoisDeTempoNoTickerExpiraNoExp() {
+        tempo.set(TimeUnit.HOURS.toNanos(3));
+        String token = token("ana@email.com", 60_000);
+        verificador.verificar(token);
+
+        tempo.addAndGet(TimeUnit.SECONDS.toNanos(55));
+        assertEquals(1, verificador.emCache());
+
+        tempo.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertEquals(0, verificador.emCache());
+    }
+
+    @Test
+    void testSegredoAusenteOuCurtoImpedeASubida() {
+        IllegalStateException ausente = assertThrows(IllegalStateException.class, () -> new VerificadorJwt("", 100));
+        assertTrue(ausente.getMessage().contains("JWT_SECRET"));
+        assertThrows(IllegalStateException.class, () -> new VerificadorJwt("curto", 100));
+    }
+
+    @Test
+    void testSemCacheVerificaSempre() {
+        VerificadorJwt semCache = new VerificadorJwt(SEGREDO, 0);
+        String token = token("ana@email.com", 60_000);
+
+        assertEquals("ana@email.com", semCache.verificar(token).getSubject());
+        assertNotSame(semCache.verificar(token), semCache.verificar(token));
+    }
+}
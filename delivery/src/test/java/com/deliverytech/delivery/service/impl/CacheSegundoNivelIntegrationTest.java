@@ -0,0 +1,108 @@
+package com.deliverytech.delivery.service.impl;
+
+import com.deliverytech.delivery.model.Produto;
+import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.support.ContadorSql;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CacheSegundoNivelIntegrationTest {
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+    @Autowired
+    private ProdutoRepository produtoRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private Restaurante restaurante;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        restaurante = restauranteRepository.save(Restaurante.builder()
+                .nome("Restaurante L2")
+                .categoria("Categoria " + UUID.randomUUID())
+                .taxaEntrega(new BigDecimal("3.00"))
+                .build());
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    private long selectsAo(Runnable leitura) {
+        ContadorSql.zerar();
+        leitura.run();
+        return ContadorSql.selects();
+    }
+
+    @Test
+    void testFindByIdServidoPeloCacheDeSegundoNivel() {
+        assertEquals(1, selectsAo(() -> restauranteRepository.findById(restaurante.getId())));
+        long acertos = statistics.getSecondLevelCacheHitCount();
+
+        assertEquals(0, selectsAo(() -> restauranteRepository.findById(restaurante.getId())));
+        assertTrue(statistics.getSecondLevelCacheHitCount() > acertos);
+    }
+
+    @Test
+    void testConsultaPorCategoriaNoCacheDeConsultas() {
+        String categoria = restaurante.getCategoria();
+        restauranteRepository.findByCategoria(categoria);
+        assertEquals(0, selectsAo(() -> restauranteRepository.findByCategoria(categoria)));
+
+        // Uma escrita na tabela invalida o resultado guardado
+        restauranteRepository.save(Restaurante.builder().nome("Novo").categoria(categoria).build());
+        assertEquals(2, restauranteRepository.findByCategoria(categoria).size());
+    }
+
+    @Test
+    void testColecaoDeProdutosVeProdutoNovo() {
+        produtoRepository.save(Produto.builder().nome("A").categoria("X").preco(BigDecimal.ONE).restaurante(restaurante).build());
+        assertEquals(1, quantidadeDeProdutos());
+
+        produtoRepository.save(Produto.builder().nome("B").categoria("X").preco(BigDecimal.ONE).restaurante(restaurante).build());
+        assertEquals(2, quantidadeDeProdutos());
+    }
+
+    @Test
+    void testRegioesComTamanhoConfigurado() {
+        RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(RegionFactory.class);
+        javax.cache.Cache<?, ?> regiao = ((JCacheRegionFactory) regionFactory).getCacheManager()
+                .getCache("restaurante");
+
+        @SuppressWarnings("unchecked")
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> caffeine =
+                regiao.unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+        assertEquals(5000, caffeine.policy().eviction().orElseThrow().getMaximum());
+    }
+
+    private int quantidadeDeProdutos() {
+        return transactionTemplate.execute(status -> {
+            List<Produto> produtos = restauranteRepository.findById(restaurante.getId()).orElseThrow().getProdutos();
+            return produtos.size();
+        });
+    }
+}
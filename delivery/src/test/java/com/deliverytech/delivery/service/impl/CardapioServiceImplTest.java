@@ -0,0 +1,189 @@
+package com.deliverytech.delivery.service.impl;
+
+import com.deliverytech.delivery.dto.response.CardapioDeltaResponse;
+import com.deliverytech.delivery.dto.response.ProdutoResponse;
+import com.deliverytech.delivery.event.CatalogoAlteradoEvent;
+import com.deliverytech.delivery.model.Produto;
+import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.service.CardapioSnapshot;
+import com.deliverytech.delivery.service.CatalogoVersaoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class CardapioServiceImplTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ProdutoRepository produtoRepository;
+    private RestauranteRepository restauranteRepository;
+    private CatalogoVersaoService catalogoVersaoService;
+    private CardapioServiceImpl cardapioService;
+    private Restaurante restaurante;
+
+    @BeforeEach
+    void setUp() {
+        produtoRepository = mock(ProdutoRepository.class);
+        restauranteRepository = mock(RestauranteRepository.class);
+        catalogoVersaoService = mock(CatalogoVersaoService.class);
+        cardapioService = new CardapioServiceImpl(produtoRepository, restauranteRepository, catalogoVersaoService, objectMapper, 1 << 20, 1024,
+                Duration.ofMinutes(10), 500);
+        restaurante = Restaurante.builder().id(1L).build();
+    }
+
+    private Produto produto(long id, String nome) {
+        return Produto.builder().id(id).nome(nome).categoria("Japonesa").descricao("Descrição do produto " + id)
+                .preco(new BigDecimal("10.00")).disponivel(true).restaurante(restaurante).build();
+    }
+
+    private ProdutoResponse[] ler(byte[] json) throws IOException {
+        return objectMapper.readValue(json, ProdutoResponse[].class);
+    }
+
+    @Test
+    void testSnapshotMontadoUmaVez() throws IOException {
+        when(produtoRepository.findByRestauranteId(1L)).thenReturn(List.of(produto(2L, "B"), produto(1L, "A")));
+
+        CardapioSnapshot snapshot = cardapioService.snapshot(1L).orElseThrow();
+        assertSame(snapshot, cardapioService.snapshot(1L).orElseThrow());
+        verify(produtoRepository, times(1)).findByRestauranteId(1L);
+
+        ProdutoResponse[] produtos = ler(snapshot.json());
+        assertEquals(2, produtos.length);
+        assertEquals("A", produtos[0].getNome());
+        assertFalse(snapshot.temGzip());
+    }
+
+    @Test
+    void testRestauranteInexistenteNaoFicaNoCache() {
+        when(produtoRepository.findByRestauranteId(99L)).thenReturn(List.of());
+        when(restauranteRepository.existsById(99L)).thenReturn(false);
+
+        assertTrue(cardapioService.snapshot(99L).isEmpty());
+        assertTrue(cardapioService.snapshot(99L).isEmpty());
+        verify(produtoRepository, times(2)).findByRestauranteId(99L);
+    }
+
+    @Test
+    void testCardapioVazioDeRestauranteExistenteFicaNoCache() {
+        when(produtoRepository.findByRestauranteId(1L)).thenReturn(List.of());
+        when(restauranteRepository.existsById(1L)).thenReturn(true);
+
+        assertEquals("[]", new String(cardapioService.snapshot(1L).orElseThrow().json()));
+        cardapioService.snapshot(1L);
+        verify(produtoRepository, times(1)).findByRestauranteId(1L);
+    }
+
+    @Test
+    void testAlteracaoReserializaSoOsProdutosAfetados() throws IOException {
+        when(produtoRepository.findByRestauranteId(1L)).thenReturn(List.of(produto(1L, "A"), produto(2L, "B")));
+        String etagAnterior = cardapioService.snapshot(1L).orElseThrow().etag();
+
+        Produto alterado = produto(2L, "B2");
+        alterado.setDisponivel(false);
+        when(produtoRepository.findAllById(Set.of(2L))).thenReturn(List.of(alterado));
+        cardapioService.catalogoAlterado(new CatalogoAlteradoEvent(1L, Set.of(2L)));
+
+        CardapioSnapshot snapshot = cardapioService.snapshot(1L).orElseThrow();
+        ProdutoResponse[] produtos = ler(snapshot.json());
+        assertEquals("A", produtos[0].getNome());
+        assertEquals("B2", produtos[1].getNome());
+        assertFalse(produtos[1].getDisponivel());
+        assertNotEquals(etagAnterior, snapshot.etag());
+        verify(produtoRepository, times(1)).findByRestauranteId(anyLong());
+    }
+
+    @Test
+    void testEventoAtrasadoNaoSobrescreveProdutoMaisNovo() throws IOException {
+        Produto atual = produto(2L, "B5");
+        atual.setVersaoCatalogo(5L);
+        when(produtoRepository.findByRestauranteId(1L)).thenReturn(List.of(produto(1L, "A"), atual));
+        cardapioService.snapshot(1L);
+
+        Produto antigo = produto(2L, "B3");
+        antigo.setVersaoCatalogo(3L);
+        when(produtoRepository.findAllById(Set.of(2L))).thenReturn(List.of(antigo));
+        cardapioService.catalogoAlterado(new CatalogoAlteradoEvent(1L, Set.of(2L)));
+
+        assertEquals("B5", ler(cardapioService.snapshot(1L).orElseThrow().json())[1].getNome());
+    }
+
+    @Test
+    void testEventoDeCardapioNaoMontadoNaoConsultaOBanco() {
+        cardapioService.catalogoAlterado(new CatalogoAlteradoEvent(1L, Set.of(2L)));
+        verify(produtoRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void testAlteracaoDuranteAMontagemNaoFicaNoCache() {
+        when(produtoRepository.findByRestauranteId(1L)).thenReturn(List.of(produto(1L, "A")));
+        // Versão lida antes e depois dos produtos: outra transação alterou o catálogo no meio
+        when(catalogoVersaoService.atual(1L)).thenReturn(1L, 2L, 2L, 2L);
+
+        // O montado é devolvido, mas só a leitura seguinte, sem alteração no meio, fica no cache
+        assertTrue(cardapioService.snapshot(1L).isPresent());
+        cardapioService.snapshot(1L);
+        cardapioService.snapshot(1L);
+        verify(produtoRepository, times(2)).findByRestauranteId(1L);
+    }
+
+    @Test
+    void testCardapioGrandeTemGzip() throws IOException {
+        List<Produto> produtos = new ArrayList<>();
+        for (long i = 1; i <= 50; i++) {
+            produtos.add(produto(i, "Produto " + i));
+        }
+        when(produtoRepository.findByRestauranteId(1L)).thenReturn(produtos);
+
+        CardapioSnapshot snapshot = cardapioService.snapshot(1L).orElseThrow();
+        assertTrue(snapshot.temGzip());
+        assertTrue(snapshot.gzip().length < snapshot.json().length);
+        assertNotEquals(snapshot.etag(), snapshot.etagGzip());
+        assertTrue(snapshot.etagGzip().endsWith("-gz\""));
+        try (GZIPInputStream gz = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzip()))) {
+            assertArrayEquals(snapshot.json(), gz.readAllBytes());
+        }
+    }
+
+    @Test
+    void testAlteracoesDesdeVersao() {
+        when(catalogoVersaoService.atual(1L)).thenReturn(12L);
+        Produto indisponivel = produto(2L, "B");
+        indisponivel.setDisponivel(false);
+        when(produtoRepository.findByRestauranteIdAndVersaoCatalogoGreaterThan(1L, 10L)).thenReturn(List.of(indisponivel));
+
+        CardapioDeltaResponse delta = cardapioService.alteracoes(1L, 10L);
+        assertEquals(12L, delta.getVersao());
+        assertFalse(delta.isCompleto());
+        assertEquals(1, delta.getProdutos().size());
+        assertFalse(delta.getProdutos().get(0).getDisponivel());
+        verify(produtoRepository, never()).findByRestauranteId(anyLong());
+    }
+
+    @Test
+    void testAlteracoesCompletoQuandoClienteMuitoAtrasadoOuDesconhecido() {
+        when(catalogoVersaoService.atual(1L)).thenReturn(1000L);
+        when(produtoRepository.findByRestauranteId(1L)).thenReturn(List.of(produto(1L, "A"), produto(2L, "B")));
+
+        assertTrue(cardapioService.alteracoes(1L, 0L).isCompleto());
+        assertTrue(cardapioService.alteracoes(1L, 499L).isCompleto());
+        assertTrue(cardapioService.alteracoes(1L, 2000L).isCompleto());
+        assertEquals(2, cardapioService.alteracoes(1L, 499L).getProdutos().size());
+        assertFalse(cardapioService.alteracoes(1L, 500L).isCompleto());
+    }
+}
@@ -0,0 +1,143 @@
+package com.deliverytech.delivery.service.impl;
+
+import com.deliverytech.delivery.config.CacheConfig;
+import com.deliverytech.delivery.dto.response.ProdutoResponse;
+import com.deliverytech.delivery.model.Produto;
+import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.service.ProdutoService;
+import com.deliverytech.delivery.service.RestauranteService;
+import com.deliverytech.delivery.support.ContadorSql;
+import com.github.benmanes.caffeine.cache.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CatalogoCacheIntegrationTest {
+
+    @Autowired
+    private RestauranteService restauranteService;
+    @Autowired
+    private ProdutoService produtoService;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Restaurante restaurante;
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        restaurante = restauranteService.cadastrar(Restaurante.builder()
+                .nome("Restaurante Cache")
+                .categoria("Italiana")
+                .taxaEntrega(new BigDecimal("4.00"))
+                .build());
+        produto = produtoService.cadastrar(Produto.builder()
+                .nome("Pizza")
+                .categoria("Italiana")
+                .preco(new BigDecimal("40.00"))
+                .restaurante(restaurante)
+                .build());
+        // Mede só o cache do Spring, sem o cache de segundo nível do Hibernate por trás
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    private long selectsAo(Runnable leitura) {
+        ContadorSql.zerar();
+        leitura.run();
+        return ContadorSql.selects();
+    }
+
+    @Test
+    void testBuscarRestauranteUsaCache() {
+        assertEquals(1, selectsAo(() -> restauranteService.buscarPorId(restaurante.getId())));
+        assertEquals(0, selectsAo(() -> restauranteService.buscarPorId(restaurante.getId())));
+
+        Restaurante alterado = Restaurante.builder().nome("Novo Nome").categoria("Italiana").build();
+        restauranteService.atualizar(restaurante.getId(), alterado);
+
+        assertEquals("Novo Nome", restauranteService.buscarPorId(restaurante.getId()).orElseThrow().getNome());
+    }
+
+    @Test
+    void testRestauranteInexistenteNaoFicaNoCache() {
+        assertTrue(restauranteService.buscarPorId(-1L).isEmpty());
+        assertEquals(1, selectsAo(() -> restauranteService.buscarPorId(-1L)));
+    }
+
+    @Test
+    void testCardapioInvalidadoSoParaORestauranteAlterado() {
+        Restaurante outro = restauranteService.cadastrar(Restaurante.builder().nome("Outro").categoria("Italiana").build());
+        produtoService.buscarPorRestaurante(restaurante.getId());
+        produtoService.buscarPorRestaurante(outro.getId());
+        assertEquals(0, selectsAo(() -> produtoService.buscarPorRestaurante(restaurante.getId())));
+
+        produtoService.alterarDisponibilidade(produto.getId(), false);
+
+        assertFalse(produtoService.buscarPorRestaurante(restaurante.getId()).get(0).getDisponivel());
+        assertEquals(0, selectsAo(() -> produtoService.buscarPorRestaurante(outro.getId())));
+    }
+
+    @Test
+    void testAtualizarProdutoInvalidaProdutoECardapio() {
+        produtoService.buscarPorId(produto.getId());
+        produtoService.buscarPorRestaurante(restaurante.getId());
+
+        Produto alterado = Produto.builder().nome("Pizza Grande").categoria("Italiana").preco(new BigDecimal("55.00")).build();
+        produtoService.atualizar(produto.getId(), alterado);
+
+        assertEquals("Pizza Grande", produtoService.buscarPorId(produto.getId()).orElseThrow().getNome());
+        assertEquals("Pizza Grande", produtoService.buscarPorRestaurante(restaurante.getId()).get(0).getNome());
+    }
+
+    @Test
+    void testCacheLimitadoComEstatisticas() {
+        Cache<Object, Object> nativo = ((CaffeineCache) cacheManager.getCache(CacheConfig.RESTAURANTES)).getNativeCache();
+        long acertos = nativo.stats().hitCount();
+        restauranteService.buscarPorId(restaurante.getId());
+        restauranteService.buscarPorId(restaurante.getId());
+
+        assertTrue(nativo.policy().eviction().isPresent());
+        assertTrue(nativo.policy().expireAfterWrite().isPresent());
+        assertTrue(nativo.stats().hitCount() > acertos);
+    }
+
+    @Test
+    void testDisponibilidadeEmLoteUmUpdatePorRestaurante() {
+        Produto segundo = produtoService.cadastrar(Produto.builder().nome("Calzone").categoria("Italiana")
+                .preco(new BigDecimal("45.00")).restaurante(restaurante).build());
+        Produto bebida = produtoService.cadastrar(Produto.builder().nome("Suco").categoria("Bebidas")
+                .preco(new BigDecimal("9.00")).restaurante(restaurante).build());
+        produtoService.buscarPorId(produto.getId());
+        produtoService.buscarPorRestaurante(restaurante.getId());
+
+        ContadorSql.zerar();
+        assertEquals(2, produtoService.alterarDisponibilidadePorCategoria(restaurante.getId(), "Italiana", false));
+        // Versão do catálogo + o UPDATE dos produtos
+        assertEquals(2, ContadorSql.updates());
+
+        assertFalse(produtoService.buscarPorId(produto.getId()).orElseThrow().getDisponivel());
+        List<ProdutoResponse> cardapio = produtoService.buscarPorRestaurante(restaurante.getId());
+        assertEquals(2, cardapio.stream().filter(p -> !p.getDisponivel()).count());
+        assertTrue(cardapio.stream().filter(p -> p.getId().equals(bebida.getId())).findFirst().orElseThrow().getDisponivel());
+
+        // Já indisponíveis: nada muda e nenhum UPDATE é feito
+        ContadorSql.zerar();
+        assertEquals(0, produtoService.alterarDisponibilidade(List.of(produto.getId(), segundo.getId()), false));
+        assertEquals(0, ContadorSql.updates());
+        assertEquals(2, produtoService.alterarDisponibilidade(List.of(produto.getId(), segundo.getId(), -1L), true));
+    }
+}
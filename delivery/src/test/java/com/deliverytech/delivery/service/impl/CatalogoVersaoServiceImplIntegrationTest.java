@@ -0,0 +1,66 @@
+package com.deliverytech.delivery.service.impl;
+
+import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.service.CatalogoVersaoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CatalogoVersaoServiceImplIntegrationTest {
+
+    private static final int ESCRITORES = 8;
+
+    @Autowired
+    private CatalogoVersaoService catalogoVersaoService;
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Test
+    void testPrimeirasEscritasConcorrentesGeramVersoesDistintas() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(ESCRITORES);
+        try {
+            // Várias rodadas: a corrida só existe enquanto o restaurante ainda não tem versão
+            for (int rodada = 0; rodada < 10; rodada++) {
+                Long restauranteId = restauranteRepository.save(Restaurante.builder()
+                        .nome("Restaurante Versao " + rodada)
+                        .categoria("Italiana")
+                        .build()).getId();
+                CyclicBarrier largada = new CyclicBarrier(ESCRITORES);
+                List<Future<Long>> versoes = new ArrayList<>();
+                for (int i = 0; i < ESCRITORES; i++) {
+                    versoes.add(executor.submit(() -> {
+                        largada.await();
+                        return catalogoVersaoService.incrementar(restauranteId);
+                    }));
+                }
+
+                Set<Long> obtidas = new TreeSet<>();
+                for (Future<Long> versao : versoes) {
+                    obtidas.add(versao.get(10, TimeUnit.SECONDS));
+                }
+                assertEquals(LongStream.rangeClosed(1, ESCRITORES).boxed().collect(Collectors.toSet()), obtidas);
+                assertEquals(ESCRITORES, catalogoVersaoService.atual(restauranteId));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.deliverytech.delivery.service.impl;
 
+import com.deliverytech.delivery.dto.response.ClienteResponse;
 import com.deliverytech.delivery.model.Cliente;
 import com.deliverytech.delivery.repository.ClienteRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,6 +8,10 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.util.Arrays;
 import java.util.List;
@@ -92,4 +97,14 @@ class ClienteServiceImplTest {
         when(clienteRepository.findById(2L)).thenReturn(Optional.empty());
         assertThrows(RuntimeException.class, () -> clienteService.ativarDesativar(2L));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testListarAtivosPaginado() {
+        Pageable pageable = PageRequest.of(1, 2);
+        ClienteResponse c1 = new ClienteResponse(3L, "Ana", "ana@email.com", true);
+        when(clienteRepository.listarResumoAtivos(pageable)).thenReturn(new SliceImpl<>(List.of(c1), pageable, false));
+        Slice<ClienteResponse> pagina = clienteService.listarAtivos(pageable);
+        assertEquals(List.of(c1), pagina.getContent());
+        assertFalse(pagina.hasNext());
+    }
+}
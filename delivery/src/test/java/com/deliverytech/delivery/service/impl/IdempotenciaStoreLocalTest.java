@@ -0,0 +1,103 @@
+package com.deliverytech.delivery.service.impl;
+
+import com.deliverytech.delivery.dto.response.PedidoResponse;
+import com.deliverytech.delivery.service.ChaveIdempotenciaReutilizadaException;
+import com.deliverytech.delivery.service.RespostaIdempotente;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotenciaStoreLocalTest {
+
+    private RespostaIdempotente resposta(long id) {
+        PedidoResponse resposta = new PedidoResponse();
+        resposta.setId(id);
+        return RespostaIdempotente.criado(resposta);
+    }
+
+    @Test
+    void testRepetidaRecebeResultadoDaOriginal() throws Exception {
+        IdempotenciaStoreLocal store = new IdempotenciaStoreLocal(4, 100, Duration.ofHours(1), Duration.ofSeconds(30));
+
+        assertTrue(store.reservar("u:1", "corpo").isEmpty());
+        Optional<CompletableFuture<RespostaIdempotente>> repetida = store.reservar("u:1", "corpo");
+        assertTrue(repetida.isPresent());
+        assertFalse(repetida.get().isDone());
+
+        store.concluir("u:1", "corpo", resposta(7L));
+        assertEquals(7L, repetida.get().get(1, TimeUnit.SECONDS).pedido().getId());
+        assertEquals(7L, store.reservar("u:1", "corpo").get().get().pedido().getId());
+    }
+
+    @Test
+    void testChaveRepetidaComOutroCorpoERejeitada() {
+        IdempotenciaStoreLocal store = new IdempotenciaStoreLocal(4, 100, Duration.ofHours(1), Duration.ofSeconds(30));
+
+        store.reservar("u:1", "corpo");
+        assertThrows(ChaveIdempotenciaReutilizadaException.class, () -> store.reservar("u:1", "outro"));
+
+        store.concluir("u:1", "corpo", resposta(7L));
+        assertThrows(ChaveIdempotenciaReutilizadaException.class, () -> store.reservar("u:1", "outro"));
+        // A mesma chave de outro usuário é independente
+        assertTrue(store.reservar("v:1", "outro").isEmpty());
+    }
+
+    @Test
+    void testLiberarPropagaFalhaEPermiteNovaTentativa() {
+        IdempotenciaStoreLocal store = new IdempotenciaStoreLocal(4, 100, Duration.ofHours(1), Duration.ofSeconds(30));
+
+        store.reservar("u:1", "corpo");
+        CompletableFuture<RespostaIdempotente> repetida = store.reservar("u:1", "corpo").get();
+        store.liberar("u:1", new RuntimeException("falhou"));
+
+        assertThrows(ExecutionException.class, repetida::get);
+        assertTrue(store.reservar("u:1", "corpo").isEmpty());
+    }
+
+    @Test
+    void testEntradaVencidaPodeSerReservadaDeNovo() throws InterruptedException {
+        IdempotenciaStoreLocal store = new IdempotenciaStoreLocal(1, 100, Duration.ofMillis(20), Duration.ofSeconds(30));
+
+        store.reservar("u:1", "corpo");
+        store.concluir("u:1", "corpo", resposta(1L));
+        Thread.sleep(40);
+
+        assertTrue(store.reservar("u:1", "corpo").isEmpty());
+    }
+
+    @Test
+    void testPendenteVencidaAtrasDeConcluidaSaiNaVarredura() throws InterruptedException {
+        IdempotenciaStoreLocal store = new IdempotenciaStoreLocal(1, 100, Duration.ofHours(1), Duration.ofMillis(20));
+
+        // u:1, u:3 e u:5 caem no mesmo segmento
+        store.reservar("u:1", "corpo");
+        store.concluir("u:1", "corpo", resposta(1L));
+        store.reservar("u:3", "corpo");
+        Thread.sleep(40);
+
+        // u:3 nunca foi concluída: vence pelo timeout de execução mesmo atrás de u:1, que vale 1h
+        assertTrue(store.reservar("u:5", "corpo").isEmpty());
+        assertEquals(2, store.tamanho());
+        assertTrue(store.reservar("u:1", "corpo").isPresent());
+    }
+
+    @Test
+    void testCapacidadeLimitada() {
+        IdempotenciaStoreLocal store = new IdempotenciaStoreLocal(4, 40, Duration.ofHours(1), Duration.ofSeconds(30));
+
+        for (int i = 0; i < 1000; i++) {
+            store.reservar("u:" + i, "corpo");
+            store.concluir("u:" + i, "corpo", resposta(i));
+        }
+
+        assertTrue(store.tamanho() <= 40);
+        // As mais recentes continuam disponíveis
+        assertTrue(store.reservar("u:999", "corpo").isPresent());
+    }
+}
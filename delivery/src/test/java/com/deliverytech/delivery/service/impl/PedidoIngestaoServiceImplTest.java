@@ -0,0 +1,147 @@
+package com.deliverytech.delivery.service.impl;
+
+import com.deliverytech.delivery.dto.request.PedidoRequest;
+import com.deliverytech.delivery.dto.response.IngestaoPedidoResponse;
+import com.deliverytech.delivery.dto.response.IngestaoPedidoResponse.Situacao;
+import com.deliverytech.delivery.model.Pedido;
+import com.deliverytech.delivery.service.PedidoService;
+import com.deliverytech.delivery.service.ResultadoCriacaoPedido;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class PedidoIngestaoServiceImplTest {
+
+    private final PedidoService pedidoService = mock(PedidoService.class);
+    private final AtomicLong tempo = new AtomicLong();
+    private PedidoIngestaoServiceImpl ingestao;
+
+    private PedidoIngestaoServiceImpl nova(String modo, int capacidadeFila, int workers, int tamanhoLote) {
+        return new PedidoIngestaoServiceImpl(pedidoService, modo, capacidadeFila, workers, tamanhoLote,
+                Duration.ofMinutes(1), Duration.ofSeconds(5), tempo::get);
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(pedidoService.criarEmLote(anyList())).thenAnswer(inv -> {
+            List<PedidoRequest> requests = inv.getArgument(0);
+            return requests.stream()
+                    .map(r -> r.getClienteId() == null
+                            ? ResultadoCriacaoPedido.rejeitado("Cliente não encontrado")
+                            : ResultadoCriacaoPedido.criado(Pedido.builder().id(r.getClienteId()).build()))
+                    .toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (ingestao != null) {
+            ingestao.encerrar();
+        }
+    }
+
+    @Test
+    void testModoSincrono_NaoEnfileira() {
+        ingestao = nova("sincrono", 10, 1, 10);
+        assertFalse(ingestao.isAssincrono());
+        assertTrue(ingestao.enfileirar(new PedidoRequest()).isEmpty());
+    }
+
+    @Test
+    void testFilaCheia_RecusaPedido() {
+        ingestao = nova("assincrono", 2, 1, 10);
+        assertTrue(ingestao.enfileirar(new PedidoRequest()).isPresent());
+        assertTrue(ingestao.enfileirar(new PedidoRequest()).isPresent());
+        assertTrue(ingestao.enfileirar(new PedidoRequest()).isEmpty());
+    }
+
+    @Test
+    void testWorkerGravaPedidosEmLote() throws InterruptedException {
+        ingestao = nova("assincrono", 10, 1, 10);
+        PedidoRequest valido = new PedidoRequest();
+        valido.setClienteId(7L);
+        String aceito = ingestao.enfileirar(valido).orElseThrow().getProtocolo();
+        String rejeitado = ingestao.enfileirar(new PedidoRequest()).orElseThrow().getProtocolo();
+        assertEquals(Situacao.PENDENTE, ingestao.consultar(aceito).orElseThrow().getSituacao());
+
+        ingestao.iniciar();
+        Optional<IngestaoPedidoResponse> resultado = Optional.empty();
+        for (int i = 0; i < 100; i++) {
+            resultado = ingestao.consultar(rejeitado).filter(r -> r.getSituacao() != Situacao.PENDENTE);
+            if (resultado.isPresent()) {
+                break;
+            }
+            Thread.sleep(20);
+        }
+
+        assertEquals(Situacao.REJEITADO, resultado.orElseThrow().getSituacao());
+        IngestaoPedidoResponse criado = ingestao.consultar(aceito).orElseThrow();
+        assertEquals(Situacao.CRIADO, criado.getSituacao());
+        assertEquals(7L, criado.getPedidoId());
+        verify(pedidoService, times(1)).criarEmLote(anyList());
+    }
+
+    @Test
+    void testEncerrarGravaAFilaSemInterromperOWorker() throws Exception {
+        CountDownLatch gravando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        AtomicBoolean interrompido = new AtomicBoolean();
+        when(pedidoService.criarEmLote(anyList())).thenAnswer(inv -> {
+            gravando.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            interrompido.compareAndSet(false, Thread.currentThread().isInterrupted());
+            List<PedidoRequest> requests = inv.getArgument(0);
+            return requests.stream().map(r -> ResultadoCriacaoPedido.criado(Pedido.builder().id(1L).build())).toList();
+        });
+        ingestao = nova("assincrono", 10, 1, 1);
+        List<String> protocolos = List.of(
+                ingestao.enfileirar(new PedidoRequest()).orElseThrow().getProtocolo(),
+                ingestao.enfileirar(new PedidoRequest()).orElseThrow().getProtocolo(),
+                ingestao.enfileirar(new PedidoRequest()).orElseThrow().getProtocolo());
+        ingestao.iniciar();
+        assertTrue(gravando.await(5, TimeUnit.SECONDS));
+
+        // Worker no meio de um lote: o encerramento espera em vez de interromper
+        CompletableFuture<Void> encerramento = CompletableFuture.runAsync(() -> {
+            try {
+                ingestao.encerrar();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Thread.sleep(100);
+        assertFalse(encerramento.isDone());
+        assertTrue(ingestao.enfileirar(new PedidoRequest()).isEmpty());
+        liberar.countDown();
+        encerramento.get(5, TimeUnit.SECONDS);
+
+        assertFalse(interrompido.get());
+        protocolos.forEach(p -> assertEquals(Situacao.CRIADO, ingestao.consultar(p).orElseThrow().getSituacao()));
+        ingestao = null;
+    }
+
+    @Test
+    void testProtocoloExpiraAposRetencao() {
+        ingestao = nova("assincrono", 10, 1, 10);
+        String protocolo = ingestao.enfileirar(new PedidoRequest()).orElseThrow().getProtocolo();
+
+        tempo.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        assertTrue(ingestao.consultar(protocolo).isPresent());
+
+        tempo.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertTrue(ingestao.consultar(protocolo).isEmpty());
+    }
+}
@@ -0,0 +1,306 @@
+package com.deliverytech.delivery.service.impl;
+
+import com.deliverytech.delivery.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery.dto.request.PedidoRequest;
+import com.deliverytech.delivery.model.*;
+import com.deliverytech.delivery.repository.ClienteRepository;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.service.PedidoService;
+import com.deliverytech.delivery.service.ResultadoTransicao;
+import com.deliverytech.delivery.support.ContadorSql;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PedidoServiceImplIntegrationTest {
+
+    @Autowired
+    private PedidoService pedidoService;
+    @Autowired
+    private ClienteRepository clienteRepository;
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+    @Autowired
+    private ProdutoRepository produtoRepository;
+    @Autowired
+    private PedidoRepository pedidoRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private Cliente cliente;
+    private Restaurante restaurante;
+    private List<Produto> produtos;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        cliente = clienteRepository.save(Cliente.builder()
+                .nome("Cliente Pedido")
+                .email(UUID.randomUUID() + "@email.com")
+                .build());
+        restaurante = restauranteRepository.save(Restaurante.builder()
+                .nome("Restaurante Pedido")
+                .categoria("Japonesa")
+                .taxaEntrega(new BigDecimal("5.00"))
+                .tempoEntregaMinutos(40)
+                .build());
+        produtos = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            produtos.add(produtoRepository.save(Produto.builder()
+                    .nome("Produto " + i)
+                    .categoria("Japonesa")
+                    .preco(new BigDecimal("10.00"))
+                    .restaurante(restaurante)
+                    .build()));
+        }
+    }
+
+    private PedidoRequest pedidoCom(int quantidadeItens) {
+        List<ItemPedidoRequest> itens = new ArrayList<>();
+        for (int i = 0; i < quantidadeItens; i++) {
+            itens.add(new ItemPedidoRequest(produtos.get(i).getId(), 2));
+        }
+        Endereco endereco = new Endereco("Rua A", "10", "Centro", "São Paulo", "SP", "01000-000");
+        return new PedidoRequest(cliente.getId(), restaurante.getId(), endereco, itens);
+    }
+
+    private long consultasAoCriar(PedidoRequest request) {
+        ContadorSql.zerar();
+        pedidoService.criar(request);
+        return ContadorSql.selects() + ContadorSql.inserts();
+    }
+
+    @Test
+    void testCriarPedido_CalculaTotalEGravaItens() {
+        Pedido pedido = pedidoService.criar(pedidoCom(3));
+        assertNotNull(pedido.getId());
+        assertEquals(StatusPedido.CRIADO, pedido.getStatus());
+        assertEquals(3, pedido.getItens().size());
+        // 3 itens x 2 x 10,00 + taxa de entrega 5,00
+        assertEquals(Dinheiro.deCentavos(6500), pedido.getTotal());
+        pedido.getItens().forEach(i -> assertNotNull(i.getId()));
+    }
+
+    @Test
+    void testCriarPedido_UsaCentavosGravadosComOPreco() {
+        assertEquals(1000L, produtoRepository.findById(produtos.get(0).getId()).orElseThrow().getPrecoCentavos());
+
+        Produto alterado = produtoRepository.findById(produtos.get(0).getId()).orElseThrow();
+        alterado.setPreco(new BigDecimal("12.35"));
+        produtoRepository.save(alterado);
+
+        Pedido pedido = pedidoService.criar(pedidoCom(1));
+        // 2 x 12,35 + taxa de entrega 5,00
+        assertEquals(Dinheiro.deCentavos(2970), pedido.getTotal());
+        assertEquals(1235L, produtoRepository.findById(produtos.get(0).getId()).orElseThrow().getPrecoCentavos());
+    }
+
+    @Test
+    void testCriarPedido_ConsultasConstantesPorPedido() {
+        long umItem = consultasAoCriar(pedidoCom(1));
+        long quinzeItens = consultasAoCriar(pedidoCom(15));
+        assertEquals(umItem, quinzeItens);
+        assertTrue(quinzeItens <= 5, "esperado no máximo 5 statements, foram " + quinzeItens);
+    }
+
+    @Test
+    void testCriarPedido_InsertsEmLote() {
+        List<Produto> vinte = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            vinte.add(Produto.builder().nome("Lote " + i).preco(BigDecimal.ONE).restaurante(restaurante).build());
+        }
+        ContadorSql.zerar();
+        transactionTemplate.executeWithoutResult(status -> produtoRepository.saveAll(vinte));
+        long insertsCatalogo = ContadorSql.inserts();
+
+        produtos.addAll(vinte);
+        List<ItemPedidoRequest> itens = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            itens.add(new ItemPedidoRequest(vinte.get(i).getId(), 1));
+        }
+        PedidoRequest request = pedidoCom(0);
+        request.getItens().addAll(itens);
+        ContadorSql.zerar();
+        pedidoService.criar(request);
+
+        assertEquals(1, insertsCatalogo);
+        assertEquals(2, ContadorSql.inserts());
+        assertTrue(ContadorSql.total() <= 9);
+    }
+
+    @Test
+    void testCriarPedido_ProdutoDeOutroRestaurante() {
+        Restaurante outro = restauranteRepository.save(Restaurante.builder().nome("Outro").categoria("Italiana").build());
+        Produto alheio = produtoRepository.save(Produto.builder()
+                .nome("Pizza").preco(BigDecimal.TEN).restaurante(outro).build());
+        PedidoRequest request = pedidoCom(1);
+        request.getItens().add(new ItemPedidoRequest(alheio.getId(), 1));
+        assertThrows(RuntimeException.class, () -> pedidoService.criar(request));
+    }
+
+    @Test
+    void testCriarPedido_ProdutoIndisponivel() {
+        Produto produto = produtos.get(0);
+        produto.setDisponivel(false);
+        produtoRepository.save(produto);
+        assertThrows(RuntimeException.class, () -> pedidoService.criar(pedidoCom(1)));
+    }
+
+    private long consultasAoMontarResposta(Long pedidoId, boolean detalhado) {
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            Pedido pedido = (detalhado ? pedidoRepository.findDetalhadoById(pedidoId) : pedidoRepository.findById(pedidoId))
+                    .orElseThrow();
+            pedido.getItens().forEach(i -> assertNotNull(i.getProduto().getNome()));
+        });
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void testBuscarDetalhado_ConsultaUnica() {
+        Long pedidoId = pedidoService.criar(pedidoCom(15)).getId();
+        long antes = consultasAoMontarResposta(pedidoId, false);
+        long depois = consultasAoMontarResposta(pedidoId, true);
+        assertEquals(1, depois);
+        assertTrue(depois < antes);
+    }
+
+    private int corrida(int threads, IntFunction<Runnable> tarefa) throws Exception {
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger sucessos = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futuros = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                Runnable acao = tarefa.apply(i);
+                futuros.add(executor.submit(() -> {
+                    largada.await();
+                    try {
+                        acao.run();
+                        sucessos.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        // perdeu a corrida: transição já não era válida
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> futuro : futuros) {
+                futuro.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return sucessos.get();
+    }
+
+    @Test
+    void testAtualizarStatus_ConcorrenciaNaMesmaTransicao() throws Exception {
+        Long pedidoId = pedidoService.criar(pedidoCom(1)).getId();
+        int sucessos = corrida(16, i -> () -> pedidoService.atualizarStatus(pedidoId, StatusPedido.CONFIRMADO));
+        assertEquals(1, sucessos);
+        assertEquals(StatusPedido.CONFIRMADO, pedidoRepository.buscarStatus(pedidoId).orElseThrow());
+    }
+
+    @Test
+    void testAtualizarStatus_CozinhaContraCancelamento() throws Exception {
+        Long pedidoId = pedidoService.criar(pedidoCom(1)).getId();
+        pedidoService.atualizarStatus(pedidoId, StatusPedido.CONFIRMADO);
+        int sucessos = corrida(16, i -> i % 2 == 0
+                ? () -> pedidoService.atualizarStatus(pedidoId, StatusPedido.EM_PREPARACAO)
+                : () -> pedidoService.cancelar(pedidoId));
+        assertEquals(1, sucessos);
+        StatusPedido finalStatus = pedidoRepository.buscarStatus(pedidoId).orElseThrow();
+        assertTrue(finalStatus == StatusPedido.EM_PREPARACAO || finalStatus == StatusPedido.CANCELADO);
+    }
+
+    @Test
+    void testAtualizarStatus_TransicaoInvalida() {
+        Long pedidoId = pedidoService.criar(pedidoCom(1)).getId();
+        assertThrows(IllegalStateException.class, () -> pedidoService.atualizarStatus(pedidoId, StatusPedido.ENTREGUE));
+        assertEquals(StatusPedido.CRIADO, pedidoRepository.buscarStatus(pedidoId).orElseThrow());
+    }
+
+    @Test
+    void testAtualizarStatusEmLote_ResultadoPorPedido() {
+        Long confirmado = pedidoService.criar(pedidoCom(1)).getId();
+        pedidoService.atualizarStatus(confirmado, StatusPedido.CONFIRMADO);
+        Long criado = pedidoService.criar(pedidoCom(1)).getId();
+
+        Map<Long, ResultadoTransicao> resultados = pedidoService.atualizarStatusEmLote(
+                List.of(confirmado, criado, 999_999L), StatusPedido.EM_PREPARACAO);
+
+        assertEquals(ResultadoTransicao.APLICADO, resultados.get(confirmado));
+        assertEquals(ResultadoTransicao.TRANSICAO_INVALIDA, resultados.get(criado));
+        assertEquals(ResultadoTransicao.NAO_ENCONTRADO, resultados.get(999_999L));
+        assertEquals(StatusPedido.EM_PREPARACAO, pedidoRepository.buscarStatus(confirmado).orElseThrow());
+    }
+
+    @Test
+    void testAtualizarStatusEmLote_DestinoJaAlcancadoPorOutraTransacao() throws Exception {
+        Long pedidoId = pedidoService.criar(pedidoCom(1)).getId();
+        CountDownLatch alterado = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // Outra tela confirma o pedido e segura a transação aberta enquanto o lote começa
+            Future<?> outra = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                pedidoRepository.atualizarStatusSe(pedidoId, StatusPedido.CONFIRMADO.anteriores(), StatusPedido.CONFIRMADO);
+                alterado.countDown();
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            alterado.await();
+
+            Map<Long, ResultadoTransicao> resultados = pedidoService.atualizarStatusEmLote(
+                    List.of(pedidoId), StatusPedido.CONFIRMADO);
+            outra.get();
+
+            assertEquals(ResultadoTransicao.TRANSICAO_INVALIDA, resultados.get(pedidoId));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testAtualizarStatusEmLote_StatementsConstantes() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            ids.add(pedidoService.criar(pedidoCom(1)).getId());
+        }
+        ContadorSql.zerar();
+        Map<Long, ResultadoTransicao> resultados = pedidoService.atualizarStatusEmLote(ids, StatusPedido.CONFIRMADO);
+        assertTrue(resultados.values().stream().allMatch(r -> r == ResultadoTransicao.APLICADO));
+        assertEquals(1, ContadorSql.selects());
+        assertEquals(1, ContadorSql.updates());
+    }
+}
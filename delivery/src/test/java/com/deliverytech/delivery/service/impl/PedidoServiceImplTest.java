@@ -0,0 +1,88 @@
+package com.deliverytech.delivery.service.impl;
+
+import com.deliverytech.delivery.event.PedidoStatusEvent;
+import com.deliverytech.delivery.model.Cliente;
+import com.deliverytech.delivery.model.Pedido;
+import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.model.StatusPedido;
+import com.deliverytech.delivery.repository.ClienteRepository;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PedidoServiceImplTest {
+    @Mock
+    private PedidoRepository pedidoRepository;
+    @Mock
+    private ClienteRepository clienteRepository;
+    @Mock
+    private RestauranteRepository restauranteRepository;
+    @Mock
+    private ProdutoRepository produtoRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @InjectMocks
+    private PedidoServiceImpl pedidoService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testTransicoesPermitidas() {
+        assertTrue(StatusPedido.CRIADO.podeTransicionarPara(StatusPedido.CONFIRMADO));
+        assertTrue(StatusPedido.CONFIRMADO.podeTransicionarPara(StatusPedido.CANCELADO));
+        assertFalse(StatusPedido.EM_PREPARACAO.podeTransicionarPara(StatusPedido.CANCELADO));
+        assertFalse(StatusPedido.ENTREGUE.podeTransicionarPara(StatusPedido.CRIADO));
+        assertEquals(Set.of(StatusPedido.CRIADO, StatusPedido.CONFIRMADO), StatusPedido.CANCELADO.anteriores());
+    }
+
+    @Test
+    void testAtualizarStatus_Sucesso() {
+        Pedido pedido = Pedido.builder().id(1L).status(StatusPedido.CONFIRMADO)
+                .cliente(Cliente.builder().id(2L).build())
+                .restaurante(Restaurante.builder().id(3L).build())
+                .build();
+        when(pedidoRepository.atualizarStatusSe(1L, StatusPedido.CONFIRMADO.anteriores(), StatusPedido.CONFIRMADO)).thenReturn(1);
+        when(pedidoRepository.findDetalhadoById(1L)).thenReturn(Optional.of(pedido));
+        assertEquals(StatusPedido.CONFIRMADO, pedidoService.atualizarStatus(1L, StatusPedido.CONFIRMADO).getStatus());
+        verify(pedidoRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(any(PedidoStatusEvent.class));
+    }
+
+    @Test
+    void testAtualizarStatus_TransicaoInvalida() {
+        when(pedidoRepository.atualizarStatusSe(eq(1L), any(), eq(StatusPedido.ENTREGUE))).thenReturn(0);
+        when(pedidoRepository.buscarStatus(1L)).thenReturn(Optional.of(StatusPedido.CRIADO));
+        assertThrows(IllegalStateException.class, () -> pedidoService.atualizarStatus(1L, StatusPedido.ENTREGUE));
+    }
+
+    @Test
+    void testAtualizarStatus_NaoEncontrado() {
+        when(pedidoRepository.atualizarStatusSe(eq(2L), any(), any())).thenReturn(0);
+        when(pedidoRepository.buscarStatus(2L)).thenReturn(Optional.empty());
+        assertThrows(NoSuchElementException.class, () -> pedidoService.atualizarStatus(2L, StatusPedido.CONFIRMADO));
+    }
+
+    @Test
+    void testCancelar_NaoEncontrado() {
+        when(pedidoRepository.atualizarStatusSe(eq(2L), any(), eq(StatusPedido.CANCELADO))).thenReturn(0);
+        when(pedidoRepository.buscarStatus(2L)).thenReturn(Optional.empty());
+        assertDoesNotThrow(() -> pedidoService.cancelar(2L));
+    }
+}
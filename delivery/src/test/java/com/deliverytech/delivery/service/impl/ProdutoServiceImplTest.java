@@ -1,19 +1,25 @@
 package com.deliverytech.delivery.service.impl;
 
+import com.deliverytech.delivery.dto.response.ProdutoResponse;
+import com.deliverytech.delivery.event.CatalogoAlteradoEvent;
 import com.deliverytech.delivery.model.Produto;
 import com.deliverytech.delivery.model.Restaurante;
 import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.ProdutoRepository.ProdutoRestaurante;
+import com.deliverytech.delivery.service.CatalogoVersaoService;
 import com.deliverytech.delivery.service.RestauranteService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -23,6 +29,10 @@ class ProdutoServiceImplTest {
     private ProdutoRepository produtoRepository;
     @Mock
     private RestauranteService restauranteService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private CatalogoVersaoService catalogoVersaoService;
     @InjectMocks
     private ProdutoServiceImpl produtoService;
 
@@ -44,7 +54,7 @@ class ProdutoServiceImplTest {
     void testBuscarPorId_Sucesso() {
         Produto produto = Produto.builder().id(1L).nome("Sushi").build();
         when(produtoRepository.findById(1L)).thenReturn(Optional.of(produto));
-        Optional<Produto> result = produtoService.buscarPorId(1L);
+        Optional<ProdutoResponse> result = produtoService.buscarPorId(1L);
         assertTrue(result.isPresent());
         assertEquals("Sushi", result.get().getNome());
     }
@@ -52,7 +62,7 @@ class ProdutoServiceImplTest {
     @Test
     void testBuscarPorId_NaoEncontrado() {
         when(produtoRepository.findById(2L)).thenReturn(Optional.empty());
-        Optional<Produto> result = produtoService.buscarPorId(2L);
+        Optional<ProdutoResponse> result = produtoService.buscarPorId(2L);
         assertFalse(result.isPresent());
     }
 
@@ -61,7 +71,7 @@ class ProdutoServiceImplTest {
         Produto p1 = Produto.builder().id(1L).restaurante(Restaurante.builder().id(1L).build()).build();
         Produto p2 = Produto.builder().id(2L).restaurante(Restaurante.builder().id(1L).build()).build();
         when(produtoRepository.findByRestauranteId(1L)).thenReturn(Arrays.asList(p1, p2));
-        List<Produto> produtos = produtoService.buscarPorRestaurante(1L);
+        List<ProdutoResponse> produtos = produtoService.buscarPorRestaurante(1L);
         assertEquals(2, produtos.size());
     }
 
@@ -95,4 +105,40 @@ class ProdutoServiceImplTest {
         when(produtoRepository.findById(2L)).thenReturn(Optional.empty());
         assertThrows(RuntimeException.class, () -> produtoService.alterarDisponibilidade(2L, false));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testEscritaIncrementaVersaoDoCatalogo() {
+        Restaurante restaurante = Restaurante.builder().id(1L).build();
+        Produto produto = Produto.builder().id(5L).nome("Sushi").restaurante(restaurante).build();
+        when(catalogoVersaoService.incrementar(1L)).thenReturn(7L, 8L);
+        when(produtoRepository.save(any(Produto.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(produtoRepository.findById(5L)).thenReturn(Optional.of(produto));
+
+        assertEquals(7L, produtoService.cadastrar(produto).getVersaoCatalogo());
+        produtoService.alterarDisponibilidade(5L, false);
+        assertEquals(8L, produto.getVersaoCatalogo());
+    }
+
+    private ProdutoRestaurante alvo(long id, long restauranteId) {
+        return new ProdutoRestaurante() {
+            public Long getId() { return id; }
+            public Long getRestauranteId() { return restauranteId; }
+        };
+    }
+
+    @Test
+    void testDisponibilidadeEmLoteAgrupaPorRestaurante() {
+        when(produtoRepository.findAlteraveisPorId(List.of(1L, 2L, 3L), false))
+                .thenReturn(List.of(alvo(1L, 10L), alvo(2L, 10L), alvo(3L, 20L)));
+        when(catalogoVersaoService.incrementar(anyLong())).thenReturn(4L);
+        when(produtoRepository.alterarDisponibilidade(anyCollection(), eq(false), eq(4L)))
+                .thenAnswer(inv -> inv.<java.util.Collection<Long>>getArgument(0).size());
+
+        assertEquals(3, produtoService.alterarDisponibilidade(List.of(1L, 2L, 3L), false));
+        verify(produtoRepository).alterarDisponibilidade(Set.of(1L, 2L), false, 4L);
+        verify(produtoRepository).alterarDisponibilidade(Set.of(3L), false, 4L);
+        verify(eventPublisher).publishEvent(new CatalogoAlteradoEvent(10L, Set.of(1L, 2L)));
+        verify(eventPublisher).publishEvent(new CatalogoAlteradoEvent(20L, Set.of(3L)));
+        verify(produtoRepository, never()).save(any());
+    }
+}
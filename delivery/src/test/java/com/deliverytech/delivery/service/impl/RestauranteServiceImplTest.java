@@ -1,5 +1,6 @@
 package com.deliverytech.delivery.service.impl;
 
+import com.deliverytech.delivery.dto.response.RestauranteResponse;
 import com.deliverytech.delivery.model.Restaurante;
 import com.deliverytech.delivery.repository.RestauranteRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,6 +8,11 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.util.Arrays;
 import java.util.List;
@@ -18,6 +24,8 @@ import static org.mockito.Mockito.*;
 class RestauranteServiceImplTest {
     @Mock
     private RestauranteRepository restauranteRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private RestauranteServiceImpl restauranteService;
 
@@ -38,7 +46,7 @@ class RestauranteServiceImplTest {
     void testBuscarPorId_Sucesso() {
         Restaurante restaurante = Restaurante.builder().id(1L).nome("Restaurante 1").build();
         when(restauranteRepository.findById(1L)).thenReturn(Optional.of(restaurante));
-        Optional<Restaurante> result = restauranteService.buscarPorId(1L);
+        Optional<RestauranteResponse> result = restauranteService.buscarPorId(1L);
         assertTrue(result.isPresent());
         assertEquals("Restaurante 1", result.get().getNome());
     }
@@ -46,7 +54,7 @@ class RestauranteServiceImplTest {
     @Test
     void testBuscarPorId_NaoEncontrado() {
         when(restauranteRepository.findById(2L)).thenReturn(Optional.empty());
-        Optional<Restaurante> result = restauranteService.buscarPorId(2L);
+        Optional<RestauranteResponse> result = restauranteService.buscarPorId(2L);
         assertFalse(result.isPresent());
     }
 
@@ -84,4 +92,15 @@ class RestauranteServiceImplTest {
         List<Restaurante> lista = restauranteService.listarTodos();
         assertEquals(2, lista.size());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testListarTodosPaginado() {
+        Pageable pageable = PageRequest.of(0, 1);
+        RestauranteResponse r1 = new RestauranteResponse(1L, "A", "Japonesa", "1", null, 30, true);
+        when(restauranteRepository.listarResumo(pageable)).thenReturn(new SliceImpl<>(List.of(r1), pageable, true));
+        Slice<RestauranteResponse> pagina = restauranteService.listarTodos(pageable);
+        assertEquals(1, pagina.getContent().size());
+        assertTrue(pagina.hasNext());
+        verify(restauranteRepository, never()).findAll();
+    }
+}
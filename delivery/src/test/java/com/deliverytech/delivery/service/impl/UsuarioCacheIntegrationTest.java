@@ -0,0 +1,84 @@
+package com.deliverytech.delivery.service.impl;
+
+import com.deliverytech.delivery.model.Role;
+import com.deliverytech.delivery.model.Usuario;
+import com.deliverytech.delivery.service.UsuarioService;
+import com.deliverytech.delivery.support.ContadorSql;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UsuarioCacheIntegrationTest {
+
+    @Autowired
+    private UsuarioService usuarioService;
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        usuario = usuarioService.cadastrar(Usuario.builder()
+                .email("cache-" + UUID.randomUUID() + "@email.com")
+                .senha("hash-antigo")
+                .nome("Usuario Cache")
+                .role(Role.CLIENTE)
+                .build());
+    }
+
+    private long selectsAo(Runnable leitura) {
+        ContadorSql.zerar();
+        leitura.run();
+        return ContadorSql.selects();
+    }
+
+    @Test
+    void testLoginConsultaOBancoUmaVez() {
+        String email = usuario.getEmail();
+        // Mesmo caminho do login: UserDetailsService e depois AuthController
+        assertEquals(1, selectsAo(() -> {
+            userDetailsService.loadUserByUsername(email);
+            usuarioService.buscarPorEmail(email);
+        }));
+        assertEquals(0, selectsAo(() -> userDetailsService.loadUserByUsername(email)));
+    }
+
+    @Test
+    void testDesativarRemoveDosCaches() {
+        usuarioService.buscarPorEmail(usuario.getEmail());
+        usuarioService.buscarPorId(usuario.getId());
+
+        usuarioService.alterarStatus(usuario.getId(), false);
+
+        assertFalse(usuarioService.buscarPorEmail(usuario.getEmail()).orElseThrow().getAtivo());
+        assertFalse(usuarioService.buscarPorId(usuario.getId()).orElseThrow().getAtivo());
+        assertFalse(userDetailsService.loadUserByUsername(usuario.getEmail()).isEnabled());
+    }
+
+    @Test
+    void testNovaSenhaRemoveDosCaches() {
+        usuarioService.buscarPorEmail(usuario.getEmail());
+        usuarioService.buscarPorId(usuario.getId());
+
+        usuarioService.atualizarSenha(usuario.getEmail(), "hash-novo");
+
+        assertEquals("hash-novo", usuarioService.buscarPorEmail(usuario.getEmail()).orElseThrow().getSenha());
+        assertEquals("hash-novo", usuarioService.buscarPorId(usuario.getId()).orElseThrow().getSenha());
+    }
+
+    @Test
+    void testEmailInexistenteNaoFicaNoCache() {
+        assertTrue(usuarioService.buscarPorEmail("ninguem@email.com").isEmpty());
+        assertEquals(1, selectsAo(() -> usuarioService.buscarPorEmail("ninguem@email.com")));
+    }
+}
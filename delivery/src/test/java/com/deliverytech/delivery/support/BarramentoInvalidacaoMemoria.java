@@ -0,0 +1,28 @@
+package com.deliverytech.delivery.support;
+
+import com.deliverytech.delivery.cache.BarramentoInvalidacao;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Substituto em memória do pub/sub do Redis: entrega cada mensagem a todos os assinantes do tipo
+public class BarramentoInvalidacaoMemoria implements BarramentoInvalidacao {
+
+    private final List<Consumer<Object>> assinantes = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publicar(Serializable mensagem) {
+        assinantes.forEach(a -> a.accept(mensagem));
+    }
+
+    @Override
+    public <T> void assinar(Class<T> tipo, Consumer<? super T> consumidor) {
+        assinantes.add(mensagem -> {
+            if (tipo.isInstance(mensagem)) {
+                consumidor.accept(tipo.cast(mensagem));
+            }
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package com.deliverytech.delivery.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Conta os statements preparados pelo Hibernate por tipo. Com batch habilitado,
+// um lote de inserts é preparado uma única vez e conta como um statement.
+public class ContadorSql implements StatementInspector {
+
+    private static final AtomicLong selects = new AtomicLong();
+    private static final AtomicLong inserts = new AtomicLong();
+    private static final AtomicLong updates = new AtomicLong();
+    private static final AtomicLong sequences = new AtomicLong();
+
+    @Override
+    public String inspect(String sql) {
+        String normalizado = sql.stripLeading().toLowerCase();
+        if (normalizado.contains("next value for") || normalizado.contains("nextval")) {
+            sequences.incrementAndGet();
+        } else if (normalizado.startsWith("select")) {
+            selects.incrementAndGet();
+        } else if (normalizado.startsWith("insert")) {
+            inserts.incrementAndGet();
+        } else if (normalizado.startsWith("update")) {
+            updates.incrementAndGet();
+        }
+        return sql;
+    }
+
+    public static void zerar() {
+        selects.set(0);
+        inserts.set(0);
+        updates.set(0);
+        sequences.set(0);
+    }
+
+    public static long selects() {
+        return selects.get();
+    }
+
+    public static long inserts() {
+        return inserts.get();
+    }
+
+    public static long updates() {
+        return updates.get();
+    }
+
+    public static long sequences() {
+        return sequences.get();
+    }
+
+    public static long total() {
+        return selects() + inserts() + updates() + sequences();
+    }
+}